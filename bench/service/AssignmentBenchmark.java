@@ -0,0 +1,98 @@
+package service;
+
+import classes.Alert;
+import classes.Task;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JMH du moteur d'affectation (débit ; allocations avec -prof gc)
+ * Lancement : mvn -Pbench compile exec:exec [-Djmh.args="AssignmentBenchmark -p tasks=1000000 -prof gc"]
+ * - assignTasksAutomatically : membres recopiés avant chaque invocation (hors mesure)
+ * - reassignUrgentTask, detectOverloadedMembers, checkLoadBalance : sur l'état obtenu après
+ *   une affectation complète. La tâche urgente a une durée nulle pour que la charge des
+ *   membres reste identique d'une invocation à l'autre.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssignmentBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Dataset {
+        @Param({ "1000", "10000", "100000" })
+        public int tasks;
+
+        @Param("42")
+        public long seed;
+
+        SyntheticData data;
+        TaskAssignmentService assigned;
+        Task urgentTask;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            data = SyntheticData.generate(seed, tasks);
+            assigned = new TaskAssignmentService(data.copyMembers(), data.getTasks());
+            assigned.assignTasksAutomatically();
+
+            // Compétence la plus répandue : beaucoup de candidats à départager
+            urgentTask = new Task(tasks + 1, "Tâche urgente", "", 0, null, null, "Haute", "A faire");
+            List<Integer> requiredSkillIds = new ArrayList<>();
+            requiredSkillIds.add(1);
+            urgentTask.setRequiredSkillIds(requiredSkillIds);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FreshService {
+        TaskAssignmentService service;
+
+        @Setup(Level.Invocation)
+        public void reset(Dataset dataset) {
+            service = new TaskAssignmentService(dataset.data.copyMembers(), dataset.data.getTasks());
+        }
+    }
+
+    @Benchmark
+    public AssignmentResult assignTasksAutomatically(FreshService fresh) {
+        return fresh.service.assignTasksAutomatically();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public AssignmentResult reassignUrgentTask(Dataset dataset) {
+        return dataset.assigned.reassignUrgentTask(dataset.urgentTask);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Alert> detectOverloadedMembers(Dataset dataset) {
+        return dataset.assigned.detectOverloadedMembers();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public AssignmentResult checkLoadBalance(Dataset dataset) {
+        AssignmentResult result = new AssignmentResult();
+        dataset.assigned.checkLoadBalance(result);
+        return result;
+    }
+}
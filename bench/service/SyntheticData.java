@@ -0,0 +1,163 @@
+package service;
+
+import classes.Member;
+import classes.MemberSkill;
+import classes.Skill;
+import classes.Task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Jeu de données synthétique reproductible (graine fixe) pour les benchmarks d'affectation
+ * - Échelle donnée par le nombre de tâches (1k à 1M) ; un membre pour 5 tâches par défaut
+ * - Popularité des compétences décroissante : les premières sont les plus répandues,
+ *   chez les membres comme dans les exigences des tâches
+ * - Dépendances sans cycle : une tâche ne dépend que de tâches d'ID inférieur, proches
+ *   (fenêtre de DEPENDENCY_WINDOW tâches)
+ * - Niveaux : 1 à 5 pour les membres, 1 à 3 requis par les tâches
+ * - Dates planifiées uniquement sur les tâches sans dépendance
+ */
+public final class SyntheticData {
+
+    private static final String[] PRIORITIES = { "Haute", "Moyenne", "Basse" };
+    private static final int DEPENDENCY_WINDOW = 1000;
+    private static final LocalDate ORIGIN = LocalDate.of(2026, 1, 5);
+
+    private final List<Skill> skills;
+    private final List<Member> members;
+    private final List<Task> tasks;
+
+    private SyntheticData(List<Skill> skills, List<Member> members, List<Task> tasks) {
+        this.skills = skills;
+        this.members = members;
+        this.tasks = tasks;
+    }
+
+    public static SyntheticData generate(long seed, int taskCount) {
+        return generate(seed, taskCount, Math.max(10, taskCount / 5), 50, 0.3);
+    }
+
+    /**
+     * @param dependencyRate part des tâches ayant une ou deux dépendances
+     */
+    public static SyntheticData generate(long seed, int taskCount, int memberCount, int skillCount,
+            double dependencyRate) {
+        Random random = new Random(seed);
+
+        List<Skill> skills = new ArrayList<>(skillCount);
+        for (int s = 1; s <= skillCount; s++) {
+            skills.add(new Skill(s, "skill-" + s));
+        }
+
+        List<Member> members = new ArrayList<>(memberCount);
+        int memberSkillId = 1;
+        for (int m = 1; m <= memberCount; m++) {
+            Member member = new Member();
+            member.setId(m);
+            member.setFirstName("Membre");
+            member.setLastName(String.valueOf(m));
+            member.setEmail("membre" + m + "@example.com");
+            member.setRole("MEMBER");
+            member.setTeamId(1 + random.nextInt(Math.max(1, memberCount / 20)));
+            member.setWeeklyAvailability(20 + 5 * random.nextInt(5));
+            member.setCurrentLoad(Math.floor(random.nextDouble() * 0.8 * member.getWeeklyAvailability()));
+            member.setRemainingHours(member.getWeeklyAvailability() - member.getCurrentLoad());
+            member.setAvailable(member.getRemainingHours() > 0);
+
+            ArrayList<MemberSkill> memberSkills = new ArrayList<>();
+            for (int skillId : pickSkills(random, skillCount, 1 + random.nextInt(6))) {
+                MemberSkill memberSkill = new MemberSkill(memberSkillId++, m, skillId, 1 + random.nextInt(5));
+                memberSkill.setSkill(skills.get(skillId - 1));
+                memberSkills.add(memberSkill);
+            }
+            member.setMemberSkills(memberSkills);
+            members.add(member);
+        }
+
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int t = 1; t <= taskCount; t++) {
+            Task task = new Task(t, "Tâche " + t, "", 1 + random.nextInt(8), null, null,
+                    PRIORITIES[random.nextInt(PRIORITIES.length)], "A faire");
+            task.setRequiredSkillIds(pickSkills(random, skillCount, 1 + random.nextInt(3)));
+            for (int skillId : task.getRequiredSkillIds()) {
+                task.getRequiredSkillLevels().put(skillId, 1 + random.nextInt(3));
+            }
+
+            List<Integer> dependencyIds = new ArrayList<>();
+            if (t > 1 && random.nextDouble() < dependencyRate) {
+                int count = 1 + random.nextInt(2);
+                for (int d = 0; d < count; d++) {
+                    int dependencyId = t - 1 - random.nextInt(Math.min(t - 1, DEPENDENCY_WINDOW));
+                    if (!dependencyIds.contains(dependencyId)) {
+                        dependencyIds.add(dependencyId);
+                    }
+                }
+            }
+            task.setDependencyIds(dependencyIds);
+            if (dependencyIds.isEmpty()) {
+                LocalDate start = ORIGIN.plusDays(random.nextInt(60));
+                task.setPlannedStartDate(start);
+                task.setPlannedEndDate(start.plusDays(random.nextInt(10)));
+            }
+            tasks.add(task);
+        }
+
+        return new SyntheticData(skills, members, tasks);
+    }
+
+    /**
+     * Compétences distinctes, les plus petits IDs étant les plus probables
+     */
+    private static List<Integer> pickSkills(Random random, int skillCount, int count) {
+        BitSet picked = new BitSet();
+        List<Integer> skillIds = new ArrayList<>(count);
+        while (skillIds.size() < Math.min(count, skillCount)) {
+            double u = random.nextDouble();
+            int skillId = 1 + (int) (skillCount * u * u);
+            if (!picked.get(skillId)) {
+                picked.set(skillId);
+                skillIds.add(skillId);
+            }
+        }
+        return skillIds;
+    }
+
+    /**
+     * Copie des membres avec leur charge initiale (l'affectation modifie les membres)
+     */
+    public List<Member> copyMembers() {
+        List<Member> copies = new ArrayList<>(members.size());
+        for (Member source : members) {
+            Member member = new Member();
+            member.setId(source.getId());
+            member.setFirstName(source.getFirstName());
+            member.setLastName(source.getLastName());
+            member.setEmail(source.getEmail());
+            member.setRole(source.getRole());
+            member.setTeamId(source.getTeamId());
+            member.setWeeklyAvailability(source.getWeeklyAvailability());
+            member.setCurrentLoad(source.getCurrentLoad());
+            member.setRemainingHours(source.getRemainingHours());
+            member.setAvailable(source.isAvailable());
+            member.setMemberSkills(source.getMemberSkills());
+            copies.add(member);
+        }
+        return copies;
+    }
+
+    public List<Skill> getSkills() {
+        return skills;
+    }
+
+    public List<Member> getMembers() {
+        return members;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+}
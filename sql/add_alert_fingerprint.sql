@@ -0,0 +1,27 @@
+-- ============================================================================
+-- Migration: Add Alert Fingerprints
+-- Date: 2026-10-16
+-- Description: Alerts carry a fingerprint (type + subject IDs). A repeated alert
+--              with the same fingerprint updates the existing row instead of
+--              inserting a new one: occurrences is incremented and last_seen
+--              records the latest occurrence.
+-- ============================================================================
+
+USE project_management;
+
+ALTER TABLE alert
+ADD COLUMN fingerprint VARCHAR(191) NULL AFTER severity_level,
+ADD COLUMN occurrences INT UNSIGNED NOT NULL DEFAULT 1 AFTER fingerprint,
+ADD COLUMN last_seen DATETIME NULL AFTER occurrences,
+ADD UNIQUE KEY uq_alert_fingerprint (fingerprint),
+ADD INDEX idx_alert_last_seen (last_seen);
+
+-- Verification query
+SELECT
+    id,
+    type,
+    fingerprint,
+    occurrences,
+    last_seen
+FROM alert
+ORDER BY COALESCE(last_seen, issued_date) DESC;
@@ -0,0 +1,21 @@
+-- ============================================================================
+-- Migration: Add Optimistic Lock Version to Members
+-- Date: 2026-10-16
+-- Description: Adds a version column incremented by every write to a member's
+--              load or availability. Assignments reserve hours with a
+--              compare-and-set on this version (UPDATE ... WHERE version = ?).
+-- ============================================================================
+
+USE project_management;
+
+ALTER TABLE member
+ADD COLUMN version BIGINT UNSIGNED NOT NULL DEFAULT 0 AFTER remaining_hours;
+
+-- Verification query
+SELECT
+    id,
+    CONCAT(first_name, ' ', last_name) AS name,
+    current_load,
+    remaining_hours,
+    version
+FROM member;
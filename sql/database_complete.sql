@@ -40,6 +40,7 @@ CREATE TABLE member (
     available TINYINT(1) NOT NULL DEFAULT 1,
     weekly_availability DOUBLE NOT NULL DEFAULT 40.0,
     remaining_hours DOUBLE NOT NULL DEFAULT 40.0,
+    version BIGINT UNSIGNED NOT NULL DEFAULT 0,
     team_id BIGINT UNSIGNED NULL,
     UNIQUE KEY uq_member_email (email),
     INDEX idx_member_team_id (team_id),
@@ -167,9 +168,14 @@ CREATE TABLE alert (
     message TEXT,
     issued_date DATE,
     severity_level VARCHAR(50),
+    fingerprint VARCHAR(191) NULL,
+    occurrences INT UNSIGNED NOT NULL DEFAULT 1,
+    last_seen DATETIME NULL,
+    UNIQUE KEY uq_alert_fingerprint (fingerprint),
     INDEX idx_alert_severity (severity_level),
     INDEX idx_alert_date (issued_date),
-    INDEX idx_alert_type (type)
+    INDEX idx_alert_type (type),
+    INDEX idx_alert_last_seen (last_seen)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- ============================================================================
@@ -1,6 +1,7 @@
 package classes;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Objects;
 import com.google.gson.annotations.SerializedName;
 
@@ -20,6 +21,17 @@ public class Alert {
     @SerializedName(value = "severityLevel", alternate = { "severity_level" })
     private String severityLevel;
 
+    // Type + subject IDs (e.g. "Surcharge:member=3"); repeats fold into the same row
+    @SerializedName("fingerprint")
+    private String fingerprint;
+
+    // Number of times the alert was raised (first one included)
+    @SerializedName("occurrences")
+    private int occurrences = 1;
+
+    @SerializedName(value = "lastSeen", alternate = { "last_seen" })
+    private LocalDateTime lastSeen;
+
     public Alert() {
         this.id = 0;
         this.type = "";
@@ -79,6 +91,30 @@ public class Alert {
         this.severityLevel = severityLevel != null ? severityLevel : "";
     }
 
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public int getOccurrences() {
+        return occurrences;
+    }
+
+    public void setOccurrences(int occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    public LocalDateTime getLastSeen() {
+        return lastSeen;
+    }
+
+    public void setLastSeen(LocalDateTime lastSeen) {
+        this.lastSeen = lastSeen;
+    }
+
     @Override
     public String toString() {
         return "Alert{" +
@@ -87,6 +123,8 @@ public class Alert {
                 ", message='" + message + '\'' +
                 ", issuedDate=" + issuedDate +
                 ", severityLevel='" + severityLevel + '\'' +
+                ", fingerprint='" + fingerprint + '\'' +
+                ", occurrences=" + occurrences +
                 '}';
     }
 
@@ -98,11 +136,12 @@ public class Alert {
             return false;
         Alert alert = (Alert) o;
         return id == alert.id && Objects.equals(type, alert.type) && Objects.equals(message, alert.message)
-                && Objects.equals(issuedDate, alert.issuedDate) && Objects.equals(severityLevel, alert.severityLevel);
+                && Objects.equals(issuedDate, alert.issuedDate) && Objects.equals(severityLevel, alert.severityLevel)
+                && Objects.equals(fingerprint, alert.fingerprint);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, type, message, issuedDate, severityLevel);
+        return Objects.hash(id, type, message, issuedDate, severityLevel, fingerprint);
     }
 }
\ No newline at end of file
@@ -1,28 +1,76 @@
 package classes;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
 
+/**
+ * Point d'accès unique à la base de données
+ * Les connexions proviennent d'un pool borné ({@link ConnectionPool}) :
+ * chaque requête emprunte une connexion et la rend via close()
+ * (try-with-resources).
+ *
+ * Configuration (propriétés système, -Dnom=valeur) :
+ * db.url, db.user, db.password,
+ * db.pool.minSize, db.pool.maxSize, db.pool.borrowTimeoutMs,
+ * db.pool.idleTimeoutMs, db.pool.leakDetectionThresholdMs,
+ * db.pool.validationTimeoutSeconds
+ */
 public class Connect {
 
-	private static Connection con;
+	private static ConnectionPool pool;
 	static {
 		try {
 			Class.forName("com.mysql.cj.jdbc.Driver");
 			System.out.println("Driver ok");
 			// TODO: Remplacer par votre configuration MySQL
-			String url = "jdbc:mysql://localhost:3306/project_management?useSSL=false&serverTimezone=UTC";
-			String user = "root";
-			String password = ""; // Changez selon votre configuration
-			con = DriverManager.getConnection(url, user, password);
-			System.out.println("Connected to database");
+			String url = System.getProperty("db.url",
+					"jdbc:mysql://localhost:3306/project_management?useSSL=false&serverTimezone=UTC&rewriteBatchedStatements=true");
+			String user = System.getProperty("db.user", "root");
+			String password = System.getProperty("db.password", ""); // Changez selon votre configuration
+
+			int minSize = Integer.getInteger("db.pool.minSize", 2);
+			int maxSize = Integer.getInteger("db.pool.maxSize", 10);
+			long borrowTimeoutMs = Long.getLong("db.pool.borrowTimeoutMs", 5000L);
+			long idleTimeoutMs = Long.getLong("db.pool.idleTimeoutMs", 300000L);
+			long leakDetectionThresholdMs = Long.getLong("db.pool.leakDetectionThresholdMs", 60000L);
+			int validationTimeoutSeconds = Integer.getInteger("db.pool.validationTimeoutSeconds", 2);
+
+			pool = new ConnectionPool(url, user, password, minSize, maxSize,
+					borrowTimeoutMs, idleTimeoutMs, leakDetectionThresholdMs, validationTimeoutSeconds);
+			System.out.println("Connection pool ready (min=" + minSize + ", max=" + maxSize + ")");
 
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
 	}
 
-	public static Connection getConnection() {
-		return con;
+	/**
+	 * Emprunte une connexion au pool. L'appelant doit la fermer pour la rendre.
+	 */
+	public static Connection getConnection() throws SQLException {
+		if (pool == null) {
+			throw new SQLException("Connection pool not initialized");
+		}
+		return pool.borrow();
+	}
+
+	/**
+	 * Métriques du pool (connexions actives/inactives, attentes, timeouts, fuites)
+	 */
+	public static Map<String, Object> getPoolStats() {
+		if (pool == null) {
+			return java.util.Collections.emptyMap();
+		}
+		return pool.getStats();
+	}
+
+	/**
+	 * Ferme les connexions inactives (arrêt de l'application)
+	 */
+	public static void shutdown() {
+		if (pool != null) {
+			pool.shutdown();
+		}
 	}
-}
\ No newline at end of file
+}
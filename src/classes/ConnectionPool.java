@@ -0,0 +1,358 @@
+package classes;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de connexions JDBC borné utilisé par {@link Connect}
+ * - Taille min/max configurable
+ * - Validation de la connexion à l'emprunt (Connection.isValid)
+ * - Éviction des connexions inactives au-delà de idleTimeout
+ * - Détection des fuites (pile d'appel capturée à l'emprunt)
+ * - Métriques d'attente et de timeouts à l'emprunt
+ *
+ * Les connexions rendues par borrow() sont des proxies : close() rend la
+ * connexion physique au pool au lieu de la fermer.
+ */
+public class ConnectionPool {
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long leakDetectionThresholdMs;
+    private final int validationTimeoutSeconds;
+
+    // Un permis par connexion empruntable : borne le nombre de connexions actives
+    private final Semaphore permits;
+    // Connexions physiques inactives, la plus récemment rendue en tête
+    private final LinkedBlockingDeque<IdleConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger physicalCount = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+
+    // Métriques
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong validationFailureCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+            long borrowTimeoutMs, long idleTimeoutMs, long leakDetectionThresholdMs, int validationTimeoutSeconds) {
+        if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000L, Math.min(idleTimeoutMs,
+                leakDetectionThresholdMs > 0 ? leakDetectionThresholdMs : idleTimeoutMs) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+
+        // Pré-remplissage au mieux : si la base est indisponible, le pool se remplira à la demande
+        try {
+            ensureMinimumIdle();
+        } catch (SQLException e) {
+            System.err.println("⚠️  Connection pool warm-up failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Emprunte une connexion ; l'appelant doit la fermer (try-with-resources)
+     * pour la rendre au pool
+     */
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        if (!acquired) {
+            timeoutCount.incrementAndGet();
+            throw new SQLTimeoutException("No pooled connection available after " + borrowTimeoutMs
+                    + " ms (active=" + leases.size() + ", max=" + maxSize + ")");
+        }
+
+        try {
+            Connection physical = takeValidConnection();
+            Lease lease = new Lease(physical,
+                    leakDetectionThresholdMs > 0 ? new Throwable("Connection borrowed here") : null);
+            leases.add(lease);
+            borrowCount.incrementAndGet();
+            return lease.proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Ferme toutes les connexions inactives et arrête le thread de maintenance
+     */
+    public void shutdown() {
+        housekeeper.shutdownNow();
+        IdleConnection ic;
+        while ((ic = idle.pollFirst()) != null) {
+            discard(ic.connection);
+        }
+    }
+
+    /**
+     * Instantané des métriques du pool
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long borrows = borrowCount.get();
+        long attempts = borrows + timeoutCount.get();
+        stats.put("minSize", minSize);
+        stats.put("maxSize", maxSize);
+        stats.put("active", leases.size());
+        stats.put("idle", idle.size());
+        stats.put("total", physicalCount.get());
+        stats.put("waiting", permits.getQueueLength());
+        stats.put("borrowCount", borrows);
+        stats.put("borrowTimeoutCount", timeoutCount.get());
+        stats.put("averageBorrowWaitMs", attempts == 0 ? 0.0
+                : totalWaitNanos.get() / (double) attempts / 1_000_000.0);
+        stats.put("maxBorrowWaitMs", maxWaitNanos.get() / 1_000_000.0);
+        stats.put("createdCount", createdCount.get());
+        stats.put("evictedCount", evictedCount.get());
+        stats.put("validationFailureCount", validationFailureCount.get());
+        stats.put("leakCount", leakCount.get());
+        return stats;
+    }
+
+    public int getActiveCount() {
+        return leases.size();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public long getBorrowTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    private Connection takeValidConnection() throws SQLException {
+        IdleConnection ic;
+        while ((ic = idle.pollFirst()) != null) {
+            if (isValid(ic.connection)) {
+                return ic.connection;
+            }
+            validationFailureCount.incrementAndGet();
+            discard(ic.connection);
+        }
+        return createPhysical();
+    }
+
+    private boolean isValid(Connection connection) {
+        try {
+            return !connection.isClosed() && connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection createPhysical() throws SQLException {
+        Connection connection = DriverManager.getConnection(url, user, password);
+        physicalCount.incrementAndGet();
+        createdCount.incrementAndGet();
+        return connection;
+    }
+
+    private void discard(Connection connection) {
+        physicalCount.decrementAndGet();
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // connexion déjà inutilisable
+        }
+    }
+
+    private void release(Lease lease) {
+        if (!lease.released.compareAndSet(false, true)) {
+            return;
+        }
+        leases.remove(lease);
+
+        Connection physical = lease.physical;
+        try {
+            if (physical.isClosed()) {
+                physicalCount.decrementAndGet();
+            } else {
+                // Ne jamais rendre au pool une transaction en cours
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                idle.offerFirst(new IdleConnection(physical, System.currentTimeMillis()));
+            }
+        } catch (SQLException e) {
+            discard(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        totalWaitNanos.addAndGet(waitNanos);
+        long max;
+        while (waitNanos > (max = maxWaitNanos.get())) {
+            if (maxWaitNanos.compareAndSet(max, waitNanos)) {
+                break;
+            }
+        }
+    }
+
+    private void housekeep() {
+        try {
+            evictIdle();
+            detectLeaks();
+            ensureMinimumIdle();
+        } catch (Exception e) {
+            System.err.println("⚠️  Connection pool housekeeping failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Ferme les connexions inactives depuis plus de idleTimeout, sans descendre sous minSize
+     */
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        Iterator<IdleConnection> it = idle.descendingIterator();
+        while (it.hasNext() && physicalCount.get() > minSize) {
+            IdleConnection ic = it.next();
+            if (now - ic.idleSince >= idleTimeoutMs && idle.remove(ic)) {
+                evictedCount.incrementAndGet();
+                discard(ic.connection);
+            }
+        }
+    }
+
+    /**
+     * Signale (une seule fois) les connexions empruntées depuis plus du seuil
+     */
+    private void detectLeaks() {
+        if (leakDetectionThresholdMs <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Lease lease : leases) {
+            if (!lease.leakReported && now - lease.borrowedAt > leakDetectionThresholdMs) {
+                lease.leakReported = true;
+                leakCount.incrementAndGet();
+                System.err.println("⚠️  Possible connection leak: borrowed " + (now - lease.borrowedAt)
+                        + " ms ago by thread '" + lease.threadName + "'");
+                lease.borrowSite.printStackTrace();
+            }
+        }
+    }
+
+    private void ensureMinimumIdle() throws SQLException {
+        while (physicalCount.get() < minSize) {
+            idle.offerLast(new IdleConnection(createPhysical(), System.currentTimeMillis()));
+        }
+    }
+
+    private static class IdleConnection {
+        final Connection connection;
+        final long idleSince;
+
+        IdleConnection(Connection connection, long idleSince) {
+            this.connection = connection;
+            this.idleSince = idleSince;
+        }
+    }
+
+    /**
+     * Emprunt en cours : connexion physique + proxy remis à l'appelant
+     */
+    private class Lease implements InvocationHandler {
+        final Connection physical;
+        final Throwable borrowSite;
+        final long borrowedAt = System.currentTimeMillis();
+        final String threadName = Thread.currentThread().getName();
+        final AtomicBoolean released = new AtomicBoolean(false);
+        final Connection proxy;
+        volatile boolean leakReported;
+
+        Lease(Connection physical, Throwable borrowSite) {
+            this.physical = physical;
+            this.borrowSite = borrowSite;
+            this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    release(this);
+                    return null;
+                case "isClosed":
+                    return released.get() || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical + "]";
+                default:
+                    break;
+            }
+            if (released.get()) {
+                throw new SQLException("Connection already returned to the pool");
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
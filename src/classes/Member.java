@@ -36,6 +36,10 @@ public class Member {
 	@SerializedName(value = "remainingHours", alternate = { "remaining_hours" })
 	private double remainingHours = 40.0;
 
+	// Optimistic lock version, incremented by every write to load or availability
+	@SerializedName("version")
+	private long version;
+
 	@SerializedName(value = "memberSkills", alternate = { "member_skills" })
 	private ArrayList<MemberSkill> memberSkills = new ArrayList<>();
 
@@ -187,6 +191,14 @@ public class Member {
 		this.remainingHours = remainingHours;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
 	/**
 	 * Reduces remaining hours when a task is assigned
 	 */
@@ -9,6 +9,10 @@ import java.util.Objects;
 import com.google.gson.annotations.SerializedName;
 
 public class MemberSkill {
+    // Proficiency scale shared by member_skill.level and task_skill.required_level
+    public static final int MIN_LEVEL = 1;
+    public static final int MAX_LEVEL = 5;
+
     private int id;
     private int memberId;
     private int skillId;
@@ -60,6 +64,13 @@ public class MemberSkill {
         this.level = level;
     }
 
+    /**
+     * Level brought back into [MIN_LEVEL, MAX_LEVEL] (unset levels count as MIN_LEVEL)
+     */
+    public static int clampLevel(int level) {
+        return Math.max(MIN_LEVEL, Math.min(MAX_LEVEL, level));
+    }
+
     public Skill getSkill() {
         return skill;
     }
@@ -5,6 +5,8 @@ import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import com.google.gson.annotations.SerializedName;
 
 public class Task {
@@ -44,6 +46,10 @@ public class Task {
     @SerializedName(value = "requiredSkills", alternate = { "required_skills" })
     private List<Integer> requiredSkillIds = new ArrayList<>();
 
+    // Niveau minimal par compétence requise (task_skill.required_level), 1 si absent
+    @SerializedName(value = "requiredSkillLevels", alternate = { "required_skill_levels" })
+    private Map<Integer, Integer> requiredSkillLevels = new HashMap<>();
+
     public Task() {
         this.id = 0;
         this.name = "";
@@ -177,6 +183,22 @@ public class Task {
         this.requiredSkillIds = requiredSkillIds != null ? requiredSkillIds : new ArrayList<>();
     }
 
+    public Map<Integer, Integer> getRequiredSkillLevels() {
+        return requiredSkillLevels;
+    }
+
+    public void setRequiredSkillLevels(Map<Integer, Integer> requiredSkillLevels) {
+        this.requiredSkillLevels = requiredSkillLevels != null ? requiredSkillLevels : new HashMap<>();
+    }
+
+    /**
+     * Niveau requis pour la compétence (1 par défaut)
+     */
+    public int getRequiredLevel(int skillId) {
+        Integer level = requiredSkillLevels != null ? requiredSkillLevels.get(skillId) : null;
+        return level != null ? level : MemberSkill.MIN_LEVEL;
+    }
+
     public long getPlannedDurationDays() {
         if (plannedStartDate == null || plannedEndDate == null)
             return -1;
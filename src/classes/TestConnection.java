@@ -15,10 +15,8 @@ public class TestConnection {
         System.out.println("   TEST DE CONNEXION À LA BASE DE DONNÉES");
         System.out.println("═══════════════════════════════════════════════════\n");
 
-        try {
-            // Tester la connexion
-            Connection conn = Connect.getConnection();
-
+        // Tester la connexion (rendue au pool en fin de test)
+        try (Connection conn = Connect.getConnection()) {
             if (conn != null && !conn.isClosed()) {
                 System.out.println("✅ Connexion à la base de données réussie!\n");
 
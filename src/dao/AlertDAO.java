@@ -8,16 +8,30 @@ import classes.Team;
 import classes.Skill;
 import classes.MemberSkill;
 
+import java.io.IOException;
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DAO pour la gestion des alertes dans la base de données
  */
 public class AlertDAO {
 
+    // Insertion, ou regroupement sur la ligne de même empreinte (clé unique uq_alert_fingerprint ;
+    // les alertes sans empreinte ne sont jamais regroupées)
+    private static final String UPSERT_SQL = "INSERT INTO alert (type, message, issued_date, severity_level, " +
+            "fingerprint, occurrences, last_seen) VALUES (?, ?, ?, ?, ?, 1, ?) " +
+            "ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id), message = VALUES(message), " +
+            "severity_level = VALUES(severity_level), occurrences = occurrences + 1, last_seen = VALUES(last_seen)";
+    // Nombre maximal d'empreintes par clause IN
+    private static final int FINGERPRINT_CHUNK_SIZE = 1000;
+
     private Connection connection;
 
     public AlertDAO(Connection connection) {
@@ -26,25 +40,26 @@ public class AlertDAO {
 
     /**
      * Ajouter une nouvelle alerte
+     * Une alerte dont l'empreinte existe déjà est regroupée sur la ligne existante
+     * (message et sévérité les plus récents, occurrences + 1, last_seen) ; son ID est celui de cette ligne
      */
     public boolean addAlert(Alert alert) {
-        String sql = "INSERT INTO alert (type, message, issued_date, severity_level) " +
-                "VALUES (?, ?, ?, ?)";
-
-        try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setString(1, alert.getType());
-            ps.setString(2, alert.getMessage());
-            ps.setDate(3, alert.getIssuedDate() != null ? Date.valueOf(alert.getIssuedDate()) : null);
-            ps.setString(4, alert.getSeverityLevel());
+        try (PreparedStatement ps = connection.prepareStatement(UPSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            setUpsertParameters(ps, alert, LocalDateTime.now());
 
             int affectedRows = ps.executeUpdate();
 
             if (affectedRows > 0) {
+                // LAST_INSERT_ID(id) : ID de la ligne insérée ou regroupée
                 try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
                         alert.setId(generatedKeys.getInt(1));
                     }
                 }
+                // 1 = insertion, 2 = regroupement sur une ligne existante
+                if (affectedRows > 1) {
+                    refreshOccurrences(Collections.singletonList(alert));
+                }
                 return true;
             }
         } catch (SQLException e) {
@@ -53,6 +68,97 @@ public class AlertDAO {
         return false;
     }
 
+    /**
+     * Ajouter plusieurs alertes en un seul lot JDBC (regroupement par empreinte comme addAlert)
+     * Les IDs et occurrences des alertes avec empreinte sont relus en une requête par tranche
+     * de 1000 (les clés générées d'un lot ne correspondent pas aux lignes regroupées)
+     * Les erreurs sont propagées pour permettre un rollback par l'appelant
+     */
+    public void addAlertsBatch(List<Alert> alerts) throws SQLException {
+        if (alerts.isEmpty()) {
+            return;
+        }
+        List<Alert> fingerprinted = new ArrayList<>();
+        List<Alert> others = new ArrayList<>();
+        for (Alert alert : alerts) {
+            (alert.getFingerprint() != null ? fingerprinted : others).add(alert);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!fingerprinted.isEmpty()) {
+            try (PreparedStatement ps = connection.prepareStatement(UPSERT_SQL)) {
+                for (Alert alert : fingerprinted) {
+                    setUpsertParameters(ps, alert, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            refreshOccurrences(fingerprinted);
+        }
+
+        if (!others.isEmpty()) {
+            try (PreparedStatement ps = connection.prepareStatement(UPSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Alert alert : others) {
+                    setUpsertParameters(ps, alert, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                    for (Alert alert : others) {
+                        if (!generatedKeys.next()) {
+                            break;
+                        }
+                        alert.setId(generatedKeys.getInt(1));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void setUpsertParameters(PreparedStatement ps, Alert alert, LocalDateTime now) throws SQLException {
+        alert.setLastSeen(now);
+        ps.setString(1, alert.getType());
+        ps.setString(2, alert.getMessage());
+        ps.setDate(3, alert.getIssuedDate() != null ? Date.valueOf(alert.getIssuedDate()) : null);
+        ps.setString(4, alert.getSeverityLevel());
+        ps.setString(5, alert.getFingerprint());
+        ps.setTimestamp(6, Timestamp.valueOf(now));
+    }
+
+    /**
+     * Relit ID et nombre d'occurrences des alertes avec empreinte
+     */
+    private void refreshOccurrences(List<Alert> alerts) throws SQLException {
+        Map<String, List<Alert>> byFingerprint = new HashMap<>();
+        for (Alert alert : alerts) {
+            byFingerprint.computeIfAbsent(alert.getFingerprint(), f -> new ArrayList<>()).add(alert);
+        }
+        List<String> fingerprints = new ArrayList<>(byFingerprint.keySet());
+        for (int from = 0; from < fingerprints.size(); from += FINGERPRINT_CHUNK_SIZE) {
+            List<String> chunk = fingerprints.subList(from, Math.min(from + FINGERPRINT_CHUNK_SIZE, fingerprints.size()));
+            StringBuilder sql = new StringBuilder("SELECT id, fingerprint, occurrences FROM alert WHERE fingerprint IN (");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(")");
+
+            try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    ps.setString(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        for (Alert alert : byFingerprint.get(rs.getString("fingerprint"))) {
+                            alert.setId(rs.getInt("id"));
+                            alert.setOccurrences(rs.getInt("occurrences"));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Récupérer une alerte par son ID
      */
@@ -135,12 +241,14 @@ public class AlertDAO {
     }
 
     /**
-     * Récupérer les alertes récentes (derniers N jours)
+     * Récupérer les alertes récentes (vues dans les N derniers jours, y compris les répétitions
+     * d'une alerte plus ancienne)
      */
     public List<Alert> getRecentAlerts(int daysBack) {
         List<Alert> alerts = new ArrayList<>();
-        String sql = "SELECT * FROM alert WHERE issued_date >= DATE_SUB(CURDATE(), INTERVAL ? DAY) " +
-                "ORDER BY issued_date DESC";
+        String sql = "SELECT * FROM alert " +
+                "WHERE COALESCE(last_seen, issued_date) >= DATE_SUB(CURDATE(), INTERVAL ? DAY) " +
+                "ORDER BY COALESCE(last_seen, issued_date) DESC";
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, daysBack);
@@ -156,6 +264,80 @@ public class AlertDAO {
         return alerts;
     }
 
+    /**
+     * Récupérer une page d'alertes, les plus récentes d'abord
+     * (pagination par curseur sur id décroissant : after = dernier id reçu)
+     */
+    public Page<Alert> getAlertsPage(String severity, String type, Integer afterId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM alert WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        if (severity != null) {
+            sql.append(" AND severity_level = ?");
+            params.add(severity);
+        }
+        if (type != null) {
+            sql.append(" AND type = ?");
+            params.add(type);
+        }
+        if (afterId != null) {
+            sql.append(" AND id < ?");
+            params.add(afterId);
+        }
+        // Une ligne de plus que demandé pour savoir s'il existe une page suivante
+        sql.append(" ORDER BY id DESC LIMIT ?");
+        params.add(limit + 1);
+
+        List<Alert> alerts = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    alerts.add(extractAlertFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.of(alerts, limit, Alert::getId);
+    }
+
+    /**
+     * Parcourt les alertes en streaming (les plus récentes d'abord) et les transmet
+     * une par une au handler. Filtres exclusifs comme dans AlertServlet.
+     */
+    public void streamAlerts(String severity, String type, RowHandler<Alert> handler)
+            throws SQLException, IOException {
+        String sql = "SELECT * FROM alert";
+        String param = null;
+
+        if (severity != null) {
+            sql += " WHERE severity_level = ?";
+            param = severity;
+        } else if (type != null) {
+            sql += " WHERE type = ?";
+            param = type;
+        }
+        sql += " ORDER BY issued_date DESC";
+
+        try (PreparedStatement ps = connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(RowHandler.STREAM_FETCH_SIZE);
+            if (param != null) {
+                ps.setString(1, param);
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(extractAlertFromResultSet(rs));
+                }
+            }
+        }
+    }
+
     /**
      * Supprimer une alerte
      */
@@ -239,6 +421,10 @@ public class AlertDAO {
         alert.setIssuedDate(issuedDate != null ? issuedDate.toLocalDate() : null);
 
         alert.setSeverityLevel(rs.getString("severity_level"));
+        alert.setFingerprint(rs.getString("fingerprint"));
+        alert.setOccurrences(rs.getInt("occurrences"));
+        Timestamp lastSeen = rs.getTimestamp("last_seen");
+        alert.setLastSeen(lastSeen != null ? lastSeen.toLocalDateTime() : null);
 
         return alert;
     }
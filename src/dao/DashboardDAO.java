@@ -0,0 +1,122 @@
+package dao;
+
+import java.sql.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DAO des agrégats du tableau de bord
+ * Les compteurs sont calculés côté SQL (COUNT / SUM(CASE ...)) au lieu de
+ * charger des tables entières pour en prendre la taille
+ */
+public class DashboardDAO {
+
+    private Connection connection;
+
+    public DashboardDAO(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Les huit compteurs du tableau de bord en une seule requête
+     * Clés : totalMembers, availableMembers, totalTasks, unassignedTasks,
+     * completedTasks, totalProjects, activeProjects, highPriorityAlerts
+     */
+    public Map<String, Integer> getDashboardCounters() {
+        Map<String, Integer> counters = new LinkedHashMap<>();
+        String sql = "SELECT m.total_members, m.available_members, " +
+                "t.total_tasks, t.unassigned_tasks, t.completed_tasks, " +
+                "p.total_projects, p.active_projects, a.high_priority_alerts " +
+                "FROM (SELECT COUNT(*) AS total_members, " +
+                "             COALESCE(SUM(CASE WHEN available = 1 THEN 1 ELSE 0 END), 0) AS available_members " +
+                "      FROM member) m " +
+                "CROSS JOIN (SELECT COUNT(*) AS total_tasks, " +
+                "             COALESCE(SUM(CASE WHEN assignee_id IS NULL THEN 1 ELSE 0 END), 0) AS unassigned_tasks, " +
+                "             COALESCE(SUM(CASE WHEN status = 'Terminée' THEN 1 ELSE 0 END), 0) AS completed_tasks " +
+                "      FROM task) t " +
+                "CROSS JOIN (SELECT COUNT(*) AS total_projects, " +
+                "             COALESCE(SUM(CASE WHEN status IN ('En cours', 'Planifié') THEN 1 ELSE 0 END), 0) AS active_projects " +
+                "      FROM project) p " +
+                "CROSS JOIN (SELECT COUNT(*) AS high_priority_alerts FROM alert WHERE severity_level = 'Haute') a";
+
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (rs.next()) {
+                counters.put("totalMembers", rs.getInt("total_members"));
+                counters.put("availableMembers", rs.getInt("available_members"));
+                counters.put("totalTasks", rs.getInt("total_tasks"));
+                counters.put("unassignedTasks", rs.getInt("unassigned_tasks"));
+                counters.put("completedTasks", rs.getInt("completed_tasks"));
+                counters.put("totalProjects", rs.getInt("total_projects"));
+                counters.put("activeProjects", rs.getInt("active_projects"));
+                counters.put("highPriorityAlerts", rs.getInt("high_priority_alerts"));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return counters;
+    }
+
+    /**
+     * Statistiques de charge des membres (moyenne, min, max, écart-type de population)
+     * Clés : memberCount, averageLoad, minLoad, maxLoad, standardDeviation
+     */
+    public Map<String, Double> getWorkloadAggregates() {
+        Map<String, Double> aggregates = new LinkedHashMap<>();
+        String sql = "SELECT COUNT(*) AS member_count, " +
+                "COALESCE(AVG(current_load), 0) AS average_load, " +
+                "COALESCE(MIN(current_load), 0) AS min_load, " +
+                "COALESCE(MAX(current_load), 0) AS max_load, " +
+                "COALESCE(STDDEV_POP(current_load), 0) AS standard_deviation " +
+                "FROM member";
+
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (rs.next()) {
+                aggregates.put("memberCount", (double) rs.getInt("member_count"));
+                aggregates.put("averageLoad", rs.getDouble("average_load"));
+                aggregates.put("minLoad", rs.getDouble("min_load"));
+                aggregates.put("maxLoad", rs.getDouble("max_load"));
+                aggregates.put("standardDeviation", rs.getDouble("standard_deviation"));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return aggregates;
+    }
+
+    /**
+     * Avancement des tâches par statut et en heures, en une seule requête
+     * Clés : totalTasks, completedTasks, inProgressTasks, plannedTasks,
+     * totalEstimatedHours, completedHours
+     */
+    public Map<String, Double> getProgressAggregates() {
+        Map<String, Double> aggregates = new LinkedHashMap<>();
+        String completed = "status IN ('Terminée', 'Completed')";
+        String sql = "SELECT COUNT(*) AS total_tasks, " +
+                "COALESCE(SUM(CASE WHEN " + completed + " THEN 1 ELSE 0 END), 0) AS completed_tasks, " +
+                "COALESCE(SUM(CASE WHEN status IN ('En cours', 'In Progress') THEN 1 ELSE 0 END), 0) AS in_progress_tasks, " +
+                "COALESCE(SUM(CASE WHEN status IN ('Planifiée', 'Planned') THEN 1 ELSE 0 END), 0) AS planned_tasks, " +
+                "COALESCE(SUM(estimated_duration), 0) AS total_estimated_hours, " +
+                "COALESCE(SUM(CASE WHEN " + completed + " THEN estimated_duration ELSE 0 END), 0) AS completed_hours " +
+                "FROM task";
+
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (rs.next()) {
+                aggregates.put("totalTasks", (double) rs.getInt("total_tasks"));
+                aggregates.put("completedTasks", (double) rs.getInt("completed_tasks"));
+                aggregates.put("inProgressTasks", (double) rs.getInt("in_progress_tasks"));
+                aggregates.put("plannedTasks", (double) rs.getInt("planned_tasks"));
+                aggregates.put("totalEstimatedHours", rs.getDouble("total_estimated_hours"));
+                aggregates.put("completedHours", rs.getDouble("completed_hours"));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return aggregates;
+    }
+}
@@ -0,0 +1,295 @@
+package dao;
+
+import classes.Member;
+import classes.MemberSkill;
+import classes.Task;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Index en mémoire des membres candidats à une affectation (compétences, heures restantes,
+ * disponibilité), pour placer une tâche sans recharger tous les membres et toutes les tâches
+ * - Signature de compétences d'un membre : BitSet d'un bit par (skill ID, niveau), bit
+ *   skillId * MAX_LEVEL + niveau - 1 posé pour chaque niveau atteint ; une exigence ne pose
+ *   que le bit de son niveau requis, et un membre la couvre si sa signature en contient les bits
+ * - Par exigence déjà demandée (au plus MAX_CACHED_REQUIREMENTS, les moins récemment utilisées
+ *   sont oubliées), TreeSet des membres disponibles qui la couvrent, triés par heures restantes
+ *   décroissantes puis ID croissant : le meilleur candidat est son premier élément. Construit
+ *   une fois en O(M log M), puis tenu à jour par put / remove en O(log M) par exigence en cache.
+ * - Les écritures de MemberDAO / MemberSkillDAO marquent les membres concernés comme périmés ;
+ *   ils sont relus en une requête avant la sélection suivante (markStale / invalidate)
+ * Les marques posées pendant une relecture sont conservées et traitées au tour suivant.
+ * Chaque prise de travail (drainStale) reçoit un numéro de génération croissant : une relecture
+ * n'est appliquée à un membre que si aucune relecture de génération plus récente ne l'a déjà
+ * été, et un rechargement complet plus ancien que le dernier installé est ignoré. Un
+ * rechargement complet lent ne peut donc pas écraser des lignes relues depuis.
+ */
+public final class MemberCandidateCache {
+
+    private static final Comparator<Candidate> MOST_REMAINING_FIRST = (a, b) -> {
+        int byHours = Double.compare(b.remainingHours, a.remainingHours);
+        return byHours != 0 ? byHours : Integer.compare(a.memberId, b.memberId);
+    };
+
+    private static boolean loaded;
+    private static long generation;
+    private static long installedGeneration = -1;
+    // Génération de la dernière relecture appliquée, par membre (y compris supprimé)
+    private static final Map<Integer, Long> generationById = new HashMap<>();
+    private static boolean reloadAll = true;
+    private static final Set<Integer> staleIds = new LinkedHashSet<>();
+
+    private static final Map<Integer, Candidate> byId = new HashMap<>();
+    // Exigences distinctes dont l'ordre des candidats est tenu à jour
+    private static final int MAX_CACHED_REQUIREMENTS = 64;
+    private static final Map<BitSet, TreeSet<Candidate>> candidatesByRequirement =
+            new LinkedHashMap<BitSet, TreeSet<Candidate>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<BitSet, TreeSet<Candidate>> eldest) {
+                    return size() > MAX_CACHED_REQUIREMENTS;
+                }
+            };
+
+    private static final AtomicLong lookups = new AtomicLong();
+    private static final AtomicLong refreshedMembers = new AtomicLong();
+    private static final AtomicLong fullReloads = new AtomicLong();
+
+    private MemberCandidateCache() {
+    }
+
+    /**
+     * Le membre a été modifié en base : il sera relu avant la prochaine sélection
+     */
+    public static synchronized void markStale(int memberId) {
+        staleIds.add(memberId);
+    }
+
+    public static synchronized void markStale(Collection<Integer> memberIds) {
+        staleIds.addAll(memberIds);
+    }
+
+    /**
+     * Écriture sur un ensemble de membres non identifiés : rechargement complet au prochain accès
+     */
+    public static synchronized void invalidate() {
+        reloadAll = true;
+    }
+
+    /**
+     * Travail de relecture à effectuer, puis remise à zéro des marques correspondantes.
+     * Drain.memberIds est null si un rechargement complet est nécessaire.
+     */
+    static synchronized Drain drainStale() {
+        generation++;
+        if (reloadAll || !loaded) {
+            reloadAll = false;
+            staleIds.clear();
+            return new Drain(null, generation);
+        }
+        List<Integer> ids = new ArrayList<>(staleIds);
+        staleIds.clear();
+        return new Drain(ids, generation);
+    }
+
+    /**
+     * Remplace l'index par les membres lus en base pour la génération donnée ; les membres
+     * relus depuis par une génération plus récente gardent leur version
+     */
+    static synchronized void install(List<Member> members, long readGeneration) {
+        if (readGeneration < installedGeneration) {
+            return;
+        }
+        List<Member> newer = new ArrayList<>();
+        Map<Integer, Long> newerGenerations = new HashMap<>();
+        for (Map.Entry<Integer, Long> applied : generationById.entrySet()) {
+            if (applied.getValue() > readGeneration) {
+                newerGenerations.put(applied.getKey(), applied.getValue());
+                Candidate entry = byId.get(applied.getKey());
+                if (entry != null) {
+                    newer.add(entry.member);
+                }
+            }
+        }
+
+        byId.clear();
+        candidatesByRequirement.clear();
+        generationById.clear();
+        generationById.putAll(newerGenerations);
+        for (Member member : members) {
+            if (!newerGenerations.containsKey(member.getId())) {
+                put(member);
+                generationById.put(member.getId(), readGeneration);
+            }
+        }
+        for (Member member : newer) {
+            put(member);
+        }
+        installedGeneration = readGeneration;
+        loaded = true;
+        fullReloads.incrementAndGet();
+    }
+
+    /**
+     * Applique la relecture de membres périmés (absents du résultat : supprimés en base),
+     * sauf pour ceux déjà relus par une génération plus récente
+     */
+    static synchronized void refresh(Collection<Integer> memberIds, List<Member> reloaded, long readGeneration) {
+        Map<Integer, Member> reloadedById = new HashMap<>();
+        for (Member member : reloaded) {
+            reloadedById.put(member.getId(), member);
+        }
+        for (Integer memberId : memberIds) {
+            long applied = Math.max(installedGeneration, generationById.getOrDefault(memberId, -1L));
+            if (applied > readGeneration) {
+                continue;
+            }
+            remove(memberId);
+            Member member = reloadedById.get(memberId);
+            if (member != null) {
+                put(member);
+            }
+            generationById.put(memberId, readGeneration);
+        }
+        refreshedMembers.addAndGet(memberIds.size());
+    }
+
+    /**
+     * Membre disponible possédant toutes les compétences requises au niveau requis, avec le
+     * plus d'heures restantes (plus petit ID en cas d'égalité).
+     * Retourne une copie du membre, ou null si aucun ne convient.
+     */
+    static synchronized Member best(Task task) {
+        lookups.incrementAndGet();
+        BitSet required = new BitSet();
+        if (task.getRequiredSkillIds() != null) {
+            for (Integer skillId : task.getRequiredSkillIds()) {
+                required.set(skillId * MemberSkill.MAX_LEVEL + MemberSkill.clampLevel(task.getRequiredLevel(skillId)) - 1);
+            }
+        }
+
+        TreeSet<Candidate> candidates = candidates(required);
+        return candidates.isEmpty() ? null : copy(candidates.first().member);
+    }
+
+    public static synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loaded", loaded);
+        stats.put("members", byId.size());
+        stats.put("requirements", candidatesByRequirement.size());
+        stats.put("pendingRefresh", reloadAll ? -1 : staleIds.size());
+        stats.put("lookups", lookups.get());
+        stats.put("refreshedMembers", refreshedMembers.get());
+        stats.put("fullReloads", fullReloads.get());
+        return stats;
+    }
+
+    private static void put(Member member) {
+        BitSet signature = new BitSet();
+        for (MemberSkill ms : member.getMemberSkills()) {
+            int skillId = ms.getSkill() != null ? ms.getSkill().getId() : ms.getSkillId();
+            signature.set(skillId * MemberSkill.MAX_LEVEL, skillId * MemberSkill.MAX_LEVEL + MemberSkill.clampLevel(ms.getLevel()));
+        }
+        Candidate entry = new Candidate(member, signature);
+        byId.put(entry.memberId, entry);
+        if (member.isAvailable()) {
+            for (Map.Entry<BitSet, TreeSet<Candidate>> cached : candidatesByRequirement.entrySet()) {
+                if (covers(signature, cached.getKey())) {
+                    cached.getValue().add(entry);
+                }
+            }
+        }
+    }
+
+    private static void remove(int memberId) {
+        Candidate entry = byId.remove(memberId);
+        if (entry == null) {
+            return;
+        }
+        for (Map.Entry<BitSet, TreeSet<Candidate>> cached : candidatesByRequirement.entrySet()) {
+            if (covers(entry.signature, cached.getKey())) {
+                cached.getValue().remove(entry);
+            }
+        }
+    }
+
+    /**
+     * Membres disponibles couvrant l'exigence, construits au premier accès
+     */
+    private static TreeSet<Candidate> candidates(BitSet required) {
+        TreeSet<Candidate> candidates = candidatesByRequirement.get(required);
+        if (candidates == null) {
+            candidates = new TreeSet<>(MOST_REMAINING_FIRST);
+            for (Candidate entry : byId.values()) {
+                if (entry.member.isAvailable() && covers(entry.signature, required)) {
+                    candidates.add(entry);
+                }
+            }
+            candidatesByRequirement.put(required, candidates);
+        }
+        return candidates;
+    }
+
+    private static boolean covers(BitSet signature, BitSet required) {
+        for (int bit = required.nextSetBit(0); bit >= 0; bit = required.nextSetBit(bit + 1)) {
+            if (!signature.get(bit)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Member copy(Member cached) {
+        Member member = new Member();
+        member.setId(cached.getId());
+        member.setFirstName(cached.getFirstName());
+        member.setLastName(cached.getLastName());
+        member.setEmail(cached.getEmail());
+        member.setRole(cached.getRole());
+        member.setTeamId(cached.getTeamId());
+        member.setCurrentLoad(cached.getCurrentLoad());
+        member.setWeeklyAvailability(cached.getWeeklyAvailability());
+        member.setRemainingHours(cached.getRemainingHours());
+        member.setVersion(cached.getVersion());
+        member.setAvailable(cached.isAvailable());
+        member.setMemberSkills(new ArrayList<>(cached.getMemberSkills()));
+        return member;
+    }
+
+    /**
+     * Travail pris par drainStale : membres à relire (null = tous) et génération de la lecture
+     */
+    static final class Drain {
+        final List<Integer> memberIds;
+        final long generation;
+
+        Drain(List<Integer> memberIds, long generation) {
+            this.memberIds = memberIds;
+            this.generation = generation;
+        }
+    }
+
+    private static final class Candidate {
+        final int memberId;
+        final double remainingHours;
+        final BitSet signature;
+        final Member member;
+
+        Candidate(Member member, BitSet signature) {
+            this.memberId = member.getId();
+            this.remainingHours = member.getRemainingHours();
+            this.signature = signature;
+            this.member = member;
+        }
+    }
+}
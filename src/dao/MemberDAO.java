@@ -8,15 +8,25 @@ import classes.Team;
 import classes.Skill;
 import classes.MemberSkill;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DAO pour la gestion des membres dans la base de données
+ * Les écritures marquent les membres concernés dans {@link MemberCandidateCache}
  */
 public class MemberDAO {
 
+    // Nombre maximal d'IDs par clause IN (recalcul des charges, relecture de l'index des candidats)
+    private static final int WORKLOAD_CHUNK_SIZE = 1000;
+
     private Connection connection;
 
     public MemberDAO(Connection connection) {
@@ -54,6 +64,7 @@ public class MemberDAO {
                 try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
                         member.setId(generatedKeys.getInt(1));
+                        MemberCandidateCache.markStale(member.getId());
                     }
                 }
                 return true;
@@ -116,10 +127,12 @@ public class MemberDAO {
         String sql;
         if (member.getPassword() == null || member.getPassword().isEmpty()) {
             sql = "UPDATE member SET first_name = ?, last_name = ?, email = ?, role = ?, " +
-                    "current_load = ?, available = ?, weekly_availability = ?, remaining_hours = ?, team_id = ? WHERE id = ?";
+                    "current_load = ?, available = ?, weekly_availability = ?, remaining_hours = ?, team_id = ?, " +
+                    "version = version + 1 WHERE id = ?";
         } else {
             sql = "UPDATE member SET first_name = ?, last_name = ?, email = ?, password = ?, role = ?, " +
-                    "current_load = ?, available = ?, weekly_availability = ?, remaining_hours = ?, team_id = ? WHERE id = ?";
+                    "current_load = ?, available = ?, weekly_availability = ?, remaining_hours = ?, team_id = ?, " +
+                    "version = version + 1 WHERE id = ?";
         }
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
@@ -140,7 +153,9 @@ public class MemberDAO {
             ps.setObject(paramIndex++, member.getTeam() != null ? member.getTeam().getId() : null);
             ps.setInt(paramIndex++, member.getId());
 
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            MemberCandidateCache.markStale(member.getId());
+            return updated;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -155,7 +170,9 @@ public class MemberDAO {
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, id);
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            MemberCandidateCache.markStale(id);
+            return updated;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -227,12 +244,14 @@ public class MemberDAO {
      * Mettre à jour la charge d'un membre
      */
     public boolean updateMemberLoad(int memberId, double newLoad) {
-        String sql = "UPDATE member SET current_load = ? WHERE id = ?";
+        String sql = "UPDATE member SET current_load = ?, version = version + 1 WHERE id = ?";
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setDouble(1, newLoad);
             ps.setInt(2, memberId);
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            MemberCandidateCache.markStale(memberId);
+            return updated;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -261,6 +280,7 @@ public class MemberDAO {
         // New availability tracking fields
         member.setWeeklyAvailability(rs.getDouble("weekly_availability"));
         member.setRemainingHours(rs.getDouble("remaining_hours"));
+        member.setVersion(rs.getLong("version"));
 
         // La team sera chargée séparément si nécessaire
         return member;
@@ -270,13 +290,15 @@ public class MemberDAO {
      * Update member availability after task assignment
      */
     public boolean updateMemberAvailability(int memberId, double remainingHours, boolean available) {
-        String sql = "UPDATE member SET remaining_hours = ?, available = ? WHERE id = ?";
+        String sql = "UPDATE member SET remaining_hours = ?, available = ?, version = version + 1 WHERE id = ?";
         
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setDouble(1, remainingHours);
             ps.setBoolean(2, available);
             ps.setInt(3, memberId);
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            MemberCandidateCache.markStale(memberId);
+            return updated;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -289,10 +311,13 @@ public class MemberDAO {
      */
     public boolean resetAllMembersWeeklyAvailability() {
         String sql = "UPDATE member SET remaining_hours = weekly_availability - current_load, " +
-                     "available = CASE WHEN (weekly_availability - current_load) > 0 THEN 1 ELSE 0 END";
+                     "available = CASE WHEN (weekly_availability - current_load) > 0 THEN 1 ELSE 0 END, " +
+                     "version = version + 1";
         
         try (Statement stmt = connection.createStatement()) {
-            return stmt.executeUpdate(sql) > 0;
+            boolean updated = stmt.executeUpdate(sql) > 0;
+            MemberCandidateCache.invalidate();
+            return updated;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -304,40 +329,184 @@ public class MemberDAO {
      * This is critical for the auto-assignment algorithm
      */
     public List<Member> getAllMembersWithSkills() {
-        List<Member> members = getAllMembers();
-        MemberSkillDAO memberSkillDAO = new MemberSkillDAO(connection);
-        SkillDAO skillDAO = new SkillDAO(connection);
-        
-        for (Member member : members) {
-            List<MemberSkill> memberSkills = memberSkillDAO.getSkillsByMember(member.getId());
-            // Load the Skill object for each MemberSkill
-            for (MemberSkill ms : memberSkills) {
-                Skill skill = skillDAO.getSkillById(ms.getSkillId());
-                ms.setSkill(skill);
+        return loadMembersWithSkills("");
+    }
+
+    /**
+     * Get a single member with skills fully loaded
+     */
+    public Member getMemberByIdWithSkills(int id) {
+        List<Member> members = loadMembersWithSkills("WHERE id = ?", id);
+        return members.isEmpty() ? null : members.get(0);
+    }
+
+    /**
+     * Meilleur candidat pour une tâche depuis l'index en mémoire (voir MemberCandidateCache) :
+     * membre disponible et qualifié ayant le plus d'heures restantes.
+     * Seuls les membres modifiés depuis la dernière sélection sont relus en base.
+     * @return copie du membre, ou null si aucun membre disponible n'est qualifié
+     */
+    public Member findBestCandidate(Task task) {
+        refreshCandidateCache();
+        return MemberCandidateCache.best(task);
+    }
+
+    /**
+     * Relit les membres marqués périmés (une requête), ou tous les membres au premier accès
+     */
+    private void refreshCandidateCache() {
+        MemberCandidateCache.Drain drain = MemberCandidateCache.drainStale();
+        List<Integer> staleIds = drain.memberIds;
+        try {
+            if (staleIds == null) {
+                List<Member> members = new ArrayList<>();
+                readMembersWithSkills("", new Object[0], false, members::add);
+                MemberCandidateCache.install(members, drain.generation);
+                return;
             }
-            member.setMemberSkills(new ArrayList<>(memberSkills));
+            for (int from = 0; from < staleIds.size(); from += WORKLOAD_CHUNK_SIZE) {
+                List<Integer> chunk = staleIds.subList(from, Math.min(from + WORKLOAD_CHUNK_SIZE, staleIds.size()));
+                List<Member> reloaded = new ArrayList<>();
+                readMembersWithSkills("WHERE id IN " + buildInClause(chunk.size()), chunk.toArray(), false,
+                        reloaded::add);
+                MemberCandidateCache.refresh(chunk, reloaded, drain.generation);
+            }
+        } catch (SQLException | IOException e) {
+            // Lecture incomplète : tout sera relu au prochain accès
+            MemberCandidateCache.invalidate();
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Récupérer les membres disponibles avec leurs compétences
+     */
+    public List<Member> getAvailableMembersWithSkills() {
+        return loadMembersWithSkills("WHERE available = 1");
+    }
+
+    /**
+     * Récupérer les membres d'une équipe avec leurs compétences
+     */
+    public List<Member> getMembersByTeamWithSkills(int teamId) {
+        return loadMembersWithSkills("WHERE team_id = ?", teamId);
+    }
+
+    /**
+     * Récupérer une page de membres avec leurs compétences
+     * (pagination par curseur sur id croissant, filtres combinables)
+     */
+    public Page<Member> getMembersPage(boolean availableOnly, Integer teamId, Integer afterId, int limit) {
+        StringBuilder filter = new StringBuilder("WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        if (availableOnly) {
+            filter.append(" AND available = 1");
+        }
+        if (teamId != null) {
+            filter.append(" AND team_id = ?");
+            params.add(teamId);
+        }
+        if (afterId != null) {
+            filter.append(" AND id > ?");
+            params.add(afterId);
+        }
+        // Une ligne de plus que demandé pour savoir s'il existe une page suivante
+        filter.append(" ORDER BY id LIMIT ?");
+        params.add(limit + 1);
+
+        List<Member> members = loadMembersWithSkills(filter.toString(), params.toArray());
+        return Page.of(members, limit, Member::getId);
+    }
+
+    /**
+     * Parcourt les membres (avec compétences) en streaming et les transmet un par un
+     * au handler, sans matérialiser la liste : O(1) mémoire par membre
+     * Les filtres sont exclusifs comme dans MemberServlet (available prioritaire sur teamId)
+     */
+    public void streamMembersWithSkills(boolean availableOnly, Integer teamId, RowHandler<Member> handler)
+            throws SQLException, IOException {
+        if (availableOnly) {
+            readMembersWithSkills("WHERE available = 1", new Object[0], true, handler);
+        } else if (teamId != null) {
+            readMembersWithSkills("WHERE team_id = ?", new Object[] { teamId }, true, handler);
+        } else {
+            readMembersWithSkills("", new Object[0], true, handler);
+        }
+    }
+
+    /**
+     * Charge le graphe Member -> MemberSkill -> Skill en une seule requête
+     * (member LEFT JOIN member_skill LEFT JOIN skill), construit en un passage.
+     * memberFilter s'applique à la table member (WHERE / ORDER BY / LIMIT).
+     */
+    private List<Member> loadMembersWithSkills(String memberFilter, Object... params) {
+        List<Member> members = new ArrayList<>();
+        try {
+            readMembersWithSkills(memberFilter, params, false, members::add);
+        } catch (SQLException | IOException e) {
+            e.printStackTrace();
         }
-        
         return members;
     }
 
     /**
-     * Get a single member with skills fully loaded
+     * Lecture commune du graphe membres/compétences. Les lignes arrivent triées par
+     * membre : chaque membre est transmis dès que sa dernière ligne est lue.
+     * Les instances de Skill sont partagées entre membres (une par skill_id).
      */
-    public Member getMemberByIdWithSkills(int id) {
-        Member member = getMemberById(id);
-        if (member != null) {
-            MemberSkillDAO memberSkillDAO = new MemberSkillDAO(connection);
-            SkillDAO skillDAO = new SkillDAO(connection);
-            
-            List<MemberSkill> memberSkills = memberSkillDAO.getSkillsByMember(member.getId());
-            for (MemberSkill ms : memberSkills) {
-                Skill skill = skillDAO.getSkillById(ms.getSkillId());
-                ms.setSkill(skill);
+    private void readMembersWithSkills(String memberFilter, Object[] params, boolean streaming,
+            RowHandler<Member> handler) throws SQLException, IOException {
+        String sql = "SELECT m.*, ms.id AS ms_id, ms.skill_id AS ms_skill_id, ms.level AS ms_level, " +
+                     "s.name AS skill_name " +
+                     "FROM (SELECT * FROM member " + memberFilter + ") m " +
+                     "LEFT JOIN member_skill ms ON ms.member_id = m.id " +
+                     "LEFT JOIN skill s ON s.id = ms.skill_id " +
+                     "ORDER BY m.id, ms.id";
+
+        Map<Integer, Skill> skillsById = new HashMap<>();
+
+        try (PreparedStatement ps = connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            if (streaming) {
+                ps.setFetchSize(RowHandler.STREAM_FETCH_SIZE);
+            }
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                Member current = null;
+                while (rs.next()) {
+                    int memberId = rs.getInt("id");
+                    if (current == null || current.getId() != memberId) {
+                        if (current != null) {
+                            handler.handle(current);
+                        }
+                        current = extractMemberFromResultSet(rs);
+                    }
+
+                    int memberSkillId = rs.getInt("ms_id");
+                    if (rs.wasNull()) {
+                        continue; // membre sans compétence
+                    }
+
+                    int skillId = rs.getInt("ms_skill_id");
+                    Skill skill = skillsById.get(skillId);
+                    if (skill == null) {
+                        skill = new Skill(skillId, rs.getString("skill_name"));
+                        skillsById.put(skillId, skill);
+                    }
+
+                    MemberSkill ms = new MemberSkill(memberSkillId, memberId, skillId, rs.getInt("ms_level"));
+                    ms.setSkill(skill);
+                    current.getMemberSkills().add(ms);
+                }
+                if (current != null) {
+                    handler.handle(current);
+                }
             }
-            member.setMemberSkills(new ArrayList<>(memberSkills));
         }
-        return member;
     }
 
     /**
@@ -359,43 +528,105 @@ public class MemberDAO {
         return membersWithTasks;
     }
     
+    /**
+     * Recalculer la charge d'un ensemble de membres en une seule requête UPDATE ... JOIN
+     * (current_load, remaining_hours et available), par tranches de 1000 IDs
+     * Les erreurs sont propagées pour permettre un rollback par l'appelant
+     * @return nombre de membres mis à jour
+     */
+    public int recalculateWorkloads(Collection<Integer> memberIds) throws SQLException {
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(memberIds));
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += WORKLOAD_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + WORKLOAD_CHUNK_SIZE, ids.size()));
+            String in = buildInClause(chunk.size());
+            String sql = buildWorkloadUpdate("WHERE assignee_id IN " + in, "WHERE m.id IN " + in);
+
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    ps.setInt(i + 1, chunk.get(i));
+                    ps.setInt(chunk.size() + i + 1, chunk.get(i));
+                }
+                updated += ps.executeUpdate();
+                MemberCandidateCache.markStale(chunk);
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Recalculer la charge de tous les membres en une seule requête (passe de cohérence)
+     * @return nombre de membres mis à jour
+     */
+    public int recalculateAllWorkloads() throws SQLException {
+        String sql = buildWorkloadUpdate("WHERE assignee_id IS NOT NULL", "");
+
+        try (Statement stmt = connection.createStatement()) {
+            int updated = stmt.executeUpdate(sql);
+            MemberCandidateCache.invalidate();
+            return updated;
+        }
+    }
+
+    /**
+     * UPDATE member JOIN (SUM des durées par assigné) : les membres sans tâche
+     * retombent à une charge de 0 grâce au LEFT JOIN
+     */
+    private static String buildWorkloadUpdate(String taskFilter, String memberFilter) {
+        return "UPDATE member m " +
+                "LEFT JOIN (SELECT assignee_id, SUM(estimated_duration) AS total_load " +
+                "           FROM task " + taskFilter + " GROUP BY assignee_id) t " +
+                "ON t.assignee_id = m.id " +
+                "SET m.current_load = COALESCE(t.total_load, 0), " +
+                "    m.remaining_hours = COALESCE(m.weekly_availability, 0) - COALESCE(t.total_load, 0), " +
+                "    m.available = (COALESCE(m.weekly_availability, 0) - COALESCE(t.total_load, 0)) > 0, " +
+                "    m.version = m.version + 1 " +
+                memberFilter;
+    }
+
+    /**
+     * Réserve des heures sur un membre si sa version n'a pas changé depuis sa lecture
+     * (compare-and-set) : charge, heures restantes et disponibilité mises à jour, version incrémentée
+     * Les affectations MySQL s'évaluent de gauche à droite : remaining_hours et available
+     * utilisent la nouvelle charge.
+     * Les erreurs sont propagées pour permettre un rollback par l'appelant
+     * @return faux si le membre a été modifié (ou supprimé) entre-temps
+     */
+    public boolean reserveCapacity(int memberId, double hours, long expectedVersion) throws SQLException {
+        String sql = "UPDATE member SET current_load = current_load + ?, " +
+                "remaining_hours = weekly_availability - current_load, " +
+                "available = remaining_hours > 0, " +
+                "version = version + 1 " +
+                "WHERE id = ? AND version = ?";
+
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setDouble(1, hours);
+            ps.setInt(2, memberId);
+            ps.setLong(3, expectedVersion);
+            boolean reserved = ps.executeUpdate() > 0;
+            MemberCandidateCache.markStale(memberId);
+            return reserved;
+        }
+    }
+
+    /**
+     * Construit "(?, ?, ..., ?)" pour une clause IN
+     */
+    private static String buildInClause(int size) {
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < size; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.append(")").toString();
+    }
+
     /**
      * Recalculate member workload from assigned tasks (single source of truth)
      * This ensures workload = sum of durations of assigned tasks
      */
     public boolean recalculateMemberWorkload(int memberId) {
-        String sql = "SELECT COALESCE(SUM(estimated_duration), 0) as total_load " +
-                     "FROM task WHERE assignee_id = ?";
-        
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, memberId);
-            
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    double calculatedLoad = rs.getDouble("total_load");
-                    
-                    // Get current member to calculate remaining hours
-                    Member member = getMemberById(memberId);
-                    if (member == null) {
-                        return false;
-                    }
-                    
-                    // Calculate remaining hours based on weekly availability
-                    double weeklyAvailability = member.getWeeklyAvailability();
-                    double remainingHours = weeklyAvailability - calculatedLoad;
-                    boolean available = remainingHours > 0;
-                    
-                    // Update both current_load and availability
-                    String updateSql = "UPDATE member SET current_load = ?, remaining_hours = ?, available = ? WHERE id = ?";
-                    try (PreparedStatement updatePs = connection.prepareStatement(updateSql)) {
-                        updatePs.setDouble(1, calculatedLoad);
-                        updatePs.setDouble(2, remainingHours);
-                        updatePs.setBoolean(3, available);
-                        updatePs.setInt(4, memberId);
-                        return updatePs.executeUpdate() > 0;
-                    }
-                }
-            }
+        try {
+            return recalculateWorkloads(Collections.singletonList(memberId)) > 0;
         } catch (SQLException e) {
             e.printStackTrace();
         }
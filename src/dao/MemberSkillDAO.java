@@ -43,6 +43,7 @@ public class MemberSkillDAO {
                         memberSkill.setId(generatedKeys.getInt(1));
                     }
                 }
+                MemberCandidateCache.markStale(memberSkill.getMemberId());
                 return true;
             }
         } catch (SQLException e) {
@@ -145,7 +146,13 @@ public class MemberSkillDAO {
             ps.setInt(1, memberSkill.getLevel());
             ps.setInt(2, memberSkill.getId());
 
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            if (memberSkill.getMemberId() > 0) {
+                MemberCandidateCache.markStale(memberSkill.getMemberId());
+            } else {
+                MemberCandidateCache.invalidate();
+            }
+            return updated;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -162,7 +169,9 @@ public class MemberSkillDAO {
             ps.setInt(1, newLevel);
             ps.setInt(2, id);
 
-            return ps.executeUpdate() > 0;
+            boolean updated = ps.executeUpdate() > 0;
+            MemberCandidateCache.invalidate();
+            return updated;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -177,7 +186,10 @@ public class MemberSkillDAO {
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, id);
-            return ps.executeUpdate() > 0;
+            boolean deleted = ps.executeUpdate() > 0;
+            // Membre inconnu ici : rechargement complet de l'index des candidats
+            MemberCandidateCache.invalidate();
+            return deleted;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -192,7 +204,9 @@ public class MemberSkillDAO {
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, memberId);
-            return ps.executeUpdate() >= 0;
+            boolean deleted = ps.executeUpdate() >= 0;
+            MemberCandidateCache.markStale(memberId);
+            return deleted;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -0,0 +1,51 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Page de résultats pour la pagination par curseur (keyset sur id)
+ * nextCursor vaut null lorsqu'il n'y a plus de résultats ; sinon il se passe
+ * tel quel dans le paramètre "after" de la requête suivante.
+ */
+public class Page<T> {
+
+    private List<T> items;
+    private Integer nextCursor;
+    private int limit;
+
+    public Page(List<T> items, Integer nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+
+    /**
+     * Construit une page à partir de limit + 1 lignes lues : la ligne
+     * supplémentaire indique seulement qu'une page suivante existe
+     */
+    static <T> Page<T> of(List<T> rows, int limit, ToIntFunction<T> idOf) {
+        if (rows.size() > limit) {
+            List<T> items = new ArrayList<>(rows.subList(0, limit));
+            return new Page<>(items, idOf.applyAsInt(items.get(limit - 1)), limit);
+        }
+        return new Page<>(rows, null, limit);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -170,6 +170,42 @@ public class ProjectDAO {
         return projects;
     }
 
+    /**
+     * Récupérer une page de projets (pagination par curseur sur id croissant)
+     */
+    public Page<Project> getProjectsPage(String status, Integer afterId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM project WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        if (status != null) {
+            sql.append(" AND status = ?");
+            params.add(status);
+        }
+        if (afterId != null) {
+            sql.append(" AND id > ?");
+            params.add(afterId);
+        }
+        // Une ligne de plus que demandé pour savoir s'il existe une page suivante
+        sql.append(" ORDER BY id LIMIT ?");
+        params.add(limit + 1);
+
+        List<Project> projects = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    projects.add(extractProjectFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.of(projects, limit, Project::getId);
+    }
+
     /**
      * Extraire un Project depuis un ResultSet
      */
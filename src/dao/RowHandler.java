@@ -0,0 +1,20 @@
+package dao;
+
+import java.io.IOException;
+
+/**
+ * Reçoit les objets un par un pendant la lecture d'un ResultSet en streaming
+ * (typiquement pour les écrire directement dans la réponse HTTP)
+ */
+@FunctionalInterface
+public interface RowHandler<T> {
+
+    /**
+     * Fetch size des requêtes en streaming : avec MySQL Connector/J,
+     * Integer.MIN_VALUE lit les lignes une à une au lieu de charger tout le résultat
+     * (la connexion ne peut exécuter aucune autre requête avant la fin de la lecture)
+     */
+    int STREAM_FETCH_SIZE = Integer.MIN_VALUE;
+
+    void handle(T row) throws IOException;
+}
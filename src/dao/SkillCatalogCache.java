@@ -0,0 +1,185 @@
+package dao;
+
+import classes.Skill;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache en mémoire du catalogue de compétences (read-through)
+ * - Chargé une fois, servi depuis deux index id -> Skill et nom -> Skill ; le nom est
+ *   indexé en minuscules, comme la collation utf8mb4_unicode_ci de la colonne le compare
+ * - Instantané immuable remplacé atomiquement à chaque écriture (copy-on-write) :
+ *   les lecteurs ne voient jamais un état partiellement mis à jour
+ * - Mis à jour par SkillDAO.addSkill / updateSkill / deleteSkill ; une ligne relue après un
+ *   miss n'est installée que si aucune écriture n'a eu lieu depuis le début de la lecture
+ * - Les Skill renvoyées sont des copies : le cache ne peut pas être modifié de l'extérieur
+ */
+public final class SkillCatalogCache {
+
+    private static volatile Snapshot snapshot;
+    // Incrémenté à chaque écriture : un chargement commencé avant une écriture est abandonné
+    private static volatile long generation;
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    private SkillCatalogCache() {
+    }
+
+    /**
+     * Installe le catalogue lu en base, sauf si une écriture a eu lieu pendant la lecture
+     */
+    static synchronized void load(List<Skill> skills, long expectedGeneration) {
+        if (snapshot == null && generation == expectedGeneration) {
+            snapshot = Snapshot.of(skills);
+        }
+    }
+
+    static long generation() {
+        return generation;
+    }
+
+    static boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Retourne une copie de la compétence, ou null si absente du cache (compté comme miss)
+     */
+    static Skill getById(int id) {
+        Snapshot current = snapshot;
+        Skill skill = current != null ? current.byId.get(id) : null;
+        return record(skill);
+    }
+
+    static Skill getByName(String name) {
+        Snapshot current = snapshot;
+        Skill skill = current != null && name != null ? current.byName.get(nameKey(name)) : null;
+        return record(skill);
+    }
+
+    static List<Skill> getAll() {
+        Snapshot current = snapshot;
+        List<Skill> skills = new ArrayList<>();
+        if (current != null) {
+            hits.incrementAndGet();
+            for (Skill skill : current.byId.values()) {
+                skills.add(copy(skill));
+            }
+        }
+        return skills;
+    }
+
+    /**
+     * Ajoute ou remplace une compétence (après insertion/mise à jour réussie en base)
+     */
+    static synchronized void put(Skill skill) {
+        generation++;
+        install(skill);
+    }
+
+    /**
+     * Installe une compétence relue après un miss, sauf si une écriture a eu lieu pendant
+     * la lecture (elle pourrait réinstaller une compétence supprimée ou une version périmée)
+     */
+    static synchronized void putIfUnchanged(Skill skill, long expectedGeneration) {
+        if (generation == expectedGeneration) {
+            install(skill);
+        }
+    }
+
+    private static void install(Skill skill) {
+        if (snapshot == null || skill == null) {
+            return;
+        }
+        Map<Integer, Skill> byId = new LinkedHashMap<>(snapshot.byId);
+        Skill previous = byId.put(skill.getId(), copy(skill));
+        Map<String, Skill> byName = new HashMap<>(snapshot.byName);
+        if (previous != null) {
+            byName.remove(nameKey(previous.getName()));
+        }
+        byName.put(nameKey(skill.getName()), byId.get(skill.getId()));
+        snapshot = new Snapshot(byId, byName);
+    }
+
+    /**
+     * Retire une compétence (après suppression réussie en base)
+     */
+    static synchronized void remove(int id) {
+        generation++;
+        if (snapshot == null || !snapshot.byId.containsKey(id)) {
+            return;
+        }
+        Map<Integer, Skill> byId = new LinkedHashMap<>(snapshot.byId);
+        Skill removed = byId.remove(id);
+        Map<String, Skill> byName = new HashMap<>(snapshot.byName);
+        byName.remove(nameKey(removed.getName()));
+        snapshot = new Snapshot(byId, byName);
+    }
+
+    /**
+     * Vide le cache : le prochain accès rechargera le catalogue
+     */
+    public static synchronized void invalidate() {
+        generation++;
+        snapshot = null;
+    }
+
+    public static Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long h = hits.get();
+        long m = misses.get();
+        Snapshot current = snapshot;
+        stats.put("loaded", current != null);
+        stats.put("size", current != null ? current.byId.size() : 0);
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("hitRate", h + m == 0 ? 0.0 : (double) h / (h + m));
+        return stats;
+    }
+
+    private static Skill record(Skill cached) {
+        if (cached != null) {
+            hits.incrementAndGet();
+            return copy(cached);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    private static String nameKey(String name) {
+        return name != null ? name.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static Skill copy(Skill skill) {
+        return new Skill(skill.getId(), skill.getName());
+    }
+
+    private static final class Snapshot {
+        final Map<Integer, Skill> byId;
+        final Map<String, Skill> byName;
+
+        Snapshot(Map<Integer, Skill> byId, Map<String, Skill> byName) {
+            this.byId = Collections.unmodifiableMap(byId);
+            this.byName = Collections.unmodifiableMap(byName);
+        }
+
+        static Snapshot of(List<Skill> skills) {
+            Map<Integer, Skill> byId = new LinkedHashMap<>();
+            Map<String, Skill> byName = new HashMap<>();
+            for (Skill skill : skills) {
+                Skill cached = copy(skill);
+                byId.put(cached.getId(), cached);
+                byName.put(nameKey(cached.getName()), cached);
+            }
+            return new Snapshot(byId, byName);
+        }
+    }
+}
@@ -14,6 +14,8 @@ import java.util.List;
 
 /**
  * DAO pour la gestion des compétences dans la base de données
+ * Les lectures passent par {@link SkillCatalogCache} (catalogue chargé une fois) ;
+ * les écritures mettent le cache à jour après succès en base
  */
 public class SkillDAO {
 
@@ -38,6 +40,7 @@ public class SkillDAO {
                 try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
                         skill.setId(generatedKeys.getInt(1));
+                        SkillCatalogCache.put(skill);
                     }
                 }
                 return true;
@@ -49,9 +52,16 @@ public class SkillDAO {
     }
 
     /**
-     * Récupérer une compétence par son ID
+     * Récupérer une compétence par son ID (cache, puis base en cas d'absence)
      */
     public Skill getSkillById(int id) {
+        ensureCatalogLoaded();
+        Skill cached = SkillCatalogCache.getById(id);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = SkillCatalogCache.generation();
+
         String sql = "SELECT * FROM skill WHERE id = ?";
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
@@ -59,7 +69,9 @@ public class SkillDAO {
 
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return extractSkillFromResultSet(rs);
+                    Skill skill = extractSkillFromResultSet(rs);
+                    SkillCatalogCache.putIfUnchanged(skill, generation);
+                    return skill;
                 }
             }
         } catch (SQLException e) {
@@ -69,9 +81,16 @@ public class SkillDAO {
     }
 
     /**
-     * Récupérer une compétence par son nom
+     * Récupérer une compétence par son nom (cache, puis base en cas d'absence)
      */
     public Skill getSkillByName(String name) {
+        ensureCatalogLoaded();
+        Skill cached = SkillCatalogCache.getByName(name);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = SkillCatalogCache.generation();
+
         String sql = "SELECT * FROM skill WHERE name = ?";
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
@@ -79,7 +98,9 @@ public class SkillDAO {
 
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return extractSkillFromResultSet(rs);
+                    Skill skill = extractSkillFromResultSet(rs);
+                    SkillCatalogCache.putIfUnchanged(skill, generation);
+                    return skill;
                 }
             }
         } catch (SQLException e) {
@@ -89,22 +110,11 @@ public class SkillDAO {
     }
 
     /**
-     * Récupérer toutes les compétences
+     * Récupérer toutes les compétences (depuis le cache)
      */
     public List<Skill> getAllSkills() {
-        List<Skill> skills = new ArrayList<>();
-        String sql = "SELECT * FROM skill";
-
-        try (Statement stmt = connection.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                skills.add(extractSkillFromResultSet(rs));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return skills;
+        ensureCatalogLoaded();
+        return SkillCatalogCache.getAll();
     }
 
     /**
@@ -117,7 +127,10 @@ public class SkillDAO {
             ps.setString(1, skill.getName());
             ps.setInt(2, skill.getId());
 
-            return ps.executeUpdate() > 0;
+            if (ps.executeUpdate() > 0) {
+                SkillCatalogCache.put(skill);
+                return true;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -132,13 +145,42 @@ public class SkillDAO {
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, id);
-            return ps.executeUpdate() > 0;
+            if (ps.executeUpdate() > 0) {
+                SkillCatalogCache.remove(id);
+                // member_skill supprimé en cascade (fk_ms_skill) : membres concernés inconnus ici
+                MemberCandidateCache.invalidate();
+                return true;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return false;
     }
 
+    /**
+     * Charger le catalogue complet dans le cache au premier accès
+     * (en cas d'erreur le cache reste vide et sera rechargé au prochain appel)
+     */
+    private void ensureCatalogLoaded() {
+        if (SkillCatalogCache.isLoaded()) {
+            return;
+        }
+        long generation = SkillCatalogCache.generation();
+        List<Skill> skills = new ArrayList<>();
+        String sql = "SELECT * FROM skill ORDER BY id";
+
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                skills.add(extractSkillFromResultSet(rs));
+            }
+            SkillCatalogCache.load(skills, generation);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
     /**
      * Extraire une Skill depuis un ResultSet
      */
@@ -8,16 +8,29 @@ import classes.Team;
 import classes.Skill;
 import classes.MemberSkill;
 
+import java.io.IOException;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * DAO pour la gestion des tâches dans la base de données
  */
 public class TaskDAO {
 
+    // Nombre maximal d'IDs par clause IN lors du chargement en lot
+    private static final int HYDRATION_CHUNK_SIZE = 1000;
+    // group_concat_max_len pendant streamTasks (1024 par défaut : listes tronquées sans erreur)
+    private static final int STREAM_GROUP_CONCAT_MAX_LEN = 1 << 20;
+
     private Connection connection;
 
     public TaskDAO(Connection connection) {
@@ -68,7 +81,7 @@ public class TaskDAO {
 
                 // Sauvegarder les compétences requises
                 if (!task.getRequiredSkillIds().isEmpty()) {
-                    saveTaskSkills(task.getId(), task.getRequiredSkillIds());
+                    saveTaskSkills(task.getId(), task);
                 }
 
                 return true;
@@ -90,7 +103,9 @@ public class TaskDAO {
 
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return extractTaskFromResultSet(rs);
+                    Task task = extractTaskFromResultSet(rs);
+                    hydrateTaskRelations(Collections.singletonList(task));
+                    return task;
                 }
             }
         } catch (SQLException e) {
@@ -115,9 +130,56 @@ public class TaskDAO {
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        hydrateTaskRelations(tasks);
         return tasks;
     }
 
+    /**
+     * Récupérer des tâches par leurs IDs (une requête par tranche de HYDRATION_CHUNK_SIZE IDs)
+     */
+    public List<Task> getTasksByIds(Collection<Integer> ids) {
+        List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Task> tasks = new ArrayList<>();
+
+        for (int from = 0; from < distinctIds.size(); from += HYDRATION_CHUNK_SIZE) {
+            List<Integer> chunk = distinctIds.subList(from, Math.min(from + HYDRATION_CHUNK_SIZE, distinctIds.size()));
+            String sql = "SELECT * FROM task WHERE id IN " + buildInClause(chunk.size());
+
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                bindIds(ps, chunk);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        tasks.add(extractTaskFromResultSet(rs));
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+        hydrateTaskRelations(tasks);
+        return tasks;
+    }
+
+    /**
+     * Prédécesseurs des tâches données qui ne figurent pas dans la liste
+     * (pour l'ordonnancement par dépendances)
+     */
+    public List<Task> getExternalPredecessors(List<Task> tasks) {
+        Set<Integer> inList = new HashSet<>();
+        for (Task task : tasks) {
+            inList.add(task.getId());
+        }
+        Set<Integer> missing = new LinkedHashSet<>();
+        for (Task task : tasks) {
+            for (Integer dependencyId : task.getDependencyIds()) {
+                if (!inList.contains(dependencyId)) {
+                    missing.add(dependencyId);
+                }
+            }
+        }
+        return missing.isEmpty() ? new ArrayList<>() : getTasksByIds(missing);
+    }
+
     /**
      * Mettre à jour une tâche
      */
@@ -159,7 +221,7 @@ public class TaskDAO {
                 // Update task skills
                 deleteTaskSkills(task.getId());
                 if (!task.getRequiredSkillIds().isEmpty()) {
-                    saveTaskSkills(task.getId(), task.getRequiredSkillIds());
+                    saveTaskSkills(task.getId(), task);
                 }
                 
                 // Recalculate workload for affected members (single source of truth)
@@ -225,6 +287,54 @@ public class TaskDAO {
         return false;
     }
 
+    /**
+     * Assigner plusieurs tâches en un seul lot JDBC (taskId -> memberId), chacune seulement si
+     * son titulaire est toujours celui lu par l'appelant (expectedAssigneeByTaskId, 0 ou absent
+     * = non assignée)
+     * Renvoie les IDs des tâches réaffectées entre-temps (non modifiées) ; les erreurs sont
+     * propagées pour permettre un rollback par l'appelant
+     */
+    public List<Integer> assignTasksBatch(Map<Integer, Integer> assigneeByTaskId,
+            Map<Integer, Integer> expectedAssigneeByTaskId) throws SQLException {
+        String sql = "UPDATE task SET assignee_id = ? WHERE id = ? AND assignee_id <=> ?";
+        List<Integer> conflicts = new ArrayList<>();
+
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            List<Integer> pendingTaskIds = new ArrayList<>(Math.min(assigneeByTaskId.size(), HYDRATION_CHUNK_SIZE));
+            for (Map.Entry<Integer, Integer> entry : assigneeByTaskId.entrySet()) {
+                Integer expected = expectedAssigneeByTaskId.get(entry.getKey());
+                ps.setInt(1, entry.getValue());
+                ps.setInt(2, entry.getKey());
+                if (expected == null || expected <= 0) {
+                    ps.setNull(3, Types.INTEGER);
+                } else {
+                    ps.setInt(3, expected);
+                }
+                ps.addBatch();
+                pendingTaskIds.add(entry.getKey());
+                if (pendingTaskIds.size() == HYDRATION_CHUNK_SIZE) {
+                    collectConflicts(ps.executeBatch(), pendingTaskIds, conflicts);
+                }
+            }
+            if (!pendingTaskIds.isEmpty()) {
+                collectConflicts(ps.executeBatch(), pendingTaskIds, conflicts);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Lignes non trouvées (0) : titulaire changé ; SUCCESS_NO_INFO est considéré comme appliqué
+     */
+    private static void collectConflicts(int[] counts, List<Integer> taskIds, List<Integer> conflicts) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                conflicts.add(taskIds.get(i));
+            }
+        }
+        taskIds.clear();
+    }
+
     /**
      * Récupérer les tâches non assignées
      */
@@ -241,6 +351,7 @@ public class TaskDAO {
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        hydrateTaskRelations(tasks);
         return tasks;
     }
 
@@ -262,6 +373,7 @@ public class TaskDAO {
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        hydrateTaskRelations(tasks);
         return tasks;
     }
 
@@ -283,6 +395,7 @@ public class TaskDAO {
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        hydrateTaskRelations(tasks);
         return tasks;
     }
 
@@ -304,6 +417,7 @@ public class TaskDAO {
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        hydrateTaskRelations(tasks);
         return tasks;
     }
 
@@ -325,9 +439,165 @@ public class TaskDAO {
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        hydrateTaskRelations(tasks);
         return tasks;
     }
 
+    /**
+     * Récupérer une page de tâches (pagination par curseur sur id croissant)
+     * Les filtres null/false sont ignorés ; les autres se combinent (AND)
+     */
+    public Page<Task> getTasksPage(String status, String priority, Integer memberId, boolean unassignedOnly,
+            Integer afterId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM task WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        if (status != null) {
+            sql.append(" AND status = ?");
+            params.add(status);
+        }
+        if (priority != null) {
+            sql.append(" AND priority = ?");
+            params.add(priority);
+        }
+        if (memberId != null) {
+            sql.append(" AND assignee_id = ?");
+            params.add(memberId);
+        }
+        if (unassignedOnly) {
+            sql.append(" AND assignee_id IS NULL");
+        }
+        if (afterId != null) {
+            sql.append(" AND id > ?");
+            params.add(afterId);
+        }
+        // Une ligne de plus que demandé pour savoir s'il existe une page suivante
+        sql.append(" ORDER BY id LIMIT ?");
+        params.add(limit + 1);
+
+        List<Task> tasks = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    tasks.add(extractTaskFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        Page<Task> page = Page.of(tasks, limit, Task::getId);
+        hydrateTaskRelations(page.getItems());
+        return page;
+    }
+
+    /**
+     * Parcourt les tâches en streaming (ResultSet forward-only) et les transmet une
+     * par une au handler. Dépendances et compétences sont agrégées côté serveur
+     * (GROUP_CONCAT) : la connexion, occupée par le streaming, ne peut pas lancer
+     * d'autres requêtes pendant la lecture. group_concat_max_len est relevé pour la durée
+     * du parcours (puis rétabli, la connexion retourne au pool) ; une liste qui atteint
+     * quand même la limite lève une SQLException plutôt que d'être lue tronquée.
+     * Filtres exclusifs comme dans TaskServlet : unassigned, puis status, priority, memberId.
+     */
+    public void streamTasks(String status, String priority, Integer memberId, boolean unassignedOnly,
+            RowHandler<Task> handler) throws SQLException, IOException {
+        String sql = "SELECT t.*, " +
+                "(SELECT GROUP_CONCAT(d.depends_on_task_id) FROM task_dependency d WHERE d.task_id = t.id) AS dependency_ids, " +
+                "(SELECT GROUP_CONCAT(CONCAT(ts.skill_id, ':', ts.required_level)) FROM task_skill ts " +
+                "WHERE ts.task_id = t.id) AS skill_levels " +
+                "FROM task t";
+        Object param = null;
+
+        if (unassignedOnly) {
+            sql += " WHERE t.assignee_id IS NULL";
+        } else if (status != null) {
+            sql += " WHERE t.status = ?";
+            param = status;
+        } else if (priority != null) {
+            sql += " WHERE t.priority = ?";
+            param = priority;
+        } else if (memberId != null) {
+            sql += " WHERE t.assignee_id = ?";
+            param = memberId;
+        }
+
+        long previousMaxLen;
+        long maxLen;
+        try (Statement stmt = connection.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT @@SESSION.group_concat_max_len")) {
+                rs.next();
+                previousMaxLen = rs.getLong(1);
+            }
+            maxLen = Math.max(previousMaxLen, STREAM_GROUP_CONCAT_MAX_LEN);
+            stmt.execute("SET SESSION group_concat_max_len = " + maxLen);
+        }
+
+        try (PreparedStatement ps = connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(RowHandler.STREAM_FETCH_SIZE);
+            if (param != null) {
+                ps.setObject(1, param);
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Task task = extractTaskFromResultSet(rs);
+                    task.setDependencyIds(parseIdList(checkNotTruncated(rs.getString("dependency_ids"), maxLen, task)));
+                    applySkillLevels(task, checkNotTruncated(rs.getString("skill_levels"), maxLen, task));
+                    handler.handle(task);
+                }
+            }
+        } finally {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("SET SESSION group_concat_max_len = " + previousMaxLen);
+            }
+        }
+    }
+
+    /**
+     * Une liste GROUP_CONCAT de la longueur maximale a pu être tronquée par le serveur
+     */
+    private static String checkNotTruncated(String csv, long maxLen, Task task) throws SQLException {
+        if (csv != null && csv.length() >= maxLen) {
+            throw new SQLException("Relations de la tâche " + task.getId() + " tronquées (group_concat_max_len)");
+        }
+        return csv;
+    }
+
+    /**
+     * Convertit une liste "1,2,3" (GROUP_CONCAT) en liste d'IDs
+     */
+    private static List<Integer> parseIdList(String csv) {
+        List<Integer> ids = new ArrayList<>();
+        if (csv == null || csv.isEmpty()) {
+            return ids;
+        }
+        for (String part : csv.split(",")) {
+            ids.add(Integer.parseInt(part.trim()));
+        }
+        return ids;
+    }
+
+    /**
+     * Compétences requises "skillId:niveau,..." (GROUP_CONCAT) appliquées à la tâche
+     */
+    private static void applySkillLevels(Task task, String csv) {
+        if (csv == null || csv.isEmpty()) {
+            return;
+        }
+        for (String part : csv.split(",")) {
+            int separator = part.indexOf(':');
+            int skillId = Integer.parseInt(part.substring(0, separator).trim());
+            task.getRequiredSkillIds().add(skillId);
+            task.getRequiredSkillLevels().put(skillId, Integer.parseInt(part.substring(separator + 1).trim()));
+        }
+    }
+
     /**
      * Extraire une Task depuis un ResultSet
      */
@@ -369,13 +639,74 @@ public class TaskDAO {
             task.setProjectId(projectId);
         }
 
-        // Charger les dépendances
-        task.setDependencyIds(getTaskDependencies(task.getId()));
+        // Dépendances et compétences requises : chargées en lot par hydrateTaskRelations
+        return task;
+    }
 
-        // Charger les compétences requises
-        task.setRequiredSkillIds(getTaskRequiredSkills(task.getId()));
+    /**
+     * Charge en lot les dépendances et compétences requises d'une liste de tâches
+     * Une requête par table et par tranche de HYDRATION_CHUNK_SIZE IDs
+     * (au lieu de 2 requêtes par tâche)
+     */
+    private void hydrateTaskRelations(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
 
-        return task;
+        Map<Integer, Task> tasksById = new HashMap<>();
+        for (Task task : tasks) {
+            tasksById.put(task.getId(), task);
+        }
+        List<Integer> ids = new ArrayList<>(tasksById.keySet());
+
+        for (int from = 0; from < ids.size(); from += HYDRATION_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + HYDRATION_CHUNK_SIZE, ids.size()));
+            String inClause = buildInClause(chunk.size());
+
+            String depSql = "SELECT task_id, depends_on_task_id FROM task_dependency WHERE task_id IN " + inClause;
+            try (PreparedStatement ps = connection.prepareStatement(depSql)) {
+                bindIds(ps, chunk);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        tasksById.get(rs.getInt("task_id")).getDependencyIds().add(rs.getInt("depends_on_task_id"));
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+
+            String skillSql = "SELECT task_id, skill_id, required_level FROM task_skill WHERE task_id IN " + inClause;
+            try (PreparedStatement ps = connection.prepareStatement(skillSql)) {
+                bindIds(ps, chunk);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Task task = tasksById.get(rs.getInt("task_id"));
+                        int skillId = rs.getInt("skill_id");
+                        task.getRequiredSkillIds().add(skillId);
+                        task.getRequiredSkillLevels().put(skillId, rs.getInt("required_level"));
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Construit "(?, ?, ..., ?)" pour une clause IN
+     */
+    private static String buildInClause(int size) {
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < size; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.append(")").toString();
+    }
+
+    private static void bindIds(PreparedStatement ps, List<Integer> ids) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            ps.setInt(i + 1, ids.get(i));
+        }
     }
 
     /**
@@ -411,37 +742,16 @@ public class TaskDAO {
     }
 
     /**
-     * Récupérer les dépendances d'une tâche
+     * Sauvegarder les compétences requises pour une tâche, avec leur niveau (1 à 5)
      */
-    private List<Integer> getTaskDependencies(int taskId) {
-        List<Integer> dependencies = new ArrayList<>();
-        String sql = "SELECT depends_on_task_id FROM task_dependency WHERE task_id = ?";
-
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, taskId);
-
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    dependencies.add(rs.getInt("depends_on_task_id"));
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return dependencies;
-    }
-
-    /**
-     * Sauvegarder les compétences requises pour une tâche
-     */
-    private void saveTaskSkills(int taskId, List<Integer> skillIds) {
+    private void saveTaskSkills(int taskId, Task task) {
         String sql = "INSERT INTO task_skill (task_id, skill_id, required_level) VALUES (?, ?, ?)";
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            for (Integer skillId : skillIds) {
+            for (Integer skillId : task.getRequiredSkillIds()) {
                 ps.setInt(1, taskId);
                 ps.setInt(2, skillId);
-                ps.setInt(3, 1); // Default required level = 1
+                ps.setInt(3, MemberSkill.clampLevel(task.getRequiredLevel(skillId)));
                 ps.addBatch();
             }
             ps.executeBatch();
@@ -464,27 +774,6 @@ public class TaskDAO {
         }
     }
 
-    /**
-     * Récupérer les compétences requises pour une tâche
-     */
-    private List<Integer> getTaskRequiredSkills(int taskId) {
-        List<Integer> skills = new ArrayList<>();
-        String sql = "SELECT skill_id FROM task_skill WHERE task_id = ?";
-
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, taskId);
-
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    skills.add(rs.getInt("skill_id"));
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return skills;
-    }
-
     /**
      * Récupérer les compétences requises pour une tâche avec leurs noms
      */
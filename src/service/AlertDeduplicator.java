@@ -0,0 +1,71 @@
+package service;
+
+import classes.Alert;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fenêtre de déduplication des alertes en mémoire (état partagé de l'application)
+ * - Une alerte dont l'empreinte a été enregistrée il y a moins de alert.dedupWindowMs
+ *   (propriété système, 1 h par défaut, 0 = désactivée) n'est pas réenregistrée
+ * - Au-delà de la fenêtre, la répétition est regroupée en base sur la même ligne
+ *   (clé unique alert.fingerprint : occurrences + 1, last_seen)
+ * - filter() ne fait que consulter ; record() est appelé après le commit, pour qu'une
+ *   transaction annulée (conflit de capacité) ne masque pas les alertes de l'essai suivant
+ * Les alertes sans empreinte (création manuelle) ne sont jamais écartées.
+ */
+public final class AlertDeduplicator {
+
+    private static final long WINDOW_MS = Long.getLong("alert.dedupWindowMs", 3_600_000L);
+    // Au-delà, les empreintes expirées sont purgées lors de l'enregistrement suivant
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private static final Map<String, Long> lastRecordedAt = new ConcurrentHashMap<>();
+
+    private AlertDeduplicator() {
+    }
+
+    /**
+     * Alertes à enregistrer : sans empreinte, ou empreinte hors fenêtre et pas encore vue
+     * dans la liste
+     */
+    public static List<Alert> filter(List<Alert> alerts) {
+        long now = System.currentTimeMillis();
+        List<Alert> kept = new ArrayList<>(alerts.size());
+        Set<String> seen = new HashSet<>();
+        for (Alert alert : alerts) {
+            String fingerprint = alert.getFingerprint();
+            if (fingerprint == null || (!isRecent(fingerprint, now) && seen.add(fingerprint))) {
+                kept.add(alert);
+            }
+        }
+        return kept;
+    }
+
+    public static void record(List<Alert> alerts) {
+        long now = System.currentTimeMillis();
+        for (Alert alert : alerts) {
+            if (alert.getFingerprint() != null) {
+                lastRecordedAt.put(alert.getFingerprint(), now);
+            }
+        }
+        if (lastRecordedAt.size() > PURGE_THRESHOLD) {
+            for (Iterator<Long> it = lastRecordedAt.values().iterator(); it.hasNext();) {
+                if (now - it.next() >= WINDOW_MS) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private static boolean isRecent(String fingerprint, long now) {
+        Long recordedAt = lastRecordedAt.get(fingerprint);
+        return recordedAt != null && now - recordedAt < WINDOW_MS;
+    }
+}
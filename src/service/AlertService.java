@@ -11,14 +11,18 @@ import classes.MemberSkill;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service de gestion et génération d'alertes intelligentes
  * Détecte : surcharges, conflits, retards potentiels, déséquilibres
+ * Chaque alerte porte une empreinte (type + IDs des membres/tâches concernés) : les répétitions
+ * sont écartées par AlertDeduplicator et regroupées en base (occurrences, last_seen).
  */
 public class AlertService {
 
-    private static int alertIdCounter = 1;
+    // Compteur partagé : les passes d'affectation par partition s'exécutent en parallèle
+    private static final AtomicInteger alertIdCounter = new AtomicInteger(1);
     private List<Alert> alerts;
 
     public AlertService() {
@@ -40,11 +44,14 @@ public class AlertService {
         }
 
         Alert alert = new Alert(
-                alertIdCounter++,
+                alertIdCounter.getAndIncrement(),
                 "Surcharge",
                 message,
                 LocalDate.now(),
                 "Haute");
+        alert.setFingerprint(task != null
+                ? fingerprint("Surcharge", "member", member.getId(), "task", task.getId())
+                : fingerprint("Surcharge", "member", member.getId()));
 
         alerts.add(alert);
         return alert;
@@ -59,11 +66,12 @@ public class AlertService {
                 "Nouvelle charge: " + assignee.getCurrentLoad() + "h.";
 
         Alert alert = new Alert(
-                alertIdCounter++,
+                alertIdCounter.getAndIncrement(),
                 "Tâche urgente",
                 message,
                 LocalDate.now(),
                 "Haute");
+        alert.setFingerprint(fingerprint("Tâche urgente", "task", task.getId(), "member", assignee.getId()));
 
         alerts.add(alert);
         return alert;
@@ -79,11 +87,12 @@ public class AlertService {
                 "Recommandation: rééquilibrer les tâches.";
 
         Alert alert = new Alert(
-                alertIdCounter++,
+                alertIdCounter.getAndIncrement(),
                 "Déséquilibre",
                 message,
                 LocalDate.now(),
                 "Moyenne");
+        alert.setFingerprint(fingerprint("Déséquilibre"));
 
         alerts.add(alert);
         return alert;
@@ -98,11 +107,12 @@ public class AlertService {
                 "Date limite: " + task.getPlannedEndDate();
 
         Alert alert = new Alert(
-                alertIdCounter++,
+                alertIdCounter.getAndIncrement(),
                 "Retard potentiel",
                 message,
                 LocalDate.now(),
                 "Haute");
+        alert.setFingerprint(fingerprint("Retard potentiel", "task", task.getId(), "member", assignee.getId()));
 
         alerts.add(alert);
         return alert;
@@ -116,11 +126,12 @@ public class AlertService {
                 task.getName() + "'. Priorité: " + task.getPriority();
 
         Alert alert = new Alert(
-                alertIdCounter++,
+                alertIdCounter.getAndIncrement(),
                 "Conflit de compétences",
                 message,
                 LocalDate.now(),
                 "Haute");
+        alert.setFingerprint(fingerprint("Conflit de compétences", "task", task.getId()));
 
         alerts.add(alert);
         return alert;
@@ -153,6 +164,17 @@ public class AlertService {
         return delayAlerts;
     }
 
+    /**
+     * Empreinte d'une alerte : type suivi des paires (sujet, ID), ex. "Surcharge:member=3:task=7"
+     */
+    public static String fingerprint(String type, Object... subjectIds) {
+        StringBuilder fingerprint = new StringBuilder(type);
+        for (int i = 0; i + 1 < subjectIds.length; i += 2) {
+            fingerprint.append(':').append(subjectIds[i]).append('=').append(subjectIds[i + 1]);
+        }
+        return fingerprint.toString();
+    }
+
     /**
      * Récupère toutes les alertes
      */
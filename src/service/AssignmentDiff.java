@@ -0,0 +1,100 @@
+package service;
+
+import classes.Member;
+import classes.Task;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Écarts entre deux résultats d'affectation (référence -> scénario), par ID de tâche
+ * - newlyAssigned : tâches affectées dans le scénario seulement (ID tâche -> ID membre)
+ * - reassigned : tâches affectées à un autre membre (ID tâche -> [avant, après])
+ * - noLongerAssigned : tâches affectées dans la référence seulement (ID tâche -> raison,
+ *   null si la tâche n'est plus dans le scénario)
+ * - memberHoursDelta : variation des heures affectées par membre (valeurs non nulles)
+ */
+public class AssignmentDiff {
+
+    private int assignedCountDelta;
+    private int failedCountDelta;
+    private double averageLoadDelta;
+    private double loadStandardDeviationDelta;
+    private Map<Integer, Integer> newlyAssigned = new TreeMap<>();
+    private Map<Integer, int[]> reassigned = new TreeMap<>();
+    private Map<Integer, String> noLongerAssigned = new TreeMap<>();
+    private Map<Integer, Double> memberHoursDelta = new TreeMap<>();
+
+    public static AssignmentDiff between(AssignmentResult baseline, AssignmentResult scenario) {
+        AssignmentDiff diff = new AssignmentDiff();
+        diff.assignedCountDelta = scenario.getSuccessCount() - baseline.getSuccessCount();
+        diff.failedCountDelta = scenario.getFailureCount() - baseline.getFailureCount();
+        diff.averageLoadDelta = scenario.getAverageLoad() - baseline.getAverageLoad();
+        diff.loadStandardDeviationDelta = scenario.getLoadStandardDeviation() - baseline.getLoadStandardDeviation();
+
+        for (Map.Entry<Integer, Member> entry : scenario.getSuccessfulAssignments().entrySet()) {
+            int taskId = entry.getKey();
+            int memberId = entry.getValue().getId();
+            Member before = baseline.getAssignee(taskId);
+            if (before == null) {
+                diff.newlyAssigned.put(taskId, memberId);
+            } else if (before.getId() != memberId) {
+                diff.reassigned.put(taskId, new int[] { before.getId(), memberId });
+            }
+            diff.addHours(memberId, scenario.getTask(taskId));
+        }
+        for (Map.Entry<Integer, Member> entry : baseline.getSuccessfulAssignments().entrySet()) {
+            int taskId = entry.getKey();
+            if (scenario.getAssignee(taskId) == null) {
+                diff.noLongerAssigned.put(taskId, scenario.getFailedAssignments().get(taskId));
+            }
+            diff.subtractHours(entry.getValue().getId(), baseline.getTask(taskId));
+        }
+        diff.memberHoursDelta.values().removeIf(hours -> Math.abs(hours) < 1e-9);
+        return diff;
+    }
+
+    private void addHours(int memberId, Task task) {
+        memberHoursDelta.merge(memberId, task.getEstimatedDuration(), Double::sum);
+    }
+
+    private void subtractHours(int memberId, Task task) {
+        memberHoursDelta.merge(memberId, -task.getEstimatedDuration(), Double::sum);
+    }
+
+    public boolean isEmpty() {
+        return newlyAssigned.isEmpty() && reassigned.isEmpty() && noLongerAssigned.isEmpty();
+    }
+
+    public int getAssignedCountDelta() {
+        return assignedCountDelta;
+    }
+
+    public int getFailedCountDelta() {
+        return failedCountDelta;
+    }
+
+    public double getAverageLoadDelta() {
+        return averageLoadDelta;
+    }
+
+    public double getLoadStandardDeviationDelta() {
+        return loadStandardDeviationDelta;
+    }
+
+    public Map<Integer, Integer> getNewlyAssigned() {
+        return newlyAssigned;
+    }
+
+    public Map<Integer, int[]> getReassigned() {
+        return reassigned;
+    }
+
+    public Map<Integer, String> getNoLongerAssigned() {
+        return noLongerAssigned;
+    }
+
+    public Map<Integer, Double> getMemberHoursDelta() {
+        return memberHoursDelta;
+    }
+}
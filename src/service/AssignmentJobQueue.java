@@ -0,0 +1,239 @@
+package service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Affectations exécutées en tâche de fond, suivies par un ID de job (état partagé de l'application)
+ * - Un seul thread de travail : deux affectations simultanées liraient les mêmes tâches non
+ *   assignées ; l'enregistrement de la seconde échouerait (titulaire changé) et serait
+ *   recalculé pour rien
+ * - File bornée (QUEUE_CAPACITY) : au-delà, submit() lève RejectedExecutionException
+ * - Une demande de même clé qu'un job en attente ou en cours n'en crée pas d'autre : le job
+ *   existant est renvoyé (coalesced)
+ * - Seuls les RETAINED_JOBS derniers jobs terminés restent consultables
+ */
+public final class AssignmentJobQueue {
+
+    private static final int QUEUE_CAPACITY = 8;
+    private static final int RETAINED_JOBS = 100;
+
+    private static final AtomicLong nextId = new AtomicLong(1);
+    private static final Map<Long, Job> jobsById = new HashMap<>();
+    private static final Map<String, Job> activeByKey = new HashMap<>();
+    private static final Deque<Job> finished = new ArrayDeque<>();
+    private static ThreadPoolExecutor executor;
+
+    private AssignmentJobQueue() {
+    }
+
+    /**
+     * Corps d'un job : résout et enregistre l'affectation en notifiant l'avancement
+     */
+    public interface Work {
+        AssignmentResult run(AssignmentProgress progress) throws Exception;
+    }
+
+    /**
+     * Met en file une affectation, ou renvoie le job actif de même clé
+     */
+    public static synchronized Submission submit(String key, Work work) {
+        Job active = activeByKey.get(key);
+        if (active != null) {
+            return new Submission(active, true);
+        }
+
+        Job job = new Job(nextId.getAndIncrement(), key);
+        executor().execute(() -> run(job, work));
+        jobsById.put(job.id, job);
+        activeByKey.put(key, job);
+        return new Submission(job, false);
+    }
+
+    public static synchronized Job get(long id) {
+        return jobsById.get(id);
+    }
+
+    /**
+     * Arrêt de l'application : les jobs en attente sont abandonnés, le job en cours est interrompu
+     */
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private static ThreadPoolExecutor executor() {
+        if (executor == null) {
+            executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+                        Thread thread = new Thread(r, "assignment-job");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Application en cours d'arrêt");
+        }
+        return executor;
+    }
+
+    private static void run(Job job, Work work) {
+        job.status = Status.RUNNING;
+        job.startedAt = System.currentTimeMillis();
+        Status status = Status.FAILED;
+        try {
+            AssignmentResult result = work.run(job);
+            // Compteurs finaux : inclut les tâches écartées avant la boucle (cycles, dates)
+            job.assignedTasks = result.getSuccessCount();
+            job.failedTasks = result.getFailureCount();
+            job.processedTasks = job.assignedTasks + job.failedTasks;
+            job.totalTasks = Math.max(job.totalTasks, job.processedTasks);
+            job.result = result;
+            status = Status.DONE;
+        } catch (Exception e) {
+            job.error = e.getMessage();
+            e.printStackTrace();
+        } finally {
+            finish(job, status);
+        }
+    }
+
+    /**
+     * Clé libérée avant que le job ne paraisse terminé : une demande faite après avoir lu
+     * l'état final crée un nouveau job au lieu d'être regroupée avec celui-ci
+     */
+    private static synchronized void finish(Job job, Status status) {
+        activeByKey.remove(job.key, job);
+        job.finishedAt = System.currentTimeMillis();
+        job.status = status;
+        finished.addLast(job);
+        while (finished.size() > RETAINED_JOBS) {
+            jobsById.remove(finished.removeFirst().id);
+        }
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    /**
+     * Job soumis et indicateur de regroupement avec un job déjà actif
+     */
+    public static final class Submission {
+        private final Job job;
+        private final boolean coalesced;
+
+        Submission(Job job, boolean coalesced) {
+            this.job = job;
+            this.coalesced = coalesced;
+        }
+
+        public Job getJob() {
+            return job;
+        }
+
+        public boolean isCoalesced() {
+            return coalesced;
+        }
+    }
+
+    /**
+     * État d'un job ; compteurs mis à jour par le thread de travail, lus par les requêtes de suivi
+     */
+    public static final class Job implements AssignmentProgress {
+        private final long id;
+        private final String key;
+        private final long submittedAt = System.currentTimeMillis();
+        private volatile Status status = Status.QUEUED;
+        private volatile int totalTasks;
+        private volatile int processedTasks;
+        private volatile int assignedTasks;
+        private volatile int failedTasks;
+        private volatile long startedAt;
+        private volatile long finishedAt;
+        private volatile AssignmentResult result;
+        private volatile String error;
+
+        Job(long id, String key) {
+            this.id = id;
+            this.key = key;
+        }
+
+        // Appelé de nouveau si l'affectation est recalculée après un conflit de capacité
+        @Override
+        public void started(int taskCount) {
+            totalTasks = taskCount;
+            processedTasks = 0;
+            assignedTasks = 0;
+            failedTasks = 0;
+        }
+
+        // Un seul thread écrit : les incréments sur champs volatile suffisent
+        @Override
+        public void taskProcessed(boolean assigned) {
+            if (assigned) {
+                assignedTasks++;
+            } else {
+                failedTasks++;
+            }
+            processedTasks++;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public int getTotalTasks() {
+            return totalTasks;
+        }
+
+        public int getProcessedTasks() {
+            return processedTasks;
+        }
+
+        public int getAssignedTasks() {
+            return assignedTasks;
+        }
+
+        public int getFailedTasks() {
+            return failedTasks;
+        }
+
+        public long getSubmittedAt() {
+            return submittedAt;
+        }
+
+        public long getStartedAt() {
+            return startedAt;
+        }
+
+        public long getFinishedAt() {
+            return finishedAt;
+        }
+
+        public AssignmentResult getResult() {
+            return result;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package service;
+
+import classes.Alert;
+import classes.Member;
+import dao.AlertDAO;
+import dao.MemberCandidateCache;
+import dao.MemberDAO;
+import dao.TaskDAO;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Enregistrement d'un AssignmentResult en une seule transaction :
+ * - heures réservées sur chaque nouveau titulaire par compare-and-set sur la version du membre
+ *   lue par l'algorithme ; si une autre affectation en a modifié un, tout est annulé et une
+ *   CapacityConflictException est levée (solveAndPersist recommence, un nombre limité de fois)
+ * - lignes verrouillées par ID croissant (membres, puis tâches) : deux affectations touchant les
+ *   mêmes membres ne peuvent pas s'interbloquer ; un interblocage signalé malgré tout par le
+ *   serveur (SQLState 40001) est recommencé par solveAndPersist comme un conflit
+ * - affectations des tâches écrites en un seul batch JDBC, chacune conditionnée au titulaire lu
+ *   par l'algorithme (assignee_id <=> ?) : une tâche prise par une affectation concurrente est
+ *   aussi une CapacityConflictException
+ * - charge des membres concernés (nouveaux et anciens titulaires) recalculée par un seul UPDATE
+ *   ensembliste
+ * - alertes insérées en un seul batch JDBC, sans les répétitions déjà enregistrées dans la
+ *   fenêtre d'AlertDeduplicator ; les répétitions plus anciennes sont regroupées dans leur ligne
+ * Toute erreur annule l'ensemble et est propagée à l'appelant.
+ * Après validation, les membres concernés sont marqués périmés dans MemberCandidateCache.
+ */
+public class AssignmentPersistenceService {
+
+    // Tentatives de solveAndPersist (résolution + enregistrement) en cas de conflit de capacité
+    private static final int MAX_ATTEMPTS = 3;
+    // Transaction annulée par le serveur (interblocage, attente de verrou)
+    private static final String SQLSTATE_ROLLBACK = "40001";
+
+    private Connection connection;
+
+    public AssignmentPersistenceService(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Enregistre atomiquement les affectations, les charges et les alertes d'un calcul
+     */
+    public void persist(AssignmentResult result) throws SQLException {
+        Map<Integer, Integer> assigneeByTaskId = new TreeMap<>();
+        Map<Integer, Integer> expectedAssigneeByTaskId = new HashMap<>();
+        Set<Integer> affectedMemberIds = new TreeSet<>();
+        // Heures reçues par chaque nouveau titulaire, et le membre tel que lu par l'algorithme
+        Map<Integer, Double> reservedHours = new TreeMap<>();
+        Map<Integer, Member> assignees = new HashMap<>();
+        for (Map.Entry<Integer, Member> entry : result.getSuccessfulAssignments().entrySet()) {
+            Member assignee = entry.getValue();
+            assigneeByTaskId.put(entry.getKey(), assignee.getId());
+            affectedMemberIds.add(assignee.getId());
+            int previousAssigneeId = result.getTask(entry.getKey()).getAssigneeId();
+            expectedAssigneeByTaskId.put(entry.getKey(), previousAssigneeId);
+            if (previousAssigneeId > 0) {
+                affectedMemberIds.add(previousAssigneeId);
+            }
+            if (previousAssigneeId != assignee.getId()) {
+                reservedHours.merge(assignee.getId(), result.getTask(entry.getKey()).getEstimatedDuration(), Double::sum);
+                assignees.putIfAbsent(assignee.getId(), assignee);
+            }
+        }
+
+        List<Alert> alerts = AlertDeduplicator.filter(result.getAlerts());
+
+        boolean previousAutoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            MemberDAO memberDAO = new MemberDAO(connection);
+            List<Integer> conflicts = new ArrayList<>();
+            for (Map.Entry<Integer, Double> entry : reservedHours.entrySet()) {
+                if (!memberDAO.reserveCapacity(entry.getKey(), entry.getValue(), assignees.get(entry.getKey()).getVersion())) {
+                    conflicts.add(entry.getKey());
+                }
+            }
+            if (!conflicts.isEmpty()) {
+                throw new CapacityConflictException(conflicts);
+            }
+
+            List<Integer> taken = new TaskDAO(connection).assignTasksBatch(assigneeByTaskId, expectedAssigneeByTaskId);
+            if (!taken.isEmpty()) {
+                throw new CapacityConflictException(Collections.emptyList(), taken);
+            }
+            // Charges recalculées depuis les tâches (source de vérité), après la réservation
+            memberDAO.recalculateWorkloads(affectedMemberIds);
+            new AlertDAO(connection).addAlertsBatch(alerts);
+            connection.commit();
+            AlertDeduplicator.record(alerts);
+            // Marqués de nouveau après validation : une relecture pendant la transaction a pu lire les anciennes lignes
+            MemberCandidateCache.markStale(affectedMemberIds);
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(previousAutoCommit);
+        }
+    }
+
+    /**
+     * Résout puis enregistre ; en cas de conflit de capacité ou d'interblocage, résout de nouveau
+     * sur des membres relus (au plus MAX_ATTEMPTS fois, puis le conflit est propagé)
+     */
+    public AssignmentResult solveAndPersist(Solver solver) throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            AssignmentResult result = solver.solve();
+            try {
+                persist(result);
+                return result;
+            } catch (CapacityConflictException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+            } catch (SQLException e) {
+                if (!SQLSTATE_ROLLBACK.equals(e.getSQLState())) {
+                    throw e;
+                }
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw new CapacityConflictException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calcul d'un résultat à partir de membres lus au moment de l'appel
+     */
+    public interface Solver {
+        AssignmentResult solve() throws SQLException;
+    }
+}
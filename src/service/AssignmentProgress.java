@@ -0,0 +1,14 @@
+package service;
+
+/**
+ * Suivi de l'avancement d'une affectation (tâches traitées une à une par la boucle gloutonne)
+ */
+public interface AssignmentProgress {
+
+    /**
+     * Nombre de tâches à traiter, connu avant la boucle d'affectation
+     */
+    void started(int taskCount);
+
+    void taskProcessed(boolean assigned);
+}
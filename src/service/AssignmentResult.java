@@ -8,24 +8,38 @@ import classes.Team;
 import classes.Skill;
 import classes.MemberSkill;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import com.google.gson.annotations.JsonAdapter;
+
+import java.lang.reflect.Type;
 import java.util.*;
 
 /**
  * Classe pour stocker et structurer les résultats d'une affectation de tâches
+ * Les affectations sont indexées par ID de tâche (int), et non par Task dont equals/hashCode
+ * comparent tout le contenu. Le JSON produit est inchangé : successfulAssignments et
+ * failedAssignments restent des objets "Task{...}" -> membre / raison (voir JsonView).
  */
+@JsonAdapter(AssignmentResult.JsonView.class)
 public class AssignmentResult {
 
     private List<String> messages;
-    private Map<Task, Member> successfulAssignments;
-    private Map<Task, String> failedAssignments;
+    // ID de tâche -> tâche / membre affecté / raison de l'échec (ordre d'ajout)
+    private Map<Integer, Task> tasksById;
+    private Map<Integer, Member> assigneeByTaskId;
+    private Map<Integer, String> failureByTaskId;
     private List<Alert> alerts;
     private double averageLoad;
     private double loadStandardDeviation;
 
     public AssignmentResult() {
         this.messages = new ArrayList<>();
-        this.successfulAssignments = new HashMap<>();
-        this.failedAssignments = new HashMap<>();
+        this.tasksById = new HashMap<>();
+        this.assigneeByTaskId = new LinkedHashMap<>();
+        this.failureByTaskId = new LinkedHashMap<>();
         this.alerts = new ArrayList<>();
         this.averageLoad = 0.0;
         this.loadStandardDeviation = 0.0;
@@ -36,11 +50,13 @@ public class AssignmentResult {
     }
 
     public void addSuccessfulAssignment(Task task, Member member) {
-        this.successfulAssignments.put(task, member);
+        this.tasksById.put(task.getId(), task);
+        this.assigneeByTaskId.put(task.getId(), member);
     }
 
     public void addFailedAssignment(Task task, String reason) {
-        this.failedAssignments.put(task, reason);
+        this.tasksById.put(task.getId(), task);
+        this.failureByTaskId.put(task.getId(), reason);
     }
 
     public void addAlert(Alert alert) {
@@ -51,12 +67,29 @@ public class AssignmentResult {
         return messages;
     }
 
-    public Map<Task, Member> getSuccessfulAssignments() {
-        return successfulAssignments;
+    /**
+     * Affectations réussies : ID de tâche -> membre
+     */
+    public Map<Integer, Member> getSuccessfulAssignments() {
+        return assigneeByTaskId;
+    }
+
+    /**
+     * Échecs : ID de tâche -> raison
+     */
+    public Map<Integer, String> getFailedAssignments() {
+        return failureByTaskId;
     }
 
-    public Map<Task, String> getFailedAssignments() {
-        return failedAssignments;
+    /**
+     * Tâche affectée ou en échec correspondant à l'ID, null si absente du résultat
+     */
+    public Task getTask(int taskId) {
+        return tasksById.get(taskId);
+    }
+
+    public Member getAssignee(int taskId) {
+        return assigneeByTaskId.get(taskId);
     }
 
     public List<Alert> getAlerts() {
@@ -80,11 +113,11 @@ public class AssignmentResult {
     }
 
     public int getSuccessCount() {
-        return successfulAssignments.size();
+        return assigneeByTaskId.size();
     }
 
     public int getFailureCount() {
-        return failedAssignments.size();
+        return failureByTaskId.size();
     }
 
     public boolean hasAlerts() {
@@ -119,4 +152,33 @@ public class AssignmentResult {
 
         return sb.toString();
     }
+
+    /**
+     * Sérialisation JSON identique à l'ancienne forme Map<Task, ...> (clés = Task.toString())
+     */
+    static final class JsonView implements JsonSerializer<AssignmentResult> {
+
+        @Override
+        public JsonElement serialize(AssignmentResult result, Type type, JsonSerializationContext context) {
+            JsonObject json = new JsonObject();
+            json.add("messages", context.serialize(result.messages));
+
+            JsonObject successful = new JsonObject();
+            for (Map.Entry<Integer, Member> entry : result.assigneeByTaskId.entrySet()) {
+                successful.add(String.valueOf(result.tasksById.get(entry.getKey())), context.serialize(entry.getValue()));
+            }
+            json.add("successfulAssignments", successful);
+
+            JsonObject failed = new JsonObject();
+            for (Map.Entry<Integer, String> entry : result.failureByTaskId.entrySet()) {
+                failed.add(String.valueOf(result.tasksById.get(entry.getKey())), context.serialize(entry.getValue()));
+            }
+            json.add("failedAssignments", failed);
+
+            json.add("alerts", context.serialize(result.alerts));
+            json.addProperty("averageLoad", result.averageLoad);
+            json.addProperty("loadStandardDeviation", result.loadStandardDeviation);
+            return json;
+        }
+    }
 }
@@ -0,0 +1,240 @@
+package service;
+
+import classes.Member;
+import classes.Task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Instantané immuable des membres et des tâches à affecter, base des simulations (what-if)
+ * - Copié une seule fois à la construction : les objets lus en base peuvent ensuite changer
+ * - Un scénario (Scenario) ne contient que ses écarts ; view() construit les listes de travail
+ *   d'une exécution en partageant les tâches et les compétences de l'instantané (jamais écrites
+ *   par l'algorithme). Seuls les membres, dont la charge est mise à jour pendant l'affectation,
+ *   sont recopiés pour chaque exécution.
+ * Les tâches ajoutées sans ID reçoivent un ID provisoire au-delà des IDs connus.
+ */
+public final class AssignmentSnapshot {
+
+    private final List<Member> members;
+    private final List<Task> tasks;
+    private final List<Task> predecessorTasks;
+    private final int nextTaskId;
+
+    public AssignmentSnapshot(List<Member> members, List<Task> tasks, List<Task> predecessorTasks) {
+        List<Member> memberCopies = new ArrayList<>(members.size());
+        for (Member member : members) {
+            memberCopies.add(copyMember(member));
+        }
+        int maxTaskId = 0;
+        List<Task> taskCopies = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            taskCopies.add(copyTask(task));
+            maxTaskId = Math.max(maxTaskId, maxId(task));
+        }
+        List<Task> predecessorCopies = new ArrayList<>();
+        if (predecessorTasks != null) {
+            for (Task task : predecessorTasks) {
+                predecessorCopies.add(copyTask(task));
+                maxTaskId = Math.max(maxTaskId, maxId(task));
+            }
+        }
+
+        this.members = Collections.unmodifiableList(memberCopies);
+        this.tasks = Collections.unmodifiableList(taskCopies);
+        this.predecessorTasks = Collections.unmodifiableList(predecessorCopies);
+        this.nextTaskId = maxTaskId + 1;
+    }
+
+    public List<Member> getMembers() {
+        return members;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public List<Task> getPredecessorTasks() {
+        return predecessorTasks;
+    }
+
+    /**
+     * Listes de travail d'une exécution : instantané + écarts du scénario (null = référence)
+     */
+    View view(Scenario scenario) {
+        Set<Integer> absent = new HashSet<>();
+        Map<Integer, Double> availability = new HashMap<>();
+        Set<Integer> removedTasks = new HashSet<>();
+        List<Task> addedTasks = new ArrayList<>();
+        if (scenario != null) {
+            if (scenario.getAbsentMemberIds() != null) {
+                absent.addAll(scenario.getAbsentMemberIds());
+            }
+            if (scenario.getWeeklyAvailability() != null) {
+                availability.putAll(scenario.getWeeklyAvailability());
+            }
+            if (scenario.getRemoveTaskIds() != null) {
+                removedTasks.addAll(scenario.getRemoveTaskIds());
+            }
+            if (scenario.getAddTasks() != null) {
+                addedTasks.addAll(scenario.getAddTasks());
+            }
+        }
+
+        List<Member> workingMembers = new ArrayList<>(members.size());
+        for (Member base : members) {
+            Member member = workingCopy(base);
+            Double weekly = absent.contains(base.getId()) ? Double.valueOf(0) : availability.get(base.getId());
+            if (weekly != null) {
+                // Même règle que l'affectation : heures restantes = disponibilité - charge
+                member.setWeeklyAvailability(weekly);
+                member.setRemainingHours(weekly - member.getCurrentLoad());
+                member.setAvailable(member.getRemainingHours() > 0);
+            }
+            workingMembers.add(member);
+        }
+
+        List<Task> workingTasks = new ArrayList<>(tasks.size() + addedTasks.size());
+        for (Task task : tasks) {
+            if (!removedTasks.contains(task.getId())) {
+                workingTasks.add(task);
+            }
+        }
+        int provisionalId = nextTaskId;
+        for (Task added : addedTasks) {
+            Task task = copyTask(added);
+            if (task.getId() <= 0) {
+                task.setId(provisionalId++);
+            }
+            workingTasks.add(task);
+        }
+        return new View(workingMembers, workingTasks);
+    }
+
+    private static int maxId(Task task) {
+        int max = task.getId();
+        for (Integer dependencyId : task.getDependencyIds()) {
+            max = Math.max(max, dependencyId);
+        }
+        return max;
+    }
+
+    /**
+     * Copie de travail : champs de charge propres, compétences partagées avec l'instantané
+     */
+    private static Member workingCopy(Member base) {
+        Member member = copyScalars(base);
+        member.setMemberSkills(base.getMemberSkills());
+        member.setAssignedTasks(new ArrayList<>(base.getAssignedTasks()));
+        return member;
+    }
+
+    private static Member copyMember(Member source) {
+        Member member = copyScalars(source);
+        member.setMemberSkills(new ArrayList<>(source.getMemberSkills()));
+        member.setAssignedTasks(new ArrayList<>(source.getAssignedTasks()));
+        return member;
+    }
+
+    private static Member copyScalars(Member source) {
+        Member member = new Member();
+        member.setId(source.getId());
+        member.setFirstName(source.getFirstName());
+        member.setLastName(source.getLastName());
+        member.setEmail(source.getEmail());
+        member.setRole(source.getRole());
+        member.setTeam(source.getTeam());
+        member.setTeamId(source.getTeamId());
+        member.setCurrentLoad(source.getCurrentLoad());
+        member.setWeeklyAvailability(source.getWeeklyAvailability());
+        member.setRemainingHours(source.getRemainingHours());
+        member.setAvailable(source.isAvailable());
+        member.setVersion(source.getVersion());
+        return member;
+    }
+
+    private static Task copyTask(Task source) {
+        Task task = new Task(source.getId(), source.getName(), source.getDescription(), source.getEstimatedDuration(),
+                source.getPlannedStartDate(), source.getPlannedEndDate(), source.getPriority(), source.getStatus());
+        task.setAssigneeId(source.getAssigneeId());
+        task.setProjectId(source.getProjectId());
+        task.setDependencyIds(Collections.unmodifiableList(new ArrayList<>(source.getDependencyIds())));
+        task.setRequiredSkillIds(Collections.unmodifiableList(new ArrayList<>(source.getRequiredSkillIds())));
+        task.setRequiredSkillLevels(Collections.unmodifiableMap(new HashMap<>(source.getRequiredSkillLevels())));
+        return task;
+    }
+
+    /**
+     * Listes de membres et de tâches d'une exécution
+     */
+    static final class View {
+        final List<Member> members;
+        final List<Task> tasks;
+
+        View(List<Member> members, List<Task> tasks) {
+            this.members = members;
+            this.tasks = tasks;
+        }
+    }
+
+    /**
+     * Écarts d'un scénario par rapport à l'instantané (lu depuis le JSON de la requête)
+     */
+    public static class Scenario {
+        private String name;
+        // Tâches supplémentaires à affecter
+        private List<Task> addTasks = new ArrayList<>();
+        // Tâches retirées de l'affectation
+        private List<Integer> removeTaskIds = new ArrayList<>();
+        // Membres absents : disponibilité hebdomadaire ramenée à 0
+        private List<Integer> absentMemberIds = new ArrayList<>();
+        // ID de membre -> disponibilité hebdomadaire (heures)
+        private Map<Integer, Double> weeklyAvailability = new HashMap<>();
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<Task> getAddTasks() {
+            return addTasks;
+        }
+
+        public void setAddTasks(List<Task> addTasks) {
+            this.addTasks = addTasks;
+        }
+
+        public List<Integer> getRemoveTaskIds() {
+            return removeTaskIds;
+        }
+
+        public void setRemoveTaskIds(List<Integer> removeTaskIds) {
+            this.removeTaskIds = removeTaskIds;
+        }
+
+        public List<Integer> getAbsentMemberIds() {
+            return absentMemberIds;
+        }
+
+        public void setAbsentMemberIds(List<Integer> absentMemberIds) {
+            this.absentMemberIds = absentMemberIds;
+        }
+
+        public Map<Integer, Double> getWeeklyAvailability() {
+            return weeklyAvailability;
+        }
+
+        public void setWeeklyAvailability(Map<Integer, Double> weeklyAvailability) {
+            this.weeklyAvailability = weeklyAvailability;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package service;
+
+/**
+ * Choix du membre d'une tâche parmi les candidats qualifiés (compétences et niveaux requis)
+ * disponibles et ayant assez d'heures
+ * - Le candidat de plus haut score l'emporte ; égalité : plus d'heures restantes, puis
+ *   premier dans la liste des membres
+ * - score() est appelé pour chaque candidat d'une tâche dans une boucle serrée : il lit les
+ *   tableaux de MemberTable et TaskFeatures et ne doit ni allouer ni modifier d'état
+ * Stratégies fournies : ScoringStrategy.
+ */
+public interface AssignmentStrategy {
+
+    double score(MemberTable members, int member, TaskFeatures task);
+}
@@ -0,0 +1,94 @@
+package service;
+
+import classes.Member;
+import classes.Task;
+import dao.MemberDAO;
+import dao.TaskDAO;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Affectation automatique de toutes les tâches non assignées (POST /api/assignment/auto)
+ * Chargement, résolution selon la stratégie demandée puis enregistrement en une transaction,
+ * recommencés si une affectation concurrente a modifié un membre retenu (conflit de version) ;
+ * exécutée dans la requête ou en tâche de fond (AssignmentJobQueue).
+ */
+public class AutoAssignmentRun {
+
+    public enum Strategy {
+        GREEDY, OPTIMAL, PARALLEL
+    }
+
+    private final Strategy strategy;
+    private final ParallelAssignmentService.Partitioning partitioning;
+    private final boolean calendarCapacity;
+    private final long timeBudgetMillis;
+    private final ScoringStrategy scoring;
+
+    public AutoAssignmentRun(Strategy strategy, ParallelAssignmentService.Partitioning partitioning,
+            boolean calendarCapacity, long timeBudgetMillis, ScoringStrategy scoring) {
+        this.strategy = strategy;
+        this.partitioning = partitioning;
+        this.calendarCapacity = calendarCapacity;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.scoring = scoring;
+    }
+
+    /**
+     * Paramètres significatifs uniquement : deux demandes de même clé produisent la même affectation
+     */
+    public String key() {
+        switch (strategy) {
+            case OPTIMAL:
+                return "optimal|" + timeBudgetMillis;
+            case PARALLEL:
+                return "parallel|" + partitioning + "|" + scoring.getParameterName();
+            default:
+                return (calendarCapacity ? "greedy|calendar|" : "greedy|") + scoring.getParameterName();
+        }
+    }
+
+    /**
+     * @param progress avancement (null = aucun) ; les stratégies optimal et parallel ne
+     *                 notifient pas tâche par tâche
+     */
+    public AssignmentResult execute(Connection conn, AssignmentProgress progress) throws SQLException {
+        return new AssignmentPersistenceService(conn).solveAndPersist(() -> solve(conn, progress));
+    }
+
+    private AssignmentResult solve(Connection conn, AssignmentProgress progress) {
+        // Use getAllMembersWithSkills to ensure skill matching works
+        List<Member> members = new MemberDAO(conn).getAllMembersWithSkills();
+        TaskDAO taskDAO = new TaskDAO(conn);
+        List<Task> tasks = taskDAO.getUnassignedTasks();
+
+        // Prédécesseurs hors liste (déjà assignés) : leurs dates comptent pour l'ordonnancement
+        List<Task> predecessors = taskDAO.getExternalPredecessors(tasks);
+
+        AssignmentResult result;
+        if (strategy == Strategy.PARALLEL) {
+            ParallelAssignmentService parallel = new ParallelAssignmentService(members, tasks);
+            parallel.setPredecessorTasks(predecessors);
+            parallel.setStrategy(scoring);
+            result = parallel.assignTasks(partitioning);
+        } else {
+            TaskAssignmentService service = new TaskAssignmentService(members, tasks);
+            service.setPredecessorTasks(predecessors);
+            service.setProgress(progress);
+            service.setStrategy(scoring);
+            if (strategy == Strategy.OPTIMAL) {
+                result = service.assignTasksOptimally(timeBudgetMillis);
+            } else {
+                if (calendarCapacity) {
+                    // Capacité par jour sur la fenêtre de chaque tâche
+                    service.setCapacityCalendar(CapacityCalendar.forTasks(members, tasks, LocalDate.now()));
+                }
+                result = service.assignTasksAutomatically();
+            }
+        }
+        return result;
+    }
+}
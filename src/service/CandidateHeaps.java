@@ -0,0 +1,150 @@
+package service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sélection du membre qualifié ayant le plus d'heures restantes (stratégie least-loaded)
+ * - Un tas max par exigence distincte (BitSet des bits (compétence, niveau) requis, voir
+ *   SkillIndex), construit à la première tâche qui la demande à partir des membres qualifiés
+ * - Clé = heures restantes lues dans MemberTable, puis position croissante : même départage
+ *   que le parcours des candidats
+ * - Pendant une affectation les heures restantes ne font que baisser : la clé stockée d'un
+ *   membre majore donc ses heures actuelles. Un sommet dont la clé n'est plus à jour est
+ *   corrigé sur place (descente dans le tas), ou retiré si le membre est devenu indisponible ;
+ *   un sommet à jour est le meilleur candidat. Chaque tas ne contient un membre qu'une fois.
+ * - Si les heures d'un membre augmentent (updated), tous les tas sont oubliés et reconstruits
+ *   à la demande
+ */
+class CandidateHeaps {
+
+    private final SkillIndex index;
+    private final MemberTable table;
+    // Clé = mots de l'exigence (BitSet.hashCode replie les mots par XOR : trop de collisions)
+    private final Map<Requirement, Heap> heapsByRequirement = new HashMap<>();
+
+    CandidateHeaps(SkillIndex index, MemberTable table) {
+        this.index = index;
+        this.table = table;
+    }
+
+    /**
+     * Position du membre disponible, qualifié et ayant au moins duration heures restantes,
+     * avec le plus d'heures restantes (premier de la liste en cas d'égalité) ; -1 sinon
+     */
+    int best(BitSet required, double duration) {
+        if (required == null) {
+            return -1;
+        }
+        Requirement key = new Requirement(required.toLongArray());
+        Heap heap = heapsByRequirement.get(key);
+        if (heap == null) {
+            heap = new Heap(index.qualifiedMembers(required));
+            heapsByRequirement.put(key, heap);
+        }
+        int top = heap.peekCurrent();
+        return top >= 0 && table.remaining(top) >= duration ? top : -1;
+    }
+
+    /**
+     * À appeler après la mise à jour d'un membre dans MemberTable
+     */
+    void updated(int member, double previousRemaining, boolean previouslyAvailable) {
+        if (table.remaining(member) > previousRemaining || (table.isAvailable(member) && !previouslyAvailable)) {
+            heapsByRequirement.clear();
+        }
+    }
+
+    private static final class Requirement {
+        private final long[] words;
+        private final int hash;
+
+        Requirement(long[] words) {
+            this.words = words;
+            this.hash = Arrays.hashCode(words);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Requirement && Arrays.equals(words, ((Requirement) other).words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Tas binaire de positions de membres sur tableaux primitifs (pas d'objet par entrée)
+     */
+    private final class Heap {
+        private final int[] members;
+        private final double[] keys;
+        private int size;
+
+        Heap(BitSet qualified) {
+            members = new int[qualified.cardinality()];
+            keys = new double[members.length];
+            for (int m = qualified.nextSetBit(0); m >= 0; m = qualified.nextSetBit(m + 1)) {
+                if (table.isAvailable(m)) {
+                    members[size] = m;
+                    keys[size] = table.remaining(m);
+                    size++;
+                }
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        /**
+         * Sommet après correction des clés périmées, -1 si le tas est vide
+         */
+        int peekCurrent() {
+            while (size > 0) {
+                int m = members[0];
+                if (!table.isAvailable(m)) {
+                    size--;
+                    members[0] = members[size];
+                    keys[0] = keys[size];
+                } else if (Double.compare(keys[0], table.remaining(m)) != 0) {
+                    keys[0] = table.remaining(m);
+                } else {
+                    return m;
+                }
+                siftDown(0);
+            }
+            return -1;
+        }
+
+        private void siftDown(int i) {
+            int m = members[i];
+            double key = keys[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && before(members[child + 1], keys[child + 1], members[child], keys[child])) {
+                    child++;
+                }
+                if (!before(members[child], keys[child], m, key)) {
+                    break;
+                }
+                members[i] = members[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+            members[i] = m;
+            keys[i] = key;
+        }
+
+        private boolean before(int a, double keyA, int b, double keyB) {
+            int byHours = Double.compare(keyA, keyB);
+            return byHours != 0 ? byHours > 0 : a < b;
+        }
+    }
+}
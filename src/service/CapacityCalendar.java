@@ -0,0 +1,182 @@
+package service;
+
+import classes.Member;
+import classes.Task;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Calendrier de capacité par membre et par jour (au lieu du scalaire remainingHours)
+ * - Horizon [origin, origin + days) ; capacité d'un jour ouvré = weeklyAvailability / 5,
+ *   0 le week-end
+ * - Heures libres stockées en centièmes d'heure dans des tableaux d'int :
+ *   free[m][d] et un arbre de Fenwick par membre pour les sommes sur une période,
+ *   soit O(log days) par vérification d'affectation
+ * - Une réservation consomme les jours libres de la fenêtre au plus tôt
+ * - La charge actuelle (currentLoad) n'a pas de dates en base : elle est réservée
+ *   au plus tôt à partir de l'origine
+ * Fenêtre d'une tâche : plannedStartDate..plannedEndDate (bornes incluses), début par
+ * défaut = origine, fin par défaut = début + 6 jours ; une tâche dont l'échéance est
+ * dépassée utilise la première semaine de l'horizon.
+ */
+public class CapacityCalendar {
+
+    private static final int UNITS_PER_HOUR = 100;
+    private static final int WORKING_DAYS_PER_WEEK = 5;
+    private static final int DEFAULT_WINDOW_DAYS = 7;
+    // Horizon maximal (2 ans) : les fenêtres plus lointaines sont tronquées
+    private static final int MAX_DAYS = 731;
+
+    private final LocalDate origin;
+    private final int days;
+    private final int[][] free;
+    private final int[][] tree;
+
+    public CapacityCalendar(List<Member> members, LocalDate origin, int days) {
+        this.origin = origin;
+        this.days = Math.max(1, Math.min(days, MAX_DAYS));
+        this.free = new int[members.size()][];
+        this.tree = new int[members.size()][];
+
+        for (int m = 0; m < members.size(); m++) {
+            Member member = members.get(m);
+            int daily = toUnits(member.getWeeklyAvailability() / WORKING_DAYS_PER_WEEK);
+            int[] memberFree = new int[this.days];
+            for (int d = 0; d < this.days; d++) {
+                DayOfWeek dayOfWeek = origin.plusDays(d).getDayOfWeek();
+                boolean weekend = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+                memberFree[d] = weekend ? 0 : daily;
+            }
+            free[m] = memberFree;
+            tree[m] = buildTree(memberFree);
+            reserveUnits(m, 0, this.days - 1, toUnits(Math.max(0, member.getCurrentLoad())));
+        }
+    }
+
+    /**
+     * Calendrier couvrant les fenêtres de toutes les tâches, à partir d'aujourd'hui
+     */
+    public static CapacityCalendar forTasks(List<Member> members, List<Task> tasks, LocalDate today) {
+        LocalDate last = today.plusDays(DEFAULT_WINDOW_DAYS - 1);
+        for (Task task : tasks) {
+            LocalDate end = task.getPlannedEndDate() != null ? task.getPlannedEndDate()
+                    : task.getPlannedStartDate() != null ? task.getPlannedStartDate().plusDays(DEFAULT_WINDOW_DAYS - 1)
+                    : null;
+            if (end != null && end.isAfter(last)) {
+                last = end;
+            }
+        }
+        return new CapacityCalendar(members, today, (int) (last.toEpochDay() - today.toEpochDay()) + 1);
+    }
+
+    public LocalDate getOrigin() {
+        return origin;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Heures libres du membre sur la fenêtre de la tâche, en O(log days)
+     */
+    public double freeHours(int memberIndex, Task task) {
+        int[] window = window(task);
+        return toHours(sum(memberIndex, window[1]) - sum(memberIndex, window[0] - 1));
+    }
+
+    /**
+     * Vrai si le membre a assez d'heures libres sur la fenêtre de la tâche
+     */
+    public boolean canTake(int memberIndex, Task task) {
+        int[] window = window(task);
+        return sum(memberIndex, window[1]) - sum(memberIndex, window[0] - 1) >= toUnits(task.getEstimatedDuration());
+    }
+
+    /**
+     * Réserve la durée de la tâche sur sa fenêtre (jours libres au plus tôt)
+     * @return false si la capacité de la fenêtre est insuffisante (rien n'est réservé)
+     */
+    public boolean reserve(int memberIndex, Task task) {
+        if (!canTake(memberIndex, task)) {
+            return false;
+        }
+        int[] window = window(task);
+        reserveUnits(memberIndex, window[0], window[1], toUnits(task.getEstimatedDuration()));
+        return true;
+    }
+
+    /**
+     * Fenêtre [premier jour, dernier jour] de la tâche en indices de l'horizon
+     */
+    int[] window(Task task) {
+        long originDay = origin.toEpochDay();
+        long start = task.getPlannedStartDate() != null ? task.getPlannedStartDate().toEpochDay() - originDay : 0;
+        long end = task.getPlannedEndDate() != null ? task.getPlannedEndDate().toEpochDay() - originDay
+                : Math.max(start, 0) + DEFAULT_WINDOW_DAYS - 1;
+        if (end < 0) {
+            // Échéance dépassée : première semaine de l'horizon
+            start = 0;
+            end = DEFAULT_WINDOW_DAYS - 1;
+        }
+        start = Math.max(0, start);
+        end = Math.min(days - 1, Math.max(start, end));
+        start = Math.min(start, end);
+        return new int[] { (int) start, (int) end };
+    }
+
+    private void reserveUnits(int memberIndex, int from, int to, int units) {
+        int[] memberFree = free[memberIndex];
+        for (int d = from; d <= to && units > 0; d++) {
+            int taken = Math.min(memberFree[d], units);
+            if (taken > 0) {
+                memberFree[d] -= taken;
+                add(memberIndex, d, -taken);
+                units -= taken;
+            }
+        }
+    }
+
+    // Arbre de Fenwick (indices 1..days)
+
+    private static int[] buildTree(int[] values) {
+        int[] fenwick = new int[values.length + 1];
+        for (int i = 1; i <= values.length; i++) {
+            fenwick[i] += values[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= values.length) {
+                fenwick[parent] += fenwick[i];
+            }
+        }
+        return fenwick;
+    }
+
+    private void add(int memberIndex, int day, int delta) {
+        int[] fenwick = tree[memberIndex];
+        for (int i = day + 1; i < fenwick.length; i += i & -i) {
+            fenwick[i] += delta;
+        }
+    }
+
+    /**
+     * Somme des heures libres des jours 0..day (0 si day < 0)
+     */
+    private int sum(int memberIndex, int day) {
+        int[] fenwick = tree[memberIndex];
+        int total = 0;
+        for (int i = day + 1; i > 0; i -= i & -i) {
+            total += fenwick[i];
+        }
+        return total;
+    }
+
+    private static int toUnits(double hours) {
+        return (int) Math.round(hours * UNITS_PER_HOUR);
+    }
+
+    private static double toHours(int units) {
+        return (double) units / UNITS_PER_HOUR;
+    }
+}
@@ -0,0 +1,48 @@
+package service;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Membres (version différente) ou tâches (titulaire différent) modifiés par une autre affectation
+ * entre la lecture et l'enregistrement d'un résultat : l'enregistrement est annulé,
+ * l'affectation doit être recalculée
+ */
+public class CapacityConflictException extends SQLException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Integer> memberIds;
+    private final List<Integer> taskIds;
+
+    public CapacityConflictException(List<Integer> memberIds) {
+        this(memberIds, Collections.emptyList());
+    }
+
+    public CapacityConflictException(List<Integer> memberIds, List<Integer> taskIds) {
+        super(memberIds.isEmpty()
+                ? "Tâches affectées par une affectation concurrente (tâches " + taskIds + ")"
+                : "Capacité modifiée par une affectation concurrente (membres " + memberIds + ")");
+        this.memberIds = memberIds;
+        this.taskIds = taskIds;
+    }
+
+    /**
+     * Transaction annulée par le serveur (interblocage) après le dernier essai
+     */
+    public CapacityConflictException(SQLException rollback) {
+        super("Affectation concurrente : transaction annulée par le serveur (" + rollback.getMessage() + ")",
+                rollback.getSQLState(), rollback.getErrorCode(), rollback);
+        this.memberIds = Collections.emptyList();
+        this.taskIds = Collections.emptyList();
+    }
+
+    public List<Integer> getMemberIds() {
+        return memberIds;
+    }
+
+    public List<Integer> getTaskIds() {
+        return taskIds;
+    }
+}
@@ -0,0 +1,298 @@
+package service;
+
+import classes.Task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Graphe des dépendances entre tâches (table task_dependency)
+ * - Nœuds = positions des tâches dans la liste ; arc prédécesseur -> successeur
+ * - Adjacence compacte (CSR) : predStart/pred et succStart/succ, tableaux d'int
+ * - Tri topologique de Kahn en O(V + E) ; les nœuds jamais libérés sont dans un cycle
+ *   ou en aval d'un cycle
+ * - Début au plus tôt = max(début planifié, fin des prédécesseurs). La fin d'une tâche est
+ *   exclusive (premier jour libre) : lendemain de sa fin planifiée (bornes incluses, comme
+ *   CapacityCalendar), sinon son début au plus tôt + durée estimée (journées de 8h).
+ * Les dépendances vers des tâches absentes de la liste sont ignorées.
+ */
+public class DependencyGraph {
+
+    static final double HOURS_PER_DAY = 8.0;
+    // Date inconnue (jours epoch)
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final List<Task> tasks;
+    // ID -> position : tableau direct si les IDs sont denses (auto-incrément), sinon HashMap
+    private int minId;
+    private int[] indexById;
+    private Map<Integer, Integer> indexByTaskId;
+    private final int[] predStart;
+    private final int[] pred;
+    private final int[] succStart;
+    private final int[] succ;
+
+    private final boolean[] cyclic;
+    private final long[] earliestStart;
+    private final long[] predecessorsEnd;
+
+    public DependencyGraph(List<Task> tasks) {
+        this.tasks = tasks;
+        int n = tasks.size();
+        buildIdIndex();
+
+        // Comptage puis remplissage des deux tableaux d'adjacence
+        predStart = new int[n + 1];
+        succStart = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            for (Integer dependencyId : tasks.get(v).getDependencyIds()) {
+                int u = indexOf(dependencyId);
+                if (u >= 0) {
+                    predStart[v + 1]++;
+                    succStart[u + 1]++;
+                }
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            predStart[v + 1] += predStart[v];
+            succStart[v + 1] += succStart[v];
+        }
+        pred = new int[predStart[n]];
+        succ = new int[succStart[n]];
+        int[] succFill = new int[n];
+        for (int v = 0; v < n; v++) {
+            int p = predStart[v];
+            for (Integer dependencyId : tasks.get(v).getDependencyIds()) {
+                int u = indexOf(dependencyId);
+                if (u >= 0) {
+                    pred[p++] = u;
+                    succ[succStart[u] + succFill[u]++] = v;
+                }
+            }
+        }
+
+        // Ordre topologique quelconque (file simple, O(V + E)) : cycles et dates au plus tôt
+        int[] order = kahn(null);
+        cyclic = new boolean[n];
+        Arrays.fill(cyclic, true);
+        earliestStart = new long[n];
+        predecessorsEnd = new long[n];
+        long[] finish = new long[n];
+        Arrays.fill(earliestStart, UNKNOWN);
+        Arrays.fill(predecessorsEnd, UNKNOWN);
+        Arrays.fill(finish, UNKNOWN);
+
+        for (int v : order) {
+            cyclic[v] = false;
+            Task task = tasks.get(v);
+            long end = UNKNOWN;
+            for (int i = predStart[v]; i < predStart[v + 1]; i++) {
+                end = Math.max(end, finish[pred[i]]);
+            }
+            predecessorsEnd[v] = end;
+            long start = task.getPlannedStartDate() != null ? task.getPlannedStartDate().toEpochDay() : UNKNOWN;
+            earliestStart[v] = Math.max(start, end);
+            if (task.getPlannedEndDate() != null) {
+                finish[v] = task.getPlannedEndDate().toEpochDay() + 1;
+            } else if (earliestStart[v] != UNKNOWN) {
+                finish[v] = earliestStart[v] + (long) Math.ceil(task.getEstimatedDuration() / HOURS_PER_DAY);
+            }
+        }
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+
+    public int edgeCount() {
+        return pred.length;
+    }
+
+    public Task getTask(int index) {
+        return tasks.get(index);
+    }
+
+    /**
+     * Position de la tâche dans le graphe, -1 si absente
+     */
+    public int indexOf(int taskId) {
+        if (indexById != null) {
+            long offset = (long) taskId - minId;
+            return offset >= 0 && offset < indexById.length ? indexById[(int) offset] : -1;
+        }
+        Integer index = indexByTaskId.get(taskId);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Ordre topologique des tâches hors cycles ; parmi les tâches prêtes,
+     * la plus petite valeur de rank (positive) passe en premier (ordre de priorité)
+     */
+    public int[] topologicalOrder(int[] rank) {
+        return kahn(rank);
+    }
+
+    /**
+     * Vrai si la tâche appartient à un cycle ou dépend (transitivement) d'un cycle
+     */
+    public boolean isCyclic(int index) {
+        return cyclic[index];
+    }
+
+    public List<Task> getCyclicTasks() {
+        List<Task> result = new ArrayList<>();
+        for (int v = 0; v < cyclic.length; v++) {
+            if (cyclic[v]) {
+                result.add(tasks.get(v));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Date de début au plus tôt, null si inconnue (aucune date planifiée en amont, ou cycle)
+     */
+    public LocalDate getEarliestStart(int index) {
+        return toDate(earliestStart[index]);
+    }
+
+    /**
+     * Fin la plus tardive des prédécesseurs (premier jour où la tâche peut commencer),
+     * null si inconnue ou sans prédécesseur
+     */
+    public LocalDate getPredecessorsEnd(int index) {
+        return toDate(predecessorsEnd[index]);
+    }
+
+    /**
+     * Vrai si le début planifié de la tâche précède la fin d'un de ses prédécesseurs
+     */
+    public boolean startsBeforePredecessors(int index) {
+        LocalDate plannedStart = tasks.get(index).getPlannedStartDate();
+        return plannedStart != null && predecessorsEnd[index] != UNKNOWN
+                && plannedStart.toEpochDay() < predecessorsEnd[index];
+    }
+
+    private void buildIdIndex() {
+        int n = tasks.size();
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (Task task : tasks) {
+            min = Math.min(min, task.getId());
+            max = Math.max(max, task.getId());
+        }
+        if (n > 0 && (long) max - min < 4L * n + 16) {
+            minId = min;
+            indexById = new int[max - min + 1];
+            Arrays.fill(indexById, -1);
+            for (int v = 0; v < n; v++) {
+                indexById[tasks.get(v).getId() - min] = v;
+            }
+        } else {
+            indexByTaskId = new HashMap<>();
+            for (int v = 0; v < n; v++) {
+                indexByTaskId.put(tasks.get(v).getId(), v);
+            }
+        }
+    }
+
+    /**
+     * Kahn : file FIFO si rank est null (O(V + E)), sinon tas binaire de clés
+     * (rank << 32 | nœud), O((V + E) log V) sans objet alloué par nœud
+     */
+    private int[] kahn(int[] rank) {
+        int n = tasks.size();
+        int[] inDegree = new int[n];
+        int[] order = new int[n];
+        int count = 0;
+
+        if (rank == null) {
+            // order sert aussi de file : les nœuds y sont ajoutés dès qu'ils sont prêts
+            for (int v = 0; v < n; v++) {
+                inDegree[v] = predStart[v + 1] - predStart[v];
+                if (inDegree[v] == 0) {
+                    order[count++] = v;
+                }
+            }
+            for (int read = 0; read < count; read++) {
+                int v = order[read];
+                for (int i = succStart[v]; i < succStart[v + 1]; i++) {
+                    if (--inDegree[succ[i]] == 0) {
+                        order[count++] = succ[i];
+                    }
+                }
+            }
+            return Arrays.copyOf(order, count);
+        }
+
+        long[] heap = new long[n];
+        int heapSize = 0;
+        for (int v = 0; v < n; v++) {
+            inDegree[v] = predStart[v + 1] - predStart[v];
+            if (inDegree[v] == 0) {
+                heapSize = push(heap, heapSize, key(rank, v));
+            }
+        }
+        while (heapSize > 0) {
+            int v = (int) heap[0];
+            heapSize = pop(heap, heapSize);
+            order[count++] = v;
+            for (int i = succStart[v]; i < succStart[v + 1]; i++) {
+                int w = succ[i];
+                if (--inDegree[w] == 0) {
+                    heapSize = push(heap, heapSize, key(rank, w));
+                }
+            }
+        }
+        return Arrays.copyOf(order, count);
+    }
+
+    private static long key(int[] rank, int v) {
+        return ((long) rank[v] << 32) | v;
+    }
+
+    private static int push(long[] heap, int size, long value) {
+        int i = size;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+        return size + 1;
+    }
+
+    private static int pop(long[] heap, int size) {
+        long last = heap[--size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (size > 0) {
+            heap[i] = last;
+        }
+        return size;
+    }
+
+    private static LocalDate toDate(long epochDay) {
+        return epochDay == UNKNOWN ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
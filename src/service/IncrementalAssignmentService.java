@@ -0,0 +1,94 @@
+package service;
+
+import classes.Alert;
+import classes.Member;
+import classes.Task;
+import dao.MemberDAO;
+
+import java.sql.Connection;
+
+/**
+ * Affectation incrémentale d'une seule tâche (nouvelle ou urgente)
+ * Le candidat est choisi dans l'index en mémoire des membres (MemberDAO.findBestCandidate),
+ * sans recharger tous les membres ni toutes les tâches. Même règle que l'algorithme glouton :
+ * membre disponible et qualifié (niveaux requis compris) ayant le plus d'heures restantes,
+ * s'il en a assez.
+ * Le résultat est enregistré par l'appelant (AssignmentPersistenceService), qui marque
+ * ensuite les membres concernés comme périmés dans l'index.
+ */
+public class IncrementalAssignmentService {
+
+    private MemberDAO memberDAO;
+    private AlertService alertService;
+
+    public IncrementalAssignmentService(Connection connection) {
+        this.memberDAO = new MemberDAO(connection);
+        this.alertService = new AlertService();
+    }
+
+    /**
+     * Place une tâche non assignée, avec les mêmes messages que l'affectation automatique
+     */
+    public AssignmentResult assignTask(Task task) {
+        AssignmentResult result = new AssignmentResult();
+        Member bestMember = memberDAO.findBestCandidate(task);
+
+        if (bestMember == null) {
+            result.addFailedAssignment(task, "Aucun membre avec les compétences requises");
+            result.addMessage("✗ Tâche '" + task.getName() + "' non assignée: aucun membre qualifié disponible");
+        } else if (bestMember.getRemainingHours() < task.getEstimatedDuration()) {
+            result.addFailedAssignment(task,
+                    "Heures insuffisantes: tous les membres qualifiés n'ont pas assez d'heures disponibles");
+            result.addMessage("✗ Tâche '" + task.getName() + "' non assignée: heures insuffisantes (requis: " +
+                    task.getEstimatedDuration() + "h)");
+            result.addAlert(alertService.createOverloadAlert(bestMember, task));
+        } else {
+            applyAssignment(task, bestMember);
+            result.addSuccessfulAssignment(task, bestMember);
+            result.addMessage("✓ Tâche '" + task.getName() + "' assignée à " +
+                    bestMember.getFirstName() + " " + bestMember.getLastName() +
+                    " (heures restantes: " + String.format("%.1f", bestMember.getRemainingHours()) + "h/" +
+                    bestMember.getWeeklyAvailability() + "h)");
+        }
+
+        return result;
+    }
+
+    /**
+     * Réaffecte une tâche urgente (même comportement que TaskAssignmentService.reassignUrgentTask)
+     */
+    public AssignmentResult reassignUrgentTask(Task urgentTask) {
+        AssignmentResult result = new AssignmentResult();
+
+        // Marquer la tâche comme haute priorité
+        urgentTask.setPriority("Haute");
+
+        Member bestMember = memberDAO.findBestCandidate(urgentTask);
+
+        if (bestMember != null && bestMember.getRemainingHours() >= urgentTask.getEstimatedDuration()) {
+            applyAssignment(urgentTask, bestMember);
+            result.addSuccessfulAssignment(urgentTask, bestMember);
+            result.addMessage("✓ Tâche urgente '" + urgentTask.getName() + "' réaffectée à " +
+                    bestMember.getFirstName() + " " + bestMember.getLastName());
+
+            Alert alert = alertService.createUrgentTaskAlert(urgentTask, bestMember);
+            result.addAlert(alert);
+        } else {
+            result.addFailedAssignment(urgentTask, "Aucun membre disponible pour cette tâche urgente");
+            result.addMessage("✗ Impossible d'affecter la tâche urgente");
+        }
+
+        return result;
+    }
+
+    /**
+     * Met à jour la copie du membre pour la réponse (la base est recalculée à l'enregistrement)
+     */
+    private void applyAssignment(Task task, Member member) {
+        double newLoad = member.getCurrentLoad() + task.getEstimatedDuration();
+        member.setCurrentLoad(newLoad);
+        member.setRemainingHours(member.getWeeklyAvailability() - newLoad);
+        member.setAvailable(member.getRemainingHours() > 0);
+        member.getAssignedTasks().add(task);
+    }
+}
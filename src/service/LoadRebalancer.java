@@ -0,0 +1,361 @@
+package service;
+
+import classes.Member;
+import classes.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Rééquilibrage des affectations existantes par recherche locale à budget de temps
+ * - Objectif : variance des charges (current_load) ; la somme des charges ne change pas,
+ *   il suffit donc de minimiser la somme des carrés, tenue à jour incrémentalement
+ * - Déplacement d'une tâche t (durée d) de a vers b : Δ = 2d(l_b - l_a + d)
+ * - Échange de t (sur a) et u (sur b), δ = d_u - d_t : Δ = 2δ(l_a - l_b) + 2δ²
+ *   Chaque mouvement candidat est évalué en O(1), sans recalcul sur tous les membres.
+ *   La moyenne des charges est constante (calculée une fois) ; l'ordre des membres par charge
+ *   est un TreeSet (charge décroissante, position) mis à jour en O(log M) par déplacement.
+ * - Contraintes : le nouveau titulaire possède les compétences requises (niveaux compris)
+ *   et sa charge ne dépasse pas sa disponibilité hebdomadaire après le mouvement ; un membre
+ *   déjà en surcharge peut seulement voir sa charge baisser
+ * - Descente (déplacements, puis échanges) jusqu'à un optimum local, puis perturbation
+ *   aléatoire et nouvelle descente ; la meilleure solution est conservée et renvoyée à
+ *   l'expiration du budget (algorithme "anytime")
+ * Les tâches terminées ne sont pas déplacées.
+ */
+public class LoadRebalancer {
+
+    private static final double EPSILON = 1e-9;
+    // Arrêt anticipé après ce nombre de perturbations sans amélioration
+    private static final int MAX_KICKS_WITHOUT_GAIN = 50;
+
+    private final List<Member> members;
+    private final List<Task> tasks;
+    private final SkillIndex index;
+    private final Random random = new Random(42);
+
+    private final double[] load;
+    private final int[] owner;
+    private final double[] duration;
+    private final BitSet[] qualified;
+    private final double[] capacity;
+    // Tâches par membre : tableau + nombre, slot[t] = position de t dans la liste de son titulaire
+    private final int[][] tasksByMember;
+    private final int[] taskCount;
+    private final int[] slot;
+    private double sumOfSquares;
+    private final double mean;
+    // Positions des membres triées par charge décroissante puis position croissante
+    private final TreeSet<Integer> byLoad;
+
+    private long deadline;
+    private boolean timedOut;
+
+    /**
+     * @param tasks tâches affectées (assigneeId) ; celles dont le titulaire est absent ou
+     *              terminées sont ignorées
+     */
+    public LoadRebalancer(List<Member> members, List<Task> tasks) {
+        this.members = members;
+        this.index = new SkillIndex(members);
+
+        Map<Integer, Integer> memberIndexById = new HashMap<>();
+        for (int m = 0; m < members.size(); m++) {
+            memberIndexById.put(members.get(m).getId(), m);
+        }
+        this.tasks = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        for (Task task : tasks) {
+            Integer m = memberIndexById.get(task.getAssigneeId());
+            if (m != null && !isCompleted(task)) {
+                this.tasks.add(task);
+                owners.add(m);
+            }
+        }
+
+        int n = members.size();
+        int t = this.tasks.size();
+        load = new double[n];
+        capacity = new double[n];
+        double total = 0;
+        for (int m = 0; m < n; m++) {
+            load[m] = members.get(m).getCurrentLoad();
+            capacity[m] = members.get(m).getWeeklyAvailability();
+            sumOfSquares += load[m] * load[m];
+            total += load[m];
+        }
+        mean = n > 0 ? total / n : 0;
+        byLoad = new TreeSet<>((a, b) -> {
+            int cmp = Double.compare(load[b], load[a]);
+            return cmp != 0 ? cmp : Integer.compare(a, b);
+        });
+        for (int m = 0; m < n; m++) {
+            byLoad.add(m);
+        }
+
+        owner = new int[t];
+        duration = new double[t];
+        qualified = new BitSet[t];
+        tasksByMember = new int[n][];
+        taskCount = new int[n];
+        slot = new int[t];
+        Map<BitSet, BitSet> qualifiedByRequirement = new HashMap<>();
+        for (int i = 0; i < t; i++) {
+            Task task = this.tasks.get(i);
+            duration[i] = task.getEstimatedDuration();
+            BitSet required = index.requiredSkills(task);
+            qualified[i] = required == null ? new BitSet()
+                    : qualifiedByRequirement.computeIfAbsent(required, r -> index.qualifiedMembers(task));
+            attach(i, owners.get(i));
+        }
+    }
+
+    /**
+     * Recherche locale pendant au plus timeBudgetMillis ; les tâches déplacées sont les
+     * affectations réussies du résultat (membres mis à jour), prêtes à être enregistrées
+     */
+    public AssignmentResult rebalance(long timeBudgetMillis) {
+        deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        timedOut = false;
+        double initialDeviation = standardDeviation(sumOfSquares);
+
+        int[] bestOwner = owner.clone();
+        double bestSumOfSquares = sumOfSquares;
+        int moves = 0;
+        int kicksWithoutGain = 0;
+
+        while (!timedOut && owner.length > 0) {
+            while (improveOnce()) {
+                moves++;
+            }
+            if (sumOfSquares < bestSumOfSquares - EPSILON) {
+                bestSumOfSquares = sumOfSquares;
+                System.arraycopy(owner, 0, bestOwner, 0, owner.length);
+                kicksWithoutGain = 0;
+            } else if (++kicksWithoutGain > MAX_KICKS_WITHOUT_GAIN) {
+                break;
+            }
+            if (timedOut || bestSumOfSquares <= minimumSumOfSquares() + EPSILON || !perturb()) {
+                break;
+            }
+        }
+
+        restore(bestOwner);
+        return buildResult(initialDeviation, moves);
+    }
+
+    /**
+     * Applique le premier déplacement, ou à défaut le premier échange, qui diminue la variance
+     * (membres parcourus par charge décroissante) ; faux à l'optimum local ou budget épuisé.
+     * Le parcours s'arrête dès qu'un mouvement modifie byLoad.
+     */
+    private boolean improveOnce() {
+        // Déplacements : vers le membre qualifié le moins chargé
+        for (int a : byLoad) {
+            if (load[a] <= mean) {
+                break;
+            }
+            for (int k = 0; k < taskCount[a]; k++) {
+                if (outOfTime()) {
+                    return false;
+                }
+                int t = tasksByMember[a][k];
+                int b = leastLoadedReceiver(t, a);
+                if (b >= 0 && moveDelta(t, b) < -EPSILON) {
+                    move(t, b);
+                    return true;
+                }
+            }
+        }
+
+        // Échanges : une tâche longue de a contre une tâche plus courte d'un membre moins chargé
+        for (int a : byLoad) {
+            if (load[a] <= mean) {
+                break;
+            }
+            for (int k = 0; k < taskCount[a]; k++) {
+                int t = tasksByMember[a][k];
+                for (int b = qualified[t].nextSetBit(0); b >= 0; b = qualified[t].nextSetBit(b + 1)) {
+                    if (outOfTime()) {
+                        return false;
+                    }
+                    if (b == a || load[b] >= load[a]) {
+                        continue;
+                    }
+                    for (int j = 0; j < taskCount[b]; j++) {
+                        int u = tasksByMember[b][j];
+                        double delta = duration[t] - duration[u];
+                        if (delta > 0 && qualified[u].get(a) && fits(b, delta)
+                                && swapDelta(t, u) < -EPSILON) {
+                            move(t, b);
+                            move(u, a);
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Déplacement aléatoire réalisable (sortie d'un optimum local) ; faux si aucun n'existe
+     */
+    private boolean perturb() {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            int t = random.nextInt(owner.length);
+            BitSet targets = qualified[t];
+            int count = targets.cardinality();
+            if (count < 2) {
+                continue;
+            }
+            int b = targets.nextSetBit(0);
+            for (int skip = random.nextInt(count); skip > 0; skip--) {
+                b = targets.nextSetBit(b + 1);
+            }
+            if (b != owner[t] && fits(b, duration[t])) {
+                move(t, b);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int leastLoadedReceiver(int t, int a) {
+        int best = -1;
+        BitSet targets = qualified[t];
+        for (int b = targets.nextSetBit(0); b >= 0; b = targets.nextSetBit(b + 1)) {
+            if (b != a && fits(b, duration[t]) && (best < 0 || load[b] < load[best])) {
+                best = b;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Le membre peut voir sa charge varier de delta : baisse toujours permise, hausse
+     * seulement dans la limite de sa disponibilité hebdomadaire
+     */
+    private boolean fits(int m, double delta) {
+        return delta <= 0 || load[m] + delta <= capacity[m] + EPSILON;
+    }
+
+    private double moveDelta(int t, int b) {
+        double d = duration[t];
+        return 2 * d * (load[b] - load[owner[t]] + d);
+    }
+
+    private double swapDelta(int t, int u) {
+        double delta = duration[u] - duration[t];
+        return 2 * delta * (load[owner[t]] - load[owner[u]]) + 2 * delta * delta;
+    }
+
+    private void move(int t, int b) {
+        int a = owner[t];
+        double d = duration[t];
+        sumOfSquares += 2 * d * (load[b] - load[a] + d);
+        byLoad.remove(a);
+        byLoad.remove(b);
+        load[a] -= d;
+        load[b] += d;
+        byLoad.add(a);
+        byLoad.add(b);
+        detach(t);
+        attach(t, b);
+    }
+
+    private void restore(int[] target) {
+        for (int t = 0; t < target.length; t++) {
+            if (owner[t] != target[t]) {
+                move(t, target[t]);
+            }
+        }
+    }
+
+    private void attach(int t, int m) {
+        if (tasksByMember[m] == null) {
+            tasksByMember[m] = new int[4];
+        } else if (taskCount[m] == tasksByMember[m].length) {
+            tasksByMember[m] = Arrays.copyOf(tasksByMember[m], taskCount[m] * 2);
+        }
+        owner[t] = m;
+        slot[t] = taskCount[m];
+        tasksByMember[m][taskCount[m]++] = t;
+    }
+
+    private void detach(int t) {
+        int m = owner[t];
+        int last = tasksByMember[m][--taskCount[m]];
+        tasksByMember[m][slot[t]] = last;
+        slot[last] = slot[t];
+    }
+
+    private boolean outOfTime() {
+        if (!timedOut && System.nanoTime() > deadline) {
+            timedOut = true;
+        }
+        return timedOut;
+    }
+
+    /**
+     * Somme des carrés d'une répartition parfaitement égale (borne inférieure)
+     */
+    private double minimumSumOfSquares() {
+        return load.length * mean * mean;
+    }
+
+    private double standardDeviation(double squares) {
+        if (load.length == 0) {
+            return 0;
+        }
+        return Math.sqrt(Math.max(0, squares / load.length - mean * mean));
+    }
+
+    private AssignmentResult buildResult(double initialDeviation, int moves) {
+        AssignmentResult result = new AssignmentResult();
+        for (int t = 0; t < owner.length; t++) {
+            Task task = tasks.get(t);
+            Member target = members.get(owner[t]);
+            if (task.getAssigneeId() == target.getId()) {
+                continue;
+            }
+            result.addSuccessfulAssignment(task, target);
+            result.addMessage("↔ Tâche '" + task.getName() + "' déplacée vers " +
+                    target.getFirstName() + " " + target.getLastName() +
+                    " (" + task.getEstimatedDuration() + "h)");
+        }
+
+        // Charges finales sur les membres (réponse et alertes éventuelles)
+        for (int m = 0; m < members.size(); m++) {
+            Member member = members.get(m);
+            member.setCurrentLoad(load[m]);
+            member.setRemainingHours(member.getWeeklyAvailability() - load[m]);
+            member.setAvailable(member.getRemainingHours() > 0);
+        }
+
+        // Somme des carrés recalculée (évite la dérive des mises à jour incrémentales)
+        sumOfSquares = 0;
+        for (double l : load) {
+            sumOfSquares += l * l;
+        }
+        double finalDeviation = standardDeviation(sumOfSquares);
+        result.setAverageLoad(mean);
+        result.setLoadStandardDeviation(finalDeviation);
+        result.addMessage("ℹ Rééquilibrage : " + result.getSuccessCount() + " tâche(s) déplacée(s), écart-type " +
+                String.format("%.2f", initialDeviation) + "h → " + String.format("%.2f", finalDeviation) + "h (" +
+                moves + " amélioration(s), " + (timedOut ? "budget de temps atteint" : "optimum local") + ")");
+        return result;
+    }
+
+    private static boolean isCompleted(Task task) {
+        String status = task.getStatus();
+        return "Terminée".equalsIgnoreCase(status) || "Terminé".equalsIgnoreCase(status)
+                || "Completed".equalsIgnoreCase(status);
+    }
+}
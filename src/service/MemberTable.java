@@ -0,0 +1,163 @@
+package service;
+
+import classes.Member;
+import classes.MemberSkill;
+import classes.Task;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Membres en tableaux parallèles (structure of arrays) pour le calcul des scores
+ * - Positions des membres = celles du SkillIndex (ordre de la liste des membres)
+ * - Charge, heures restantes et disponibilité recopiées des Member à la construction puis
+ *   après chaque affectation (update)
+ * - Niveaux : un tableau par compétence (position dense du SkillIndex), 0 = non possédée
+ * - Équipes : index dense, 0 = sans équipe ; heures affectées par projet et par équipe
+ *   (tâches déjà assignées connues des membres, puis affectations du calcul)
+ */
+public final class MemberTable {
+
+    private final SkillIndex index;
+    private final double[] remaining;
+    private final double[] load;
+    private final double[] weeklyAvailability;
+    private final boolean[] available;
+    private final int[] teamIndex;
+    private final int teamCount;
+    private final byte[][] levelBySkill;
+    private final Map<Integer, double[]> teamHoursByProject = new HashMap<>();
+
+    MemberTable(SkillIndex index) {
+        this.index = index;
+        int n = index.size();
+        remaining = new double[n];
+        load = new double[n];
+        weeklyAvailability = new double[n];
+        available = new boolean[n];
+        teamIndex = new int[n];
+        levelBySkill = new byte[index.skillCount()][n];
+
+        Map<Integer, Integer> teamIndexById = new HashMap<>();
+        for (int m = 0; m < n; m++) {
+            Member member = index.getMember(m);
+            Integer teamId = member.getTeamId();
+            if (teamId != null) {
+                Integer team = teamIndexById.get(teamId);
+                if (team == null) {
+                    team = teamIndexById.size() + 1;
+                    teamIndexById.put(teamId, team);
+                }
+                teamIndex[m] = team;
+            }
+            List<MemberSkill> memberSkills = member.getMemberSkills();
+            if (memberSkills != null) {
+                for (MemberSkill ms : memberSkills) {
+                    int skillId = ms.getSkill() != null ? ms.getSkill().getId() : ms.getSkillId();
+                    levelBySkill[index.positionOf(skillId)][m] = (byte) MemberSkill.clampLevel(ms.getLevel());
+                }
+            }
+            copyLoad(m, member);
+        }
+        teamCount = teamIndexById.size() + 1;
+
+        for (int m = 0; m < n; m++) {
+            for (Task task : index.getMember(m).getAssignedTasks()) {
+                addProjectHours(m, task);
+            }
+        }
+    }
+
+    public int size() {
+        return remaining.length;
+    }
+
+    public double remaining(int member) {
+        return remaining[member];
+    }
+
+    public double load(int member) {
+        return load[member];
+    }
+
+    public double weeklyAvailability(int member) {
+        return weeklyAvailability[member];
+    }
+
+    public boolean isAvailable(int member) {
+        return available[member];
+    }
+
+    /**
+     * Index dense de l'équipe du membre (1..teamCount-1), 0 sans équipe
+     */
+    public int teamIndex(int member) {
+        return teamIndex[member];
+    }
+
+    public int teamCount() {
+        return teamCount;
+    }
+
+    /**
+     * Bits (compétence, niveau) du membre, voir SkillIndex (ne pas modifier)
+     */
+    public BitSet skills(int member) {
+        return index.getSkills(member);
+    }
+
+    /**
+     * Niveau du membre dans la compétence de position donnée, 0 s'il ne la possède pas
+     */
+    public int level(int skillPosition, int member) {
+        return levelBySkill[skillPosition][member];
+    }
+
+    /**
+     * Remplit features pour la tâche (sans allocation une fois les tableaux dimensionnés) ;
+     * les compétences que personne ne possède sont ignorées (aucun candidat de toute façon)
+     */
+    void describe(Task task, TaskFeatures features) {
+        Integer projectId = task.getProjectId();
+        features.reset(task.getEstimatedDuration(), projectId != null ? teamHoursByProject.get(projectId) : null);
+        List<Integer> requiredIds = task.getRequiredSkillIds();
+        if (requiredIds == null) {
+            return;
+        }
+        for (Integer skillId : requiredIds) {
+            int position = index.positionOf(skillId);
+            if (position >= 0) {
+                features.addSkill(position, MemberSkill.clampLevel(task.getRequiredLevel(skillId)));
+            }
+        }
+    }
+
+    /**
+     * Relit la charge du membre après l'affectation de task
+     */
+    void update(int member, Task task) {
+        copyLoad(member, index.getMember(member));
+        addProjectHours(member, task);
+    }
+
+    private void copyLoad(int m, Member member) {
+        remaining[m] = member.getRemainingHours();
+        load[m] = member.getCurrentLoad();
+        weeklyAvailability[m] = member.getWeeklyAvailability();
+        available[m] = member.isAvailable();
+    }
+
+    private void addProjectHours(int m, Task task) {
+        if (task.getProjectId() == null || teamIndex[m] == 0) {
+            return;
+        }
+        double[] hours = teamHoursByProject.get(task.getProjectId());
+        if (hours == null) {
+            hours = new double[teamCount];
+            teamHoursByProject.put(task.getProjectId(), hours);
+        }
+        hours[teamIndex[m]] += task.getEstimatedDuration();
+    }
+}
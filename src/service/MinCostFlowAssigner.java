@@ -0,0 +1,399 @@
+package service;
+
+import classes.Member;
+import classes.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Affectation globale par flot de coût minimum (stratégie "optimal")
+ *
+ * Réseau (capacités en centièmes d'heure) :
+ *   source -> classe   une classe = tâches ayant les mêmes compétences requises ;
+ *                      chaque tâche y apporte sa durée, au coût -(poids de priorité) / durée
+ *   classe -> groupe   un groupe = membres de même signature de compétences couvrant la classe
+ *   groupe -> membre   capacité illimitée
+ *   membre -> puits    capacité = heures restantes (0 si indisponible)
+ *
+ * Seuls les arcs issus de la source portent un coût : les plus courts chemins successifs
+ * reviennent donc à router les tâches par densité de poids décroissante en augmentant le
+ * flot par BFS dans le graphe résiduel (les réaffectations passent par les arcs inverses).
+ * Un nœud qui n'atteint plus le puits ne l'atteindra plus jamais : il est marqué mort.
+ *
+ * Le flot est fractionnaire en heures ; il est arrondi en suivant sa décomposition :
+ * chaque tâche entièrement routée est placée dans un groupe puis sur un membre ayant reçu
+ * assez de flot de sa classe, les tâches restantes sont tentées sur les heures encore libres.
+ * Le plan retenu est le meilleur (somme des poids placés) entre ce plan arrondi et le
+ * glouton simulé : la stratégie n'est jamais moins bonne que l'affectation gloutonne.
+ */
+class MinCostFlowAssigner {
+
+    private static final long UNITS_PER_HOUR = 100;
+    private static final long UNLIMITED = Long.MAX_VALUE / 4;
+
+    private final SkillIndex index;
+    private final long deadlineNanos;
+
+    // Groupes de membres par signature de compétences (partition des membres)
+    private final List<BitSet> signatures = new ArrayList<>();
+    private final List<int[]> groupMembers = new ArrayList<>();
+
+    // Graphe résiduel (listes d'adjacence chaînées dans des tableaux)
+    private int[] head;
+    private int[] next = new int[16];
+    private int[] to = new int[16];
+    private long[] residual = new long[16];
+    private int edgeCount;
+
+    MinCostFlowAssigner(SkillIndex index, long deadlineNanos) {
+        this.index = index;
+        this.deadlineNanos = deadlineNanos;
+
+        Map<BitSet, List<Integer>> membersBySignature = new LinkedHashMap<>();
+        for (int m = 0; m < index.size(); m++) {
+            membersBySignature.computeIfAbsent(index.getSkills(m), s -> new ArrayList<>()).add(m);
+        }
+        for (Map.Entry<BitSet, List<Integer>> entry : membersBySignature.entrySet()) {
+            signatures.add(entry.getKey());
+            groupMembers.add(toArray(entry.getValue()));
+        }
+    }
+
+    /**
+     * Calcule un plan sans modifier les membres : pour chaque position de tâche, position du
+     * membre dans le SkillIndex (-1 si non placée). Les tâches sont fournies dans l'ordre de
+     * priorité du service. Retourne null si le budget de temps est dépassé.
+     */
+    int[] solve(List<Task> tasks, int[] priorityWeights) {
+        int taskCount = tasks.size();
+        int memberCount = index.size();
+
+        // Classes de tâches par compétences requises (-1 : compétence possédée par personne)
+        Map<BitSet, Integer> classByRequirement = new HashMap<>();
+        List<int[]> classGroups = new ArrayList<>();
+        int[] taskClass = new int[taskCount];
+        long[] demand = new long[taskCount];
+        for (int t = 0; t < taskCount; t++) {
+            demand[t] = toUnits(tasks.get(t).getEstimatedDuration());
+            BitSet required = index.requiredSkills(tasks.get(t));
+            if (required == null) {
+                taskClass[t] = -1;
+                continue;
+            }
+            Integer c = classByRequirement.get(required);
+            if (c == null) {
+                c = classGroups.size();
+                classByRequirement.put(required, c);
+                classGroups.add(groupsCovering(required));
+            }
+            taskClass[t] = c;
+        }
+
+        int classCount = classGroups.size();
+        int groupCount = signatures.size();
+        int firstGroup = classCount;
+        int firstMember = classCount + groupCount;
+        int sink = firstMember + memberCount;
+        head = new int[sink + 1];
+        Arrays.fill(head, -1);
+        edgeCount = 0;
+
+        int[][] classGroupEdges = new int[classCount][];
+        for (int c = 0; c < classCount; c++) {
+            int[] groups = classGroups.get(c);
+            classGroupEdges[c] = new int[groups.length];
+            for (int i = 0; i < groups.length; i++) {
+                classGroupEdges[c][i] = addEdge(c, firstGroup + groups[i], UNLIMITED);
+            }
+        }
+        int[] groupMemberEdge = new int[memberCount];
+        for (int g = 0; g < groupCount; g++) {
+            for (int m : groupMembers.get(g)) {
+                groupMemberEdge[m] = addEdge(firstGroup + g, firstMember + m, UNLIMITED);
+            }
+        }
+        for (int m = 0; m < memberCount; m++) {
+            Member member = index.getMember(m);
+            long capacity = member.isAvailable() ? Math.max(0, toUnits(member.getRemainingHours())) : 0;
+            addEdge(firstMember + m, sink, capacity);
+        }
+
+        // Plus courts chemins successifs : tâches par densité de poids décroissante
+        Integer[] byDensity = new Integer[taskCount];
+        for (int t = 0; t < taskCount; t++) {
+            byDensity[t] = t;
+        }
+        Arrays.sort(byDensity, (a, b) -> {
+            int cmp = Double.compare(density(priorityWeights[b], demand[b]), density(priorityWeights[a], demand[a]));
+            return cmp != 0 ? cmp : Integer.compare(a, b);
+        });
+
+        long[] unrouted = demand.clone();
+        boolean[] dead = new boolean[sink + 1];
+        int[] parentEdge = new int[sink + 1];
+        int[] queue = new int[sink + 1];
+        for (int t : byDensity) {
+            if (System.nanoTime() > deadlineNanos) {
+                return null;
+            }
+            if (taskClass[t] < 0) {
+                continue;
+            }
+            while (unrouted[t] > 0 && !dead[taskClass[t]]) {
+                long pushed = augment(taskClass[t], sink, unrouted[t], dead, parentEdge, queue);
+                if (pushed == 0) {
+                    break;
+                }
+                unrouted[t] -= pushed;
+            }
+        }
+
+        // Décomposition du flot : classe -> groupe et groupe -> membre
+        long[][] classGroupFlow = new long[classCount][];
+        for (int c = 0; c < classCount; c++) {
+            classGroupFlow[c] = new long[classGroupEdges[c].length];
+            for (int i = 0; i < classGroupEdges[c].length; i++) {
+                classGroupFlow[c][i] = residual[classGroupEdges[c][i] ^ 1];
+            }
+        }
+        long[] memberFlow = new long[memberCount];
+        for (int m = 0; m < memberCount; m++) {
+            memberFlow[m] = residual[groupMemberEdge[m] ^ 1];
+        }
+
+        Placement rounded = new Placement(tasks, taskClass, classGroups);
+
+        // Arrondi 1 : tâches entièrement routées (plus longues d'abord) dans le groupe ayant
+        // reçu le plus de flot de leur classe, sur le membre du groupe ayant reçu le plus de flot
+        Integer[] byDemand = new Integer[taskCount];
+        for (int t = 0; t < taskCount; t++) {
+            byDemand[t] = t;
+        }
+        Arrays.sort(byDemand, (a, b) -> {
+            int cmp = Long.compare(demand[b], demand[a]);
+            return cmp != 0 ? cmp : Integer.compare(a, b);
+        });
+        for (int t : byDemand) {
+            int c = taskClass[t];
+            if (c < 0 || unrouted[t] > 0) {
+                continue;
+            }
+            int bestGroup = -1;
+            int bestMember = -1;
+            for (int i = 0; i < classGroupFlow[c].length; i++) {
+                if (classGroupFlow[c][i] < demand[t]
+                        || (bestGroup >= 0 && classGroupFlow[c][i] <= classGroupFlow[c][bestGroup])) {
+                    continue;
+                }
+                int m = rounded.pickByFlow(classGroups.get(c)[i], t, demand[t], memberFlow);
+                if (m >= 0) {
+                    bestGroup = i;
+                    bestMember = m;
+                }
+            }
+            if (bestMember >= 0) {
+                classGroupFlow[c][bestGroup] -= demand[t];
+                memberFlow[bestMember] -= demand[t];
+                rounded.place(t, bestMember, priorityWeights);
+            }
+        }
+
+        // Arrondi 2 : tâches restantes, par priorité, sur les heures encore libres
+        if (!rounded.greedyPass(priorityWeights)) {
+            return null;
+        }
+
+        // L'arrondi peut perdre un peu par rapport à l'optimum fractionnaire :
+        // on garde le meilleur des deux plans (flot arrondi / glouton simulé)
+        Placement greedy = new Placement(tasks, taskClass, classGroups);
+        if (!greedy.greedyPass(priorityWeights)) {
+            return null;
+        }
+        return rounded.placedWeight >= greedy.placedWeight ? rounded.plan : greedy.plan;
+    }
+
+    /**
+     * BFS depuis une classe jusqu'au puits dans le graphe résiduel, puis augmentation
+     * d'au plus limit unités. En cas d'échec, tous les nœuds visités sont marqués morts.
+     * @return quantité de flot poussée (0 si aucun chemin)
+     */
+    private long augment(int source, int sink, long limit, boolean[] dead, int[] parentEdge, int[] queue) {
+        boolean[] visited = new boolean[parentEdge.length];
+        int size = 0;
+        queue[size++] = source;
+        visited[source] = true;
+
+        for (int read = 0; read < size && !visited[sink]; read++) {
+            int node = queue[read];
+            for (int e = head[node]; e != -1; e = next[e]) {
+                int target = to[e];
+                if (residual[e] > 0 && !visited[target] && !dead[target]) {
+                    visited[target] = true;
+                    parentEdge[target] = e;
+                    queue[size++] = target;
+                }
+            }
+        }
+
+        if (!visited[sink]) {
+            for (int i = 0; i < size; i++) {
+                dead[queue[i]] = true;
+            }
+            return 0;
+        }
+
+        long bottleneck = limit;
+        for (int node = sink; node != source; node = to[parentEdge[node] ^ 1]) {
+            bottleneck = Math.min(bottleneck, residual[parentEdge[node]]);
+        }
+        for (int node = sink; node != source; node = to[parentEdge[node] ^ 1]) {
+            residual[parentEdge[node]] -= bottleneck;
+            residual[parentEdge[node] ^ 1] += bottleneck;
+        }
+        return bottleneck;
+    }
+
+    private int[] groupsCovering(BitSet required) {
+        List<Integer> matches = new ArrayList<>();
+        for (int g = 0; g < signatures.size(); g++) {
+            BitSet missing = (BitSet) required.clone();
+            missing.andNot(signatures.get(g));
+            if (missing.isEmpty()) {
+                matches.add(g);
+            }
+        }
+        return toArray(matches);
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static double density(int weight, long demand) {
+        return demand > 0 ? (double) weight / demand : Double.MAX_VALUE;
+    }
+
+    private static long toUnits(double hours) {
+        return Math.round(hours * UNITS_PER_HOUR);
+    }
+
+    /**
+     * Ajoute un arc et son arc inverse ; retourne l'indice de l'arc direct (l'inverse est e ^ 1)
+     */
+    private int addEdge(int from, int target, long capacity) {
+        if (edgeCount + 2 > to.length) {
+            int size = to.length * 2;
+            to = Arrays.copyOf(to, size);
+            next = Arrays.copyOf(next, size);
+            residual = Arrays.copyOf(residual, size);
+        }
+        int edge = edgeCount;
+        to[edgeCount] = target;
+        residual[edgeCount] = capacity;
+        next[edgeCount] = head[from];
+        head[from] = edgeCount++;
+
+        to[edgeCount] = from;
+        residual[edgeCount] = 0;
+        next[edgeCount] = head[target];
+        head[target] = edgeCount++;
+        return edge;
+    }
+
+    /**
+     * Simulation des affectations sur des tableaux de travail (comme assignTaskToMember),
+     * sans modifier les membres
+     */
+    private final class Placement {
+        final List<Task> tasks;
+        final int[] taskClass;
+        final List<int[]> classGroups;
+        final double[] load = new double[index.size()];
+        final double[] remaining = new double[index.size()];
+        final boolean[] available = new boolean[index.size()];
+        final boolean[] placed;
+        final int[] plan;
+        long placedWeight;
+
+        Placement(List<Task> tasks, int[] taskClass, List<int[]> classGroups) {
+            this.tasks = tasks;
+            this.taskClass = taskClass;
+            this.classGroups = classGroups;
+            this.placed = new boolean[tasks.size()];
+            this.plan = new int[tasks.size()];
+            Arrays.fill(plan, -1);
+            for (int m = 0; m < index.size(); m++) {
+                Member member = index.getMember(m);
+                load[m] = member.getCurrentLoad();
+                remaining[m] = member.getRemainingHours();
+                available[m] = member.isAvailable();
+            }
+        }
+
+        boolean fits(int t, int m) {
+            return available[m] && remaining[m] >= tasks.get(t).getEstimatedDuration();
+        }
+
+        /**
+         * Membre du groupe ayant reçu le plus de flot (au moins minFlow) et pouvant prendre la tâche
+         */
+        int pickByFlow(int group, int t, long minFlow, long[] memberFlow) {
+            int best = -1;
+            for (int m : groupMembers.get(group)) {
+                if (fits(t, m) && memberFlow[m] >= minFlow && (best < 0 || memberFlow[m] > memberFlow[best])) {
+                    best = m;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Tâches non placées, par priorité, sur le membre éligible ayant le plus d'heures
+         * restantes (premier de la liste en cas d'égalité) : même règle que le glouton.
+         * Retourne false si le budget de temps est dépassé.
+         */
+        boolean greedyPass(int[] priorityWeights) {
+            for (int t = 0; t < tasks.size(); t++) {
+                if (System.nanoTime() > deadlineNanos) {
+                    return false;
+                }
+                if (placed[t] || taskClass[t] < 0) {
+                    continue;
+                }
+                int best = -1;
+                for (int g : classGroups.get(taskClass[t])) {
+                    for (int m : groupMembers.get(g)) {
+                        if (fits(t, m) && (best < 0 || Double.compare(remaining[m], remaining[best]) > 0
+                                || (Double.compare(remaining[m], remaining[best]) == 0 && m < best))) {
+                            best = m;
+                        }
+                    }
+                }
+                if (best >= 0) {
+                    place(t, best, priorityWeights);
+                }
+            }
+            return true;
+        }
+
+        void place(int t, int m, int[] priorityWeights) {
+            Task task = tasks.get(t);
+            load[m] += task.getEstimatedDuration();
+            remaining[m] = index.getMember(m).getWeeklyAvailability() - load[m];
+            available[m] = remaining[m] > 0;
+            plan[t] = m;
+            placed[t] = true;
+            placedWeight += priorityWeights[t];
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package service;
+
+import classes.Alert;
+import classes.Member;
+import classes.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Affectation automatique partitionnée, exécutée en parallèle sur un ForkJoinPool
+ *
+ * Partitionnement :
+ * - SKILLS : composantes connexes du graphe tâche -> membres qualifiés, de taille bornée
+ *   (membres / parallélisme), regroupées en partitions. Une exigence dont les membres qualifiés
+ *   relieraient des composantes au-delà de la borne (exigence vide, compétence très répandue)
+ *   ne les relie pas : ses tâches sont restreintes aux membres d'une seule partition, choisie
+ *   comme en partitionnement par équipe. Avec la stratégie TEAM_AFFINITY, les membres d'une
+ *   même équipe sont d'abord réunis (une équipe n'est jamais coupée). Le résultat est identique
+ *   au glouton séquentiel lorsqu'aucune exigence n'est ainsi large (toujours le cas avec un
+ *   parallélisme de 1), quelle que soit la stratégie.
+ * - TEAM : une partition par équipe (team_id) ; chaque tâche est confiée à l'équipe ayant des
+ *   membres qualifiés et la plus grande capacité restante estimée. Heuristique : les tâches
+ *   non placées dans leur équipe sont reprises par la passe finale.
+ *
+ * Chaque partition est traitée par l'algorithme glouton habituel (membres disjoints, donc
+ * sans synchronisation) ; les résultats sont fusionnés puis une passe finale sur tous les
+ * membres traite les restes, et l'équilibre des charges est vérifié une seule fois.
+ */
+public class ParallelAssignmentService {
+
+    public enum Partitioning {
+        SKILLS, TEAM
+    }
+
+    // Partitions SKILLS par thread du pool (équilibrage entre threads)
+    private static final int PARTITIONS_PER_THREAD = 2;
+
+    private final List<Member> members;
+    private final List<Task> tasks;
+    private final ForkJoinPool pool;
+    private List<Task> predecessorTasks = new ArrayList<>();
+    private AssignmentStrategy strategy = ScoringStrategy.LEAST_LOADED;
+
+    public ParallelAssignmentService(List<Member> members, List<Task> tasks) {
+        this(members, tasks, ForkJoinPool.commonPool());
+    }
+
+    public ParallelAssignmentService(List<Member> members, List<Task> tasks, ForkJoinPool pool) {
+        this.members = members;
+        this.tasks = tasks;
+        this.pool = pool;
+    }
+
+    public AssignmentResult assignTasks(Partitioning partitioning) {
+        TaskAssignmentService global = new TaskAssignmentService(members, tasks);
+        global.setPredecessorTasks(predecessorTasks);
+        global.setStrategy(strategy);
+        AssignmentResult result = new AssignmentResult();
+
+        List<Task> unassignedTasks = global.getUnassignedTasks();
+        if (unassignedTasks.isEmpty()) {
+            result.addMessage("Aucune tâche à assigner.");
+            return result;
+        }
+        // Priorité + ordre topologique ; l'ordre est conservé dans chaque partition
+        List<Task> sortedTasks = global.orderTasks(unassignedTasks, result);
+
+        // Découpage (les tâches sans membre qualifié vont directement à la passe finale)
+        SkillIndex index = new SkillIndex(members);
+        List<Task> leftovers = new ArrayList<>();
+        int[] wide = new int[1];
+        List<Partition> partitions = partitioning == Partitioning.TEAM
+                ? partitionByTeam(index, sortedTasks, leftovers)
+                : partitionBySkills(index, sortedTasks, leftovers, wide);
+
+        // Résolution parallèle des partitions
+        List<PartitionRun> runs = new ArrayList<>();
+        for (Partition partition : partitions) {
+            runs.add(new PartitionRun(partition, strategy));
+        }
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                ForkJoinTask.invokeAll(runs);
+                return null;
+            }
+        });
+
+        // Fusion : un message par tâche placée, dans l'ordre de la partition
+        Map<Integer, String> messageByTaskId = new HashMap<>();
+        for (PartitionRun run : runs) {
+            AssignmentResult partial = run.getRawResult();
+            int message = 0;
+            for (Task task : run.partition.tasks) {
+                Member member = partial.getAssignee(task.getId());
+                if (member != null) {
+                    result.addSuccessfulAssignment(task, member);
+                    messageByTaskId.put(task.getId(), partial.getMessages().get(message++));
+                }
+            }
+            leftovers.addAll(run.leftovers);
+            for (Alert alert : partial.getAlerts()) {
+                result.addAlert(alert);
+            }
+        }
+
+        // Passe finale sur l'ensemble des membres pour les restes
+        // (dans l'ordre global : priorité et dépendances)
+        Map<Integer, Integer> positionByTaskId = new HashMap<>();
+        for (int i = 0; i < sortedTasks.size(); i++) {
+            positionByTaskId.put(sortedTasks.get(i).getId(), i);
+        }
+        List<Task> sortedLeftovers = new ArrayList<>(leftovers);
+        sortedLeftovers.sort((t1, t2) -> Integer.compare(positionByTaskId.get(t1.getId()), positionByTaskId.get(t2.getId())));
+        AssignmentResult finalPass = new AssignmentResult();
+        global.assignSortedTasks(sortedLeftovers, finalPass, null);
+        for (int i = 0; i < sortedLeftovers.size(); i++) {
+            Task task = sortedLeftovers.get(i);
+            messageByTaskId.put(task.getId(), finalPass.getMessages().get(i));
+            Member member = finalPass.getAssignee(task.getId());
+            if (member != null) {
+                result.addSuccessfulAssignment(task, member);
+            } else {
+                result.addFailedAssignment(task, finalPass.getFailedAssignments().get(task.getId()));
+            }
+        }
+        for (Alert alert : finalPass.getAlerts()) {
+            result.addAlert(alert);
+        }
+
+        // Messages dans l'ordre global de priorité, comme en séquentiel
+        for (Task task : sortedTasks) {
+            String message = messageByTaskId.get(task.getId());
+            if (message != null) {
+                result.addMessage(message);
+            }
+        }
+        result.addMessage("ℹ " + partitions.size() + " partition(s) traitée(s) en parallèle, " +
+                sortedLeftovers.size() + " tâche(s) reprise(s) en passe finale" +
+                (wide[0] > 0 ? ", " + wide[0] + " tâche(s) à exigence large restreinte(s) à une partition" : ""));
+
+        global.checkLoadBalance(result);
+        return result;
+    }
+
+    /**
+     * Voir TaskAssignmentService.setPredecessorTasks
+     */
+    public void setPredecessorTasks(List<Task> predecessorTasks) {
+        this.predecessorTasks = predecessorTasks != null ? predecessorTasks : new ArrayList<>();
+    }
+
+    /**
+     * Voir TaskAssignmentService.setStrategy (appliquée dans chaque partition et en passe finale)
+     */
+    public void setStrategy(AssignmentStrategy strategy) {
+        this.strategy = strategy != null ? strategy : ScoringStrategy.LEAST_LOADED;
+    }
+
+    /**
+     * Composantes connexes (union-find) de taille bornée, regroupées en partitions
+     * - Les exigences distinctes, de la plus étroite (moins de membres qualifiés) à la plus large,
+     *   relient leurs membres qualifiés si la composante obtenue ne dépasse pas la borne
+     * - Les composantes sont réparties en au plus PARTITIONS_PER_THREAD × parallélisme
+     *   partitions (la plus grande d'abord, dans la partition la moins remplie)
+     * - Une tâche d'exigence refusée (large) va à la partition ayant des membres qualifiés et la
+     *   plus grande capacité restante estimée, comme en partitionnement par équipe
+     *   (wide[0] : nombre de ces tâches)
+     */
+    private List<Partition> partitionBySkills(SkillIndex index, List<Task> sortedTasks, List<Task> leftovers,
+            int[] wide) {
+        int memberCount = index.size();
+        int[] parent = new int[memberCount];
+        int[] size = new int[memberCount];
+        for (int m = 0; m < memberCount; m++) {
+            parent[m] = m;
+            size[m] = 1;
+        }
+        int parallelism = pool.getParallelism();
+        int maxComponentSize = Math.max(1, (memberCount + parallelism - 1) / parallelism);
+
+        // TEAM_AFFINITY lit les heures de chaque équipe sur le projet de la tâche : une équipe n'est
+        // jamais coupée entre deux partitions (même si elle dépasse la borne), sinon ses heures
+        // seraient celles de ses seuls membres présents dans la partition
+        if (strategy == ScoringStrategy.TEAM_AFFINITY) {
+            Map<Integer, Integer> firstMemberByTeam = new HashMap<>();
+            for (int m = 0; m < memberCount; m++) {
+                Integer teamId = index.getMember(m).getTeamId();
+                if (teamId != null) {
+                    Integer first = firstMemberByTeam.putIfAbsent(teamId, m);
+                    if (first != null) {
+                        union(parent, size, first, m);
+                    }
+                }
+            }
+        }
+
+        // Exigences distinctes numérotées (une seule recherche par tâche), membres qualifiés de chacune
+        Map<BitSet, Integer> idByRequirement = new HashMap<>();
+        List<BitSet> qualifiedById = new ArrayList<>();
+        int[] requirementByPosition = new int[sortedTasks.size()];
+        for (int t = 0; t < sortedTasks.size(); t++) {
+            Task task = sortedTasks.get(t);
+            BitSet required = index.requiredSkills(task);
+            Integer id = required != null ? idByRequirement.get(required) : null;
+            if (required != null && id == null) {
+                id = qualifiedById.size();
+                idByRequirement.put(required, id);
+                qualifiedById.add(index.qualifiedMembers(task));
+            }
+            if (id != null && !qualifiedById.get(id).isEmpty()) {
+                requirementByPosition[t] = id;
+            } else {
+                requirementByPosition[t] = -1;
+                leftovers.add(task);
+            }
+        }
+
+        // Ordre croissant du nombre de membres qualifiés (puis du numéro) : (nombre << 32) | numéro
+        int requirementCount = qualifiedById.size();
+        long[] byWidth = new long[requirementCount];
+        for (int r = 0; r < requirementCount; r++) {
+            byWidth[r] = ((long) qualifiedById.get(r).cardinality() << 32) | r;
+        }
+        Arrays.sort(byWidth);
+        boolean[] linked = new boolean[requirementCount];
+        int[] seenRoot = new int[memberCount];
+        int stamp = 0;
+        for (long entry : byWidth) {
+            int r = (int) entry;
+            BitSet qualified = qualifiedById.get(r);
+            int first = qualified.nextSetBit(0);
+            if (first < 0) {
+                continue;
+            }
+            // Taille de la composante qui résulterait de l'exigence
+            stamp++;
+            int merged = 0;
+            for (int m = first; m >= 0 && merged <= maxComponentSize; m = qualified.nextSetBit(m + 1)) {
+                int root = find(parent, m);
+                if (seenRoot[root] != stamp) {
+                    seenRoot[root] = stamp;
+                    merged += size[root];
+                }
+            }
+            if (merged <= maxComponentSize) {
+                for (int m = qualified.nextSetBit(first + 1); m >= 0; m = qualified.nextSetBit(m + 1)) {
+                    union(parent, size, first, m);
+                }
+                linked[r] = true;
+            }
+        }
+
+        // Composantes -> partitions
+        List<Integer> roots = new ArrayList<>();
+        for (int m = 0; m < memberCount; m++) {
+            if (find(parent, m) == m) {
+                roots.add(m);
+            }
+        }
+        roots.sort((r1, r2) -> Integer.compare(size[r2], size[r1]));
+        int partitionCount = Math.min(roots.size(), PARTITIONS_PER_THREAD * parallelism);
+        List<Partition> partitions = new ArrayList<>(partitionCount);
+        for (int p = 0; p < partitionCount; p++) {
+            partitions.add(new Partition());
+        }
+        int[] filled = new int[partitionCount];
+        int[] partitionOfRoot = new int[memberCount];
+        for (int root : roots) {
+            int target = 0;
+            for (int p = 1; p < partitionCount; p++) {
+                if (filled[p] < filled[target]) {
+                    target = p;
+                }
+            }
+            partitionOfRoot[root] = target;
+            filled[target] += size[root];
+        }
+        int[] partitionOfMember = new int[memberCount];
+        BitSet[] membersOfPartition = new BitSet[partitionCount];
+        for (int p = 0; p < partitionCount; p++) {
+            membersOfPartition[p] = new BitSet(memberCount);
+        }
+        double[] freeHours = new double[partitionCount];
+        for (int m = 0; m < memberCount; m++) {
+            Member member = index.getMember(m);
+            int p = partitionOfRoot[find(parent, m)];
+            partitionOfMember[m] = p;
+            membersOfPartition[p].set(m);
+            partitions.get(p).members.add(member);
+            freeHours[p] += member.isAvailable() ? Math.max(0, member.getRemainingHours()) : 0;
+        }
+
+        // Partitions ayant des membres qualifiés, par exigence large
+        BitSet[] eligibleByRequirement = new BitSet[requirementCount];
+        for (int t = 0; t < sortedTasks.size(); t++) {
+            int r = requirementByPosition[t];
+            if (r < 0) {
+                continue;
+            }
+            Task task = sortedTasks.get(t);
+            BitSet qualified = qualifiedById.get(r);
+            int target;
+            if (linked[r]) {
+                target = partitionOfMember[qualified.nextSetBit(0)];
+            } else {
+                BitSet eligible = eligibleByRequirement[r];
+                if (eligible == null) {
+                    eligible = new BitSet(partitionCount);
+                    for (int p = 0; p < partitionCount; p++) {
+                        if (qualified.intersects(membersOfPartition[p])) {
+                            eligible.set(p);
+                        }
+                    }
+                    eligibleByRequirement[r] = eligible;
+                }
+                target = eligible.nextSetBit(0);
+                for (int p = eligible.nextSetBit(target + 1); p >= 0; p = eligible.nextSetBit(p + 1)) {
+                    if (freeHours[p] > freeHours[target]) {
+                        target = p;
+                    }
+                }
+                wide[0]++;
+            }
+            partitions.get(target).tasks.add(task);
+            freeHours[target] -= task.getEstimatedDuration();
+        }
+
+        List<Partition> nonEmpty = new ArrayList<>();
+        for (Partition partition : partitions) {
+            if (!partition.tasks.isEmpty()) {
+                nonEmpty.add(partition);
+            }
+        }
+        return nonEmpty;
+    }
+
+    /**
+     * Partitions par équipe ; chaque tâche va à l'équipe qualifiée de plus grande capacité restante estimée
+     */
+    private List<Partition> partitionByTeam(SkillIndex index, List<Task> sortedTasks, List<Task> leftovers) {
+        Map<Integer, Integer> teamOfMember = new HashMap<>();
+        Map<Integer, Partition> byTeam = new LinkedHashMap<>();
+        Map<Integer, Double> freeHours = new HashMap<>();
+        for (int m = 0; m < index.size(); m++) {
+            Member member = index.getMember(m);
+            int team = member.getTeamId() != null ? member.getTeamId() : -1;
+            teamOfMember.put(m, team);
+            byTeam.computeIfAbsent(team, t -> new Partition()).members.add(member);
+            double free = member.isAvailable() ? Math.max(0, member.getRemainingHours()) : 0;
+            freeHours.merge(team, free, Double::sum);
+        }
+
+        Map<BitSet, List<Integer>> teamsByRequirement = new HashMap<>();
+        for (Task task : sortedTasks) {
+            BitSet required = index.requiredSkills(task);
+            List<Integer> eligibleTeams = required == null ? new ArrayList<>()
+                    : teamsByRequirement.computeIfAbsent(required, r -> {
+                        List<Integer> teams = new ArrayList<>();
+                        BitSet qualified = index.qualifiedMembers(task);
+                        for (int m = qualified.nextSetBit(0); m >= 0; m = qualified.nextSetBit(m + 1)) {
+                            if (!teams.contains(teamOfMember.get(m))) {
+                                teams.add(teamOfMember.get(m));
+                            }
+                        }
+                        return teams;
+                    });
+
+            Integer bestTeam = null;
+            for (Integer team : eligibleTeams) {
+                int cmp = bestTeam == null ? 1 : Double.compare(freeHours.get(team), freeHours.get(bestTeam));
+                if (cmp > 0 || (cmp == 0 && team < bestTeam)) {
+                    bestTeam = team;
+                }
+            }
+            if (bestTeam == null) {
+                leftovers.add(task);
+            } else {
+                byTeam.get(bestTeam).tasks.add(task);
+                freeHours.merge(bestTeam, -task.getEstimatedDuration(), Double::sum);
+            }
+        }
+
+        List<Partition> partitions = new ArrayList<>();
+        for (Partition partition : byTeam.values()) {
+            if (!partition.tasks.isEmpty()) {
+                partitions.add(partition);
+            }
+        }
+        return partitions;
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static void union(int[] parent, int[] size, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            int root = Math.min(rootA, rootB);
+            parent[Math.max(rootA, rootB)] = root;
+            size[root] = size[rootA] + size[rootB];
+        }
+    }
+
+    /**
+     * Sous-problème : membres disjoints des autres partitions, tâches triées par priorité
+     */
+    private static final class Partition {
+        final List<Member> members = new ArrayList<>();
+        final List<Task> tasks = new ArrayList<>();
+    }
+
+    private static final class PartitionRun extends RecursiveTask<AssignmentResult> {
+        private static final long serialVersionUID = 1L;
+
+        final Partition partition;
+        final AssignmentStrategy strategy;
+        final List<Task> leftovers = new ArrayList<>();
+
+        PartitionRun(Partition partition, AssignmentStrategy strategy) {
+            this.partition = partition;
+            this.strategy = strategy;
+        }
+
+        @Override
+        protected AssignmentResult compute() {
+            AssignmentResult partial = new AssignmentResult();
+            TaskAssignmentService service = new TaskAssignmentService(partition.members, partition.tasks);
+            service.setStrategy(strategy);
+            service.assignSortedTasks(partition.tasks, partial, leftovers);
+            return partial;
+        }
+    }
+}
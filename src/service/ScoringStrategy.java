@@ -0,0 +1,65 @@
+package service;
+
+/**
+ * Stratégies d'affectation fournies (paramètre scoring de POST /api/assignment/auto)
+ */
+public enum ScoringStrategy implements AssignmentStrategy {
+
+    /**
+     * Plus d'heures restantes (règle historique)
+     */
+    LEAST_LOADED("least-loaded") {
+        @Override
+        public double score(MemberTable members, int member, TaskFeatures task) {
+            return members.remaining(member);
+        }
+    },
+
+    /**
+     * Niveaux les plus proches des niveaux requis : les experts restent libres pour les
+     * tâches qui les exigent
+     */
+    BEST_SKILL_FIT("best-skill-fit") {
+        @Override
+        public double score(MemberTable members, int member, TaskFeatures task) {
+            int surplus = 0;
+            for (int i = 0; i < task.skillCount(); i++) {
+                surplus += members.level(task.skillPosition(i), member) - task.requiredLevel(i);
+            }
+            return -surplus;
+        }
+    },
+
+    /**
+     * Équipe ayant déjà le plus d'heures sur le projet de la tâche (le travail d'un projet
+     * reste groupé dans une équipe)
+     */
+    TEAM_AFFINITY("team-affinity") {
+        @Override
+        public double score(MemberTable members, int member, TaskFeatures task) {
+            return task.projectHoursOfTeam(members.teamIndex(member));
+        }
+    };
+
+    private final String parameterName;
+
+    ScoringStrategy(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    /**
+     * Stratégie d'un paramètre de requête ; null si inconnue
+     */
+    public static ScoringStrategy fromParameter(String name) {
+        for (ScoringStrategy strategy : values()) {
+            if (strategy.parameterName.equals(name)) {
+                return strategy;
+            }
+        }
+        return null;
+    }
+}
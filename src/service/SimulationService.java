@@ -0,0 +1,132 @@
+package service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulation d'affectations (what-if) sans aucune écriture en base
+ * La situation de référence (instantané seul) et chaque scénario sont résolus par
+ * TaskAssignmentService sur leurs propres listes de travail (AssignmentSnapshot.view), en
+ * parallèle sur un ForkJoinPool ; chaque scénario est comparé à la référence (AssignmentDiff).
+ */
+public class SimulationService {
+
+    public enum Strategy {
+        GREEDY, OPTIMAL, CALENDAR
+    }
+
+    private final AssignmentSnapshot snapshot;
+    private final ForkJoinPool pool;
+    private Strategy strategy = Strategy.GREEDY;
+    private long timeBudgetMillis = 2000;
+    private LocalDate today = LocalDate.now();
+
+    public SimulationService(AssignmentSnapshot snapshot) {
+        this(snapshot, ForkJoinPool.commonPool());
+    }
+
+    public SimulationService(AssignmentSnapshot snapshot, ForkJoinPool pool) {
+        this.snapshot = snapshot;
+        this.pool = pool;
+    }
+
+    /**
+     * Résout la référence puis les scénarios ; le premier résultat est la référence (scénario null)
+     */
+    public List<Outcome> simulate(List<AssignmentSnapshot.Scenario> scenarios) {
+        List<Run> runs = new ArrayList<>();
+        runs.add(new Run(null));
+        for (AssignmentSnapshot.Scenario scenario : scenarios) {
+            runs.add(new Run(scenario));
+        }
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                ForkJoinTask.invokeAll(runs);
+                return null;
+            }
+        });
+
+        AssignmentResult baseline = runs.get(0).getRawResult();
+        List<Outcome> outcomes = new ArrayList<>();
+        outcomes.add(new Outcome(null, baseline, AssignmentDiff.between(baseline, baseline)));
+        for (int i = 1; i < runs.size(); i++) {
+            AssignmentResult result = runs.get(i).getRawResult();
+            outcomes.add(new Outcome(runs.get(i).scenario, result, AssignmentDiff.between(baseline, result)));
+        }
+        return outcomes;
+    }
+
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    public void setToday(LocalDate today) {
+        this.today = today;
+    }
+
+    private AssignmentResult solve(AssignmentSnapshot.Scenario scenario) {
+        AssignmentSnapshot.View view = snapshot.view(scenario);
+        TaskAssignmentService service = new TaskAssignmentService(view.members, view.tasks);
+        service.setPredecessorTasks(snapshot.getPredecessorTasks());
+        switch (strategy) {
+            case OPTIMAL:
+                return service.assignTasksOptimally(timeBudgetMillis);
+            case CALENDAR:
+                service.setCapacityCalendar(CapacityCalendar.forTasks(view.members, view.tasks, today));
+                return service.assignTasksAutomatically();
+            default:
+                return service.assignTasksAutomatically();
+        }
+    }
+
+    /**
+     * Résultat d'un scénario et ses écarts avec la référence
+     */
+    public static final class Outcome {
+        private final AssignmentSnapshot.Scenario scenario;
+        private final AssignmentResult result;
+        private final AssignmentDiff diff;
+
+        Outcome(AssignmentSnapshot.Scenario scenario, AssignmentResult result, AssignmentDiff diff) {
+            this.scenario = scenario;
+            this.result = result;
+            this.diff = diff;
+        }
+
+        public AssignmentSnapshot.Scenario getScenario() {
+            return scenario;
+        }
+
+        public AssignmentResult getResult() {
+            return result;
+        }
+
+        public AssignmentDiff getDiff() {
+            return diff;
+        }
+    }
+
+    private final class Run extends RecursiveTask<AssignmentResult> {
+        private static final long serialVersionUID = 1L;
+
+        final AssignmentSnapshot.Scenario scenario;
+
+        Run(AssignmentSnapshot.Scenario scenario) {
+            this.scenario = scenario;
+        }
+
+        @Override
+        protected AssignmentResult compute() {
+            return solve(scenario);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package service;
+
+import classes.Member;
+import classes.MemberSkill;
+import classes.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index des compétences des membres pour le matching des tâches, niveaux compris
+ * - Chaque skill ID reçoit une position dense ; un bit par (position, niveau) :
+ *   bit position * MAX_LEVEL + niveau - 1 = "possède la compétence au niveau >= niveau"
+ * - Par membre : BitSet de ces bits (un membre de niveau 3 a les bits des niveaux 1 à 3) ;
+ *   une exigence n'a que le bit de son niveau requis (task_skill.required_level), le test
+ *   de qualification reste donc une inclusion de BitSets
+ * - Par compétence : membres triés par niveau décroissant ; "niveau >= L" est un préfixe
+ *   trouvé par recherche dichotomique, converti en BitSet à la première demande
+ * Les candidats d'une tâche sont l'intersection des BitSets (compétence, niveau) requis.
+ */
+public class SkillIndex {
+
+    private static final int LEVELS = MemberSkill.MAX_LEVEL;
+
+    private final List<Member> members;
+    private final Map<Integer, Integer> positionBySkillId = new HashMap<>();
+    private final BitSet[] skillsByMember;
+    // Par position de compétence : membres et niveaux, niveau décroissant puis position croissante
+    private final List<int[]> membersBySkill = new ArrayList<>();
+    private final List<int[]> levelsBySkill = new ArrayList<>();
+    private final Map<Integer, BitSet> membersByLevelBit = new HashMap<>();
+    private final Map<Member, Integer> indexByMember = new IdentityHashMap<>();
+
+    public SkillIndex(List<Member> members) {
+        this.members = members;
+        this.skillsByMember = new BitSet[members.size()];
+
+        // Clés (MAX_LEVEL - niveau) << 32 | membre : le tri donne l'ordre par niveau décroissant
+        List<List<Long>> postings = new ArrayList<>();
+        for (int m = 0; m < members.size(); m++) {
+            BitSet skills = new BitSet();
+            List<MemberSkill> memberSkills = members.get(m).getMemberSkills();
+            if (memberSkills != null) {
+                for (MemberSkill ms : memberSkills) {
+                    int skillId = ms.getSkill() != null ? ms.getSkill().getId() : ms.getSkillId();
+                    int position = positionFor(skillId, postings);
+                    int level = MemberSkill.clampLevel(ms.getLevel());
+                    skills.set(position * LEVELS, position * LEVELS + level);
+                    postings.get(position).add(((long) (LEVELS - level) << 32) | m);
+                }
+            }
+            skillsByMember[m] = skills;
+            indexByMember.put(members.get(m), m);
+        }
+
+        for (List<Long> posting : postings) {
+            long[] keys = new long[posting.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = posting.get(i);
+            }
+            Arrays.sort(keys);
+            int[] skillMembers = new int[keys.length];
+            int[] skillLevels = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                skillMembers[i] = (int) keys[i];
+                skillLevels[i] = LEVELS - (int) (keys[i] >>> 32);
+            }
+            membersBySkill.add(skillMembers);
+            levelsBySkill.add(skillLevels);
+        }
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public Member getMember(int index) {
+        return members.get(index);
+    }
+
+    /**
+     * Position du membre dans la liste indexée (comparaison par référence), -1 si absent
+     */
+    public int indexOf(Member member) {
+        Integer index = indexByMember.get(member);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Nombre de compétences distinctes possédées par au moins un membre
+     */
+    public int skillCount() {
+        return positionBySkillId.size();
+    }
+
+    /**
+     * Position dense d'une compétence, -1 si aucun membre ne la possède
+     */
+    public int positionOf(int skillId) {
+        Integer position = positionBySkillId.get(skillId);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Compétences du membre (ne pas modifier)
+     */
+    public BitSet getSkills(int memberIndex) {
+        return skillsByMember[memberIndex];
+    }
+
+    /**
+     * Compétences requises par la tâche (bit du niveau requis de chaque compétence),
+     * ou null si une compétence requise n'est possédée par aucun membre
+     */
+    public BitSet requiredSkills(Task task) {
+        BitSet required = new BitSet();
+        List<Integer> requiredIds = task.getRequiredSkillIds();
+        if (requiredIds == null) {
+            return required;
+        }
+        for (Integer skillId : requiredIds) {
+            Integer position = positionBySkillId.get(skillId);
+            if (position == null) {
+                return null;
+            }
+            required.set(position * LEVELS + MemberSkill.clampLevel(task.getRequiredLevel(skillId)) - 1);
+        }
+        return required;
+    }
+
+    /**
+     * Membres possédant toutes les compétences requises au niveau requis
+     * (positions dans la liste des membres)
+     */
+    public BitSet qualifiedMembers(Task task) {
+        return qualifiedMembers(requiredSkills(task));
+    }
+
+    /**
+     * Membres couvrant une exigence déjà calculée par requiredSkills (null = aucun)
+     */
+    public BitSet qualifiedMembers(BitSet required) {
+        BitSet candidates = new BitSet(members.size());
+        if (required == null) {
+            return candidates;
+        }
+        candidates.set(0, members.size());
+        for (int bit = required.nextSetBit(0); bit >= 0 && !candidates.isEmpty(); bit = required.nextSetBit(bit + 1)) {
+            candidates.and(membersAtLevel(bit));
+        }
+        return candidates;
+    }
+
+    /**
+     * Membres ayant la compétence au niveau du bit ou plus : préfixe de la liste triée par niveau
+     */
+    private BitSet membersAtLevel(int levelBit) {
+        BitSet cached = membersByLevelBit.get(levelBit);
+        if (cached == null) {
+            int[] skillMembers = membersBySkill.get(levelBit / LEVELS);
+            int[] skillLevels = levelsBySkill.get(levelBit / LEVELS);
+            int minLevel = levelBit % LEVELS + 1;
+            // Premier indice dont le niveau est < minLevel (niveaux décroissants)
+            int low = 0;
+            int high = skillLevels.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (skillLevels[mid] >= minLevel) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            cached = new BitSet(members.size());
+            for (int i = 0; i < low; i++) {
+                cached.set(skillMembers[i]);
+            }
+            membersByLevelBit.put(levelBit, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Test d'inclusion : required ⊆ compétences du membre
+     */
+    public boolean hasSkills(int memberIndex, BitSet required) {
+        if (required == null) {
+            return false;
+        }
+        BitSet missing = (BitSet) required.clone();
+        missing.andNot(skillsByMember[memberIndex]);
+        return missing.isEmpty();
+    }
+
+    private int positionFor(int skillId, List<List<Long>> postings) {
+        Integer position = positionBySkillId.get(skillId);
+        if (position == null) {
+            position = positionBySkillId.size();
+            positionBySkillId.put(skillId, position);
+            postings.add(new ArrayList<>());
+        }
+        return position;
+    }
+}
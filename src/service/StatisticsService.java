@@ -213,16 +213,12 @@ public class StatisticsService {
         
         TaskDAO taskDAO = new TaskDAO(connection);
         MemberDAO memberDAO = new MemberDAO(connection);
-        MemberSkillDAO memberSkillDAO = new MemberSkillDAO(connection);
         SkillDAO skillDAO = new SkillDAO(connection);
         
+        // Required skill IDs are batch-loaded with the tasks
         List<Task> tasks = taskDAO.getAllTasks();
-        List<Member> members = memberDAO.getAllMembers();
-        
-        // Load skills for all members
-        for (Member member : members) {
-            loadMemberSkills(member, memberSkillDAO, skillDAO);
-        }
+        // Members with their skills loaded in a single joined query
+        List<Member> members = memberDAO.getAllMembersWithSkills();
         
         // Task details with assignment info
         List<Map<String, Object>> taskDetails = new ArrayList<>();
@@ -236,9 +232,15 @@ public class StatisticsService {
             td.put("assigneeId", task.getAssigneeId());
             td.put("assigned", task.getAssigneeId() > 0);
             
-            // Required skills names
-            List<Skill> requiredSkills = taskDAO.getTaskRequiredSkillsWithNames(task.getId());
-            td.put("requiredSkills", requiredSkills.stream().map(Skill::getName).collect(Collectors.toList()));
+            // Required skills names (served from the skill catalog cache, no query per task)
+            List<String> requiredSkills = new ArrayList<>();
+            for (Integer skillId : task.getRequiredSkillIds()) {
+                Skill skill = skillDAO.getSkillById(skillId);
+                if (skill != null) {
+                    requiredSkills.add(skill.getName());
+                }
+            }
+            td.put("requiredSkills", requiredSkills);
             td.put("requiredSkillIds", task.getRequiredSkillIds());
             
             // Assignee info
@@ -287,18 +289,6 @@ public class StatisticsService {
         return details;
     }
 
-    /**
-     * Helper to load member skills with Skill objects populated
-     */
-    private void loadMemberSkills(Member member, MemberSkillDAO memberSkillDAO, SkillDAO skillDAO) {
-        List<MemberSkill> memberSkills = memberSkillDAO.getSkillsByMember(member.getId());
-        for (MemberSkill ms : memberSkills) {
-            Skill skill = skillDAO.getSkillById(ms.getSkillId());
-            ms.setSkill(skill);
-        }
-        member.setMemberSkills(new ArrayList<>(memberSkills));
-    }
-
     /**
      * Get timeline data for visualization
      */
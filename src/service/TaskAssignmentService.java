@@ -30,6 +30,19 @@ public class TaskAssignmentService {
     private List<Member> members;
     private List<Task> tasks;
     private AlertService alertService;
+    private SkillIndex skillIndex;
+    // Choix du membre parmi les candidats, scores calculés sur les tableaux des membres
+    private AssignmentStrategy strategy = ScoringStrategy.LEAST_LOADED;
+    private MemberTable memberTable;
+    // Tas par exigence pour la stratégie least-loaded (évite le parcours des candidats)
+    private CandidateHeaps candidateHeaps;
+    private final TaskFeatures taskFeatures = new TaskFeatures();
+    // Tâches hors affectation pouvant être prédécesseurs (déjà assignées, terminées...)
+    private List<Task> predecessorTasks = new ArrayList<>();
+    // Capacité par jour (optionnelle) : remplace le scalaire remainingHours pour la sélection
+    private CapacityCalendar capacityCalendar;
+    // Avancement (optionnel), notifié par la boucle gloutonne
+    private AssignmentProgress progress;
 
     public TaskAssignmentService() {
         this.members = new ArrayList<>();
@@ -59,24 +72,41 @@ public class TaskAssignmentService {
             result.addMessage("Aucune tâche à assigner.");
             return result;
         }
+        if (progress != null) {
+            progress.started(unassignedTasks.size());
+        }
 
-        // ÉTAPE 2: Trier les tâches par priorité (Haute → Moyenne → Basse)
-        List<Task> sortedTasks = sortTasksByPriority(unassignedTasks);
+        // ÉTAPE 2: Trier les tâches par priorité (Haute → Moyenne → Basse),
+        // dans l'ordre topologique des dépendances
+        List<Task> sortedTasks = orderTasks(unassignedTasks, result);
 
         // ÉTAPE 3: Pour chaque tâche, trouver le meilleur membre
+        assignSortedTasks(sortedTasks, result, null);
+
+        // ÉTAPE 4: Vérifier l'équilibre des charges
+        checkLoadBalance(result);
+
+        return result;
+    }
+
+    /**
+     * Boucle d'affectation gloutonne sur des tâches déjà triées par priorité.
+     * Si leftovers n'est pas null, les tâches non placées y sont ajoutées au lieu d'être
+     * marquées en échec (passe par partition, reprise ensuite sur l'ensemble des membres).
+     */
+    void assignSortedTasks(List<Task> sortedTasks, AssignmentResult result, List<Task> leftovers) {
         for (Task task : sortedTasks) {
             Member bestMember = findBestMemberForTask(task);
+            boolean assigned = false;
 
             if (bestMember != null) {
                 // Vérifier si le membre a assez d'heures restantes
-                if (bestMember.getRemainingHours() >= task.getEstimatedDuration()) {
+                if (hasCapacityFor(bestMember, task)) {
                     // Assigner la tâche
-                    assignTaskToMember(task, bestMember);
-                    result.addSuccessfulAssignment(task, bestMember);
-                    result.addMessage("✓ Tâche '" + task.getName() + "' assignée à " +
-                            bestMember.getFirstName() + " " + bestMember.getLastName() +
-                            " (heures restantes: " + String.format("%.1f", bestMember.getRemainingHours()) + "h/" + 
-                            bestMember.getWeeklyAvailability() + "h)");
+                    recordAssignment(result, task, bestMember);
+                    assigned = true;
+                } else if (leftovers != null) {
+                    leftovers.add(task);
                 } else {
                     // Pas assez d'heures disponibles
                     result.addFailedAssignment(task,
@@ -88,90 +118,185 @@ public class TaskAssignmentService {
                     Alert alert = alertService.createOverloadAlert(bestMember, task);
                     result.addAlert(alert);
                 }
+            } else if (leftovers != null) {
+                leftovers.add(task);
             } else {
                 // Aucun membre qualifié trouvé
                 result.addFailedAssignment(task, "Aucun membre avec les compétences requises");
                 result.addMessage("✗ Tâche '" + task.getName() + "' non assignée: aucun membre qualifié disponible");
             }
+            if (progress != null) {
+                progress.taskProcessed(assigned);
+            }
+        }
+    }
+
+    /**
+     * AFFECTATION GLOBALE (stratégie "optimal")
+     * Flot de coût minimum : heures restantes des membres = capacités, compétences = arcs,
+     * poids = priorité des tâches (voir MinCostFlowAssigner). Même forme de résultat que
+     * l'algorithme glouton ; si le budget de temps est dépassé, repli sur le glouton.
+     */
+    public AssignmentResult assignTasksOptimally(long timeBudgetMillis) {
+        AssignmentResult result = new AssignmentResult();
+        List<Task> unassignedTasks = getUnassignedTasks();
+
+        if (unassignedTasks.isEmpty()) {
+            result.addMessage("Aucune tâche à assigner.");
+            return result;
+        }
+
+        List<Task> sortedTasks = orderTasks(unassignedTasks, result);
+        int[] weights = new int[sortedTasks.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = getPriorityValue(sortedTasks.get(i).getPriority()) + 1;
+        }
+
+        getMemberTable();
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        int[] plan = new MinCostFlowAssigner(skillIndex, deadline).solve(sortedTasks, weights);
+
+        if (plan == null) {
+            AssignmentResult fallback = assignTasksAutomatically();
+            fallback.addMessage("⚠ Budget de temps dépassé (" + timeBudgetMillis +
+                    " ms) : affectation gloutonne utilisée");
+            return fallback;
+        }
+
+        for (int t = 0; t < sortedTasks.size(); t++) {
+            Task task = sortedTasks.get(t);
+            if (plan[t] >= 0) {
+                recordAssignment(result, task, skillIndex.getMember(plan[t]));
+            } else if (skillIndex.qualifiedMembers(task).isEmpty()) {
+                result.addFailedAssignment(task, "Aucun membre avec les compétences requises");
+                result.addMessage("✗ Tâche '" + task.getName() + "' non assignée: aucun membre qualifié disponible");
+            } else {
+                result.addFailedAssignment(task,
+                        "Heures insuffisantes: tous les membres qualifiés n'ont pas assez d'heures disponibles");
+                result.addMessage("✗ Tâche '" + task.getName() + "' non assignée: heures insuffisantes (requis: " +
+                        task.getEstimatedDuration() + "h)");
+            }
         }
 
-        // ÉTAPE 4: Vérifier l'équilibre des charges
         checkLoadBalance(result);
 
         return result;
     }
 
+    /**
+     * Applique une affectation et l'ajoute au résultat
+     */
+    private void recordAssignment(AssignmentResult result, Task task, Member member) {
+        assignTaskToMember(task, member);
+        result.addSuccessfulAssignment(task, member);
+        result.addMessage("✓ Tâche '" + task.getName() + "' assignée à " +
+                member.getFirstName() + " " + member.getLastName() +
+                " (heures restantes: " + String.format("%.1f", member.getRemainingHours()) + "h/" +
+                member.getWeeklyAvailability() + "h)");
+    }
+
     /**
      * Trouve le meilleur membre pour une tâche donnée
      * Critères (par ordre de priorité):
      * 1. Disponibilité (remaining hours > 0)
      * 2. Possession des compétences requises (niveau suffisant)
-     * 3. Plus d'heures disponibles restantes
-     * 4. Niveau de compétence le plus élevé
+     * 3. Assez d'heures restantes pour la tâche
+     * 4. Score de la stratégie (par défaut : plus d'heures restantes)
      */
     private Member findBestMemberForTask(Task task) {
-        List<Member> qualifiedMembers = new ArrayList<>();
-
-        // Filtrer les membres disponibles et qualifiés
-        for (Member member : members) {
-            // Check if member has enough remaining hours for the task
-            if (member.isAvailable() && 
-                member.getRemainingHours() >= task.getEstimatedDuration() &&
-                hasRequiredSkills(member, task)) {
-                qualifiedMembers.add(member);
-            }
+        if (capacityCalendar != null) {
+            return findBestMemberInCalendar(task);
         }
+        return findBestMemberByScore(task);
+    }
 
-        if (qualifiedMembers.isEmpty()) {
-            return null;
+    /**
+     * Candidat qualifié, disponible et ayant assez d'heures de meilleur score ; égalité :
+     * plus d'heures restantes puis premier de la liste
+     */
+    private Member findBestMemberByScore(Task task) {
+        MemberTable table = getMemberTable();
+        if (strategy == ScoringStrategy.LEAST_LOADED) {
+            int best = candidateHeaps.best(skillIndex.requiredSkills(task), task.getEstimatedDuration());
+            return best >= 0 ? skillIndex.getMember(best) : null;
         }
-
-        // Trier par heures restantes décroissantes (prioriser ceux qui ont plus de temps)
-        qualifiedMembers.sort((m1, m2) -> Double.compare(m2.getRemainingHours(), m1.getRemainingHours()));
-
-        // Retourner le membre avec le plus d'heures disponibles
-        return qualifiedMembers.get(0);
+        table.describe(task, taskFeatures);
+        BitSet qualified = skillIndex.qualifiedMembers(task);
+        double duration = taskFeatures.duration();
+
+        int best = -1;
+        double bestScore = 0;
+        double bestRemaining = 0;
+        for (int m = qualified.nextSetBit(0); m >= 0; m = qualified.nextSetBit(m + 1)) {
+            if (!table.isAvailable(m) || table.remaining(m) < duration) {
+                continue;
+            }
+            double score = strategy.score(table, m, taskFeatures);
+            if (best < 0 || score > bestScore || (score == bestScore && table.remaining(m) > bestRemaining)) {
+                best = m;
+                bestScore = score;
+                bestRemaining = table.remaining(m);
+            }
+        }
+        return best >= 0 ? skillIndex.getMember(best) : null;
     }
 
     /**
-     * Vérifie si un membre possède les compétences requises pour une tâche
-     * Compare les compétences du membre avec celles requises par la tâche
+     * Membre qualifié ayant au moins la durée estimée en heures libres sur la fenêtre de la
+     * tâche, de meilleur score ; pour least-loaded le score est le nombre d'heures libres sur
+     * la fenêtre. Égalité : plus d'heures libres puis premier de la liste.
+     * O(log jours) par membre qualifié
      */
-    private boolean hasRequiredSkills(Member member, Task task) {
-        // Si la tâche n'a pas de compétences requises, le membre est qualifié
-        if (task.getRequiredSkillIds() == null || task.getRequiredSkillIds().isEmpty()) {
-            return true;
+    private Member findBestMemberInCalendar(Task task) {
+        MemberTable table = getMemberTable();
+        boolean byFreeHours = strategy == ScoringStrategy.LEAST_LOADED;
+        if (!byFreeHours) {
+            table.describe(task, taskFeatures);
         }
-
-        // Si le membre n'a pas de compétences, retourner false
-        if (member.getMemberSkills() == null || member.getMemberSkills().isEmpty()) {
-            return false;
+        BitSet qualified = skillIndex.qualifiedMembers(task);
+        int best = -1;
+        double bestScore = 0;
+        double bestFreeHours = 0;
+        for (int m = qualified.nextSetBit(0); m >= 0; m = qualified.nextSetBit(m + 1)) {
+            double freeHours = capacityCalendar.freeHours(m, task);
+            if (freeHours < task.getEstimatedDuration()) {
+                continue;
+            }
+            double score = byFreeHours ? freeHours : strategy.score(table, m, taskFeatures);
+            if (best < 0 || score > bestScore || (score == bestScore && freeHours > bestFreeHours)) {
+                best = m;
+                bestScore = score;
+                bestFreeHours = freeHours;
+            }
         }
+        return best >= 0 ? skillIndex.getMember(best) : null;
+    }
 
-        // Obtenir les IDs des compétences du membre
-        List<Integer> memberSkillIds = new ArrayList<>();
-        for (MemberSkill ms : member.getMemberSkills()) {
-            memberSkillIds.add(ms.getSkill().getId());
+    private boolean hasCapacityFor(Member member, Task task) {
+        if (capacityCalendar != null) {
+            return capacityCalendar.canTake(skillIndex.indexOf(member), task);
         }
+        return member.getRemainingHours() >= task.getEstimatedDuration();
+    }
 
-        // Vérifier que le membre a TOUTES les compétences requises par la tâche
-        for (Integer requiredSkillId : task.getRequiredSkillIds()) {
-            if (!memberSkillIds.contains(requiredSkillId)) {
-                // Membre n'a pas une compétence requise
-                return false;
-            }
+    /**
+     * Index des compétences et tableaux des membres, construits une fois par liste de membres
+     */
+    private MemberTable getMemberTable() {
+        if (memberTable == null || skillIndex.size() != members.size()) {
+            skillIndex = new SkillIndex(members);
+            memberTable = new MemberTable(skillIndex);
+            candidateHeaps = new CandidateHeaps(skillIndex, memberTable);
         }
-
-        // Membre a toutes les compétences requises
-        return true;
+        return memberTable;
     }
 
     /**
      * Assigne une tâche à un membre et met à jour sa charge et disponibilité
      */
     private void assignTaskToMember(Task task, Member member) {
-        // Ajouter la tâche aux tâches assignées du membre
-        if (!member.getAssignedTasks().contains(task)) {
+        // Ajouter la tâche aux tâches assignées du membre (comparaison par ID)
+        if (!containsTaskId(member.getAssignedTasks(), task.getId())) {
             member.getAssignedTasks().add(task);
         }
 
@@ -183,6 +308,29 @@ public class TaskAssignmentService {
         double remainingHours = member.getWeeklyAvailability() - newLoad;
         member.setRemainingHours(remainingHours);
         member.setAvailable(remainingHours > 0);
+
+        // Recopier les nouvelles heures restantes dans les tableaux des membres
+        if (memberTable != null) {
+            int position = skillIndex.indexOf(member);
+            double previousRemaining = memberTable.remaining(position);
+            boolean previouslyAvailable = memberTable.isAvailable(position);
+            memberTable.update(position, task);
+            candidateHeaps.updated(position, previousRemaining, previouslyAvailable);
+        }
+
+        // Réserver la durée sur la fenêtre de la tâche dans le calendrier
+        if (capacityCalendar != null) {
+            capacityCalendar.reserve(skillIndex.indexOf(member), task);
+        }
+    }
+
+    private static boolean containsTaskId(List<Task> tasks, int taskId) {
+        for (Task task : tasks) {
+            if (task.getId() == taskId) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -234,7 +382,7 @@ public class TaskAssignmentService {
     /**
      * Vérifie l'équilibre des charges dans l'équipe
      */
-    private void checkLoadBalance(AssignmentResult result) {
+    void checkLoadBalance(AssignmentResult result) {
         if (members.isEmpty())
             return;
 
@@ -269,20 +417,19 @@ public class TaskAssignmentService {
     /**
      * Récupère les tâches non assignées
      */
-    private List<Task> getUnassignedTasks() {
-        List<Task> unassigned = new ArrayList<>();
-
-        for (Task task : tasks) {
-            boolean isAssigned = false;
-
-            for (Member member : members) {
-                if (member.getAssignedTasks().contains(task)) {
-                    isAssigned = true;
-                    break;
-                }
+    List<Task> getUnassignedTasks() {
+        // IDs des tâches déjà assignées, construits une fois (au lieu de comparer
+        // chaque tâche au contenu des tâches de chaque membre)
+        BitSet assignedIds = new BitSet();
+        for (Member member : members) {
+            for (Task task : member.getAssignedTasks()) {
+                assignedIds.set(task.getId());
             }
+        }
 
-            if (!isAssigned) {
+        List<Task> unassigned = new ArrayList<>();
+        for (Task task : tasks) {
+            if (!assignedIds.get(task.getId())) {
                 unassigned.add(task);
             }
         }
@@ -290,10 +437,69 @@ public class TaskAssignmentService {
         return unassigned;
     }
 
+    /**
+     * Ordonne les tâches à affecter : priorité, puis ordre topologique des dépendances
+     * (une tâche passe après ses prédécesseurs, la priorité départage les tâches prêtes).
+     * Les tâches d'un cycle, ou planifiées avant la fin de leurs prédécesseurs, sont
+     * marquées en échec et retirées de la liste.
+     */
+    List<Task> orderTasks(List<Task> unassignedTasks, AssignmentResult result) {
+        List<Task> sorted = sortTasksByPriority(unassignedTasks);
+        boolean hasDependencies = false;
+        for (Task task : sorted) {
+            hasDependencies |= !task.getDependencyIds().isEmpty();
+        }
+        if (!hasDependencies) {
+            return sorted;
+        }
+
+        // Nœuds : tâches à affecter (rang = position par priorité), puis prédécesseurs connus
+        List<Task> graphTasks = new ArrayList<>(sorted);
+        BitSet inGraph = new BitSet();
+        for (Task task : sorted) {
+            inGraph.set(task.getId());
+        }
+        for (Task task : predecessorTasks) {
+            if (!inGraph.get(task.getId())) {
+                inGraph.set(task.getId());
+                graphTasks.add(task);
+            }
+        }
+        DependencyGraph graph = new DependencyGraph(graphTasks);
+        int[] rank = new int[graphTasks.size()];
+        for (int v = 0; v < rank.length; v++) {
+            rank[v] = v;
+        }
+
+        List<Task> ordered = new ArrayList<>(sorted.size());
+        for (int v : graph.topologicalOrder(rank)) {
+            if (v >= sorted.size()) {
+                continue;
+            }
+            Task task = sorted.get(v);
+            if (graph.startsBeforePredecessors(v)) {
+                result.addFailedAssignment(task, "Début planifié avant la fin des tâches prérequises");
+                result.addMessage("✗ Tâche '" + task.getName() + "' non assignée: début planifié (" +
+                        task.getPlannedStartDate() + ") avant la fin de ses prérequis (début possible le " +
+                        graph.getPredecessorsEnd(v) + ")");
+            } else {
+                ordered.add(task);
+            }
+        }
+        for (int v = 0; v < sorted.size(); v++) {
+            if (graph.isCyclic(v)) {
+                Task task = sorted.get(v);
+                result.addFailedAssignment(task, "Dépendance circulaire");
+                result.addMessage("✗ Tâche '" + task.getName() + "' non assignée: dépendance circulaire");
+            }
+        }
+        return ordered;
+    }
+
     /**
      * Trie les tâches par priorité (Haute → Moyenne → Basse)
      */
-    private List<Task> sortTasksByPriority(List<Task> tasks) {
+    List<Task> sortTasksByPriority(List<Task> tasks) {
         List<Task> sorted = new ArrayList<>(tasks);
 
         sorted.sort((t1, t2) -> {
@@ -361,6 +567,10 @@ public class TaskAssignmentService {
 
     public void setMembers(List<Member> members) {
         this.members = members;
+        this.skillIndex = null;
+        this.memberTable = null;
+        this.candidateHeaps = null;
+        this.capacityCalendar = null;
     }
 
     public List<Task> getTasks() {
@@ -370,4 +580,32 @@ public class TaskAssignmentService {
     public void setTasks(List<Task> tasks) {
         this.tasks = tasks;
     }
+
+    /**
+     * Active le calendrier de capacité (positions = ordre de la liste des membres) :
+     * chaque tâche réserve ses heures sur sa fenêtre plannedStartDate..plannedEndDate
+     */
+    public void setCapacityCalendar(CapacityCalendar capacityCalendar) {
+        this.capacityCalendar = capacityCalendar;
+    }
+
+    /**
+     * Stratégie de choix du membre pour l'affectation gloutonne et les tâches urgentes, avec
+     * ou sans calendrier de capacité (ignorée par la stratégie "optimal")
+     */
+    public void setStrategy(AssignmentStrategy strategy) {
+        this.strategy = strategy != null ? strategy : ScoringStrategy.LEAST_LOADED;
+    }
+
+    public void setProgress(AssignmentProgress progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Tâches non concernées par l'affectation mais référencées comme prédécesseurs
+     * (leurs dates de fin comptent pour l'ordonnancement)
+     */
+    public void setPredecessorTasks(List<Task> predecessorTasks) {
+        this.predecessorTasks = predecessorTasks != null ? predecessorTasks : new ArrayList<>();
+    }
 }
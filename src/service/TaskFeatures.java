@@ -0,0 +1,60 @@
+package service;
+
+import java.util.Arrays;
+
+/**
+ * Caractéristiques d'une tâche lues par les stratégies (voir MemberTable.describe) :
+ * une instance réutilisée d'une tâche à l'autre
+ */
+public final class TaskFeatures {
+
+    private double duration;
+    private int skillCount;
+    private int[] skillPositions = new int[4];
+    private int[] requiredLevels = new int[4];
+    // Heures déjà affectées au projet de la tâche, par index d'équipe (null = aucun projet)
+    private double[] projectTeamHours;
+
+    public double duration() {
+        return duration;
+    }
+
+    public int skillCount() {
+        return skillCount;
+    }
+
+    /**
+     * Position dense (MemberTable.level) de la i-ème compétence requise
+     */
+    public int skillPosition(int i) {
+        return skillPositions[i];
+    }
+
+    public int requiredLevel(int i) {
+        return requiredLevels[i];
+    }
+
+    /**
+     * Heures déjà affectées sur le projet de la tâche aux membres de l'équipe (0 sans projet
+     * ou sans équipe)
+     */
+    public double projectHoursOfTeam(int teamIndex) {
+        return projectTeamHours != null && teamIndex > 0 ? projectTeamHours[teamIndex] : 0;
+    }
+
+    void reset(double duration, double[] projectTeamHours) {
+        this.duration = duration;
+        this.projectTeamHours = projectTeamHours;
+        this.skillCount = 0;
+    }
+
+    void addSkill(int position, int level) {
+        if (skillCount == skillPositions.length) {
+            skillPositions = Arrays.copyOf(skillPositions, skillCount * 2);
+            requiredLevels = Arrays.copyOf(requiredLevels, skillCount * 2);
+        }
+        skillPositions[skillCount] = position;
+        requiredLevels[skillCount] = level;
+        skillCount++;
+    }
+}
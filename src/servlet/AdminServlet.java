@@ -0,0 +1,78 @@
+package servlet;
+
+import classes.Connect;
+import dao.MemberDAO;
+import com.google.gson.Gson;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.*;
+import java.io.IOException;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servlet d'administration (opérations de maintenance)
+ * API REST endpoints:
+ * POST /api/admin/workloads/recalculate - Recalcule la charge de tous les membres
+ * POST /api/admin/workloads/recalculate?memberIds=1,2,3 - Recalcule la charge des membres indiqués
+ */
+@WebServlet("/api/admin/*")
+public class AdminServlet extends HttpServlet {
+
+    private Gson gson = new Gson();
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        String pathInfo = request.getPathInfo();
+
+        try (Connection conn = Connect.getConnection()) {
+
+            if ("/workloads/recalculate".equals(pathInfo)) {
+                // Passe de cohérence : current_load / remaining_hours / available depuis les tâches
+                MemberDAO memberDAO = new MemberDAO(conn);
+                String memberIdsParam = request.getParameter("memberIds");
+                long start = System.currentTimeMillis();
+
+                int updated;
+                if (memberIdsParam != null && !memberIdsParam.trim().isEmpty()) {
+                    List<Integer> memberIds = new ArrayList<>();
+                    for (String id : memberIdsParam.split(",")) {
+                        if (!id.trim().isEmpty()) {
+                            memberIds.add(Integer.valueOf(id.trim()));
+                        }
+                    }
+                    updated = memberDAO.recalculateWorkloads(memberIds);
+                } else {
+                    updated = memberDAO.recalculateAllWorkloads();
+                }
+
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("success", true);
+                result.put("updatedMembers", updated);
+                result.put("durationMs", System.currentTimeMillis() - start);
+                response.getWriter().write(gson.toJson(result));
+
+            } else {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                response.getWriter().write("{\"error\": \"Endpoint non trouvé\"}");
+            }
+
+        } catch (NumberFormatException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.getWriter().write("{\"error\": \"memberIds invalide\"}");
+        } catch (Exception e) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            response.getWriter().write("{\"error\": \"" + e.getMessage() + "\"}");
+            e.printStackTrace();
+        }
+    }
+}
@@ -3,8 +3,10 @@ package servlet;
 import classes.Alert;
 import classes.Connect;
 import dao.AlertDAO;
+import dao.Page;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.*;
@@ -19,6 +21,8 @@ import java.util.List;
  * GET /api/alerts?id=X - Get alert by ID
  * GET /api/alerts?severity=X - Get alerts by severity
  * GET /api/alerts?type=X - Get alerts by type
+ * GET /api/alerts?limit=N&after=ID - Page of alerts, newest first (severity and
+ *     type filters combine): {"items": [...], "nextCursor": ID|null}
  * POST /api/alerts - Create a new alert
  * PUT /api/alerts - Update an alert
  * DELETE /api/alerts?id=X - Delete an alert
@@ -42,15 +46,20 @@ public class AlertServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
-            Connection conn = Connect.getConnection();
+        try (Connection conn = Connect.getConnection()) {
             AlertDAO alertDAO = new AlertDAO(conn);
 
             String idParam = request.getParameter("id");
             String severityParam = request.getParameter("severity");
             String typeParam = request.getParameter("type");
-
-            if (idParam != null) {
+            PageRequest pageRequest = PageRequest.from(request);
+
+            if (idParam == null && pageRequest != null) {
+                // Keyset pagination, filters combine
+                Page<Alert> page = alertDAO.getAlertsPage(severityParam, typeParam,
+                        pageRequest.after, pageRequest.limit);
+                response.getWriter().write(gson.toJson(page));
+            } else if (idParam != null) {
                 // Get specific alert
                 int id = Integer.parseInt(idParam);
                 Alert alert = alertDAO.getAlertById(id);
@@ -61,24 +70,21 @@ public class AlertServlet extends HttpServlet {
                     response.setStatus(HttpServletResponse.SC_NOT_FOUND);
                     response.getWriter().write("{\"error\": \"Alert not found\"}");
                 }
-            } else if (severityParam != null) {
-                // Get alerts by severity
-                List<Alert> alerts = alertDAO.getAlertsBySeverity(severityParam);
-                response.getWriter().write(gson.toJson(alerts));
-            } else if (typeParam != null) {
-                // Get alerts by type
-                List<Alert> alerts = alertDAO.getAlertsByType(typeParam);
-                response.getWriter().write(gson.toJson(alerts));
             } else {
-                // Get all alerts
-                List<Alert> alerts = alertDAO.getAllAlerts();
-                response.getWriter().write(gson.toJson(alerts));
+                // List (by severity, by type or all): each alert is serialized as soon as
+                // it is read from the ResultSet, without building the list in memory
+                JsonWriter writer = gson.newJsonWriter(response.getWriter());
+                writer.beginArray();
+                alertDAO.streamAlerts(severityParam, typeParam,
+                        alert -> gson.toJson(alert, Alert.class, writer));
+                writer.endArray();
+                writer.flush();
             }
 
         } catch (Exception e) {
-            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            response.getWriter().write("{\"error\": \"" + e.getMessage() + "\"}");
             e.printStackTrace();
+            // La liste a pu être envoyée en partie : pas d'objet d'erreur ajouté au tableau
+            StreamingError.send(response, e);
         }
     }
 
@@ -89,10 +95,9 @@ public class AlertServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             Alert alert = gson.fromJson(request.getReader(), Alert.class);
 
-            Connection conn = Connect.getConnection();
             AlertDAO alertDAO = new AlertDAO(conn);
 
             if (alertDAO.addAlert(alert)) {
@@ -117,10 +122,9 @@ public class AlertServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             Alert alert = gson.fromJson(request.getReader(), Alert.class);
 
-            Connection conn = Connect.getConnection();
             AlertDAO alertDAO = new AlertDAO(conn);
 
             if (alertDAO.updateAlert(alert)) {
@@ -144,7 +148,7 @@ public class AlertServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             String idParam = request.getParameter("id");
 
             if (idParam == null) {
@@ -155,7 +159,6 @@ public class AlertServlet extends HttpServlet {
 
             int id = Integer.parseInt(idParam);
 
-            Connection conn = Connect.getConnection();
             AlertDAO alertDAO = new AlertDAO(conn);
 
             if (alertDAO.deleteAlert(id)) {
@@ -2,6 +2,9 @@ package servlet;
 
 import classes.Connect;
 import classes.Member;
+import classes.Skill;
+import dao.MemberCandidateCache;
+import dao.SkillDAO;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 
@@ -58,7 +61,7 @@ public class AuthServlet extends HttpServlet {
     private void handleSignup(HttpServletRequest request, HttpServletResponse response) 
             throws IOException {
         
-        try {
+        try (Connection conn = Connect.getConnection()) {
             // Read JSON from request
             StringBuilder sb = new StringBuilder();
             String line;
@@ -112,8 +115,6 @@ public class AuthServlet extends HttpServlet {
                 );
             }
 
-            Connection conn = Connect.getConnection();
-            
             // Check if email already exists
             String checkSql = "SELECT id FROM member WHERE email = ?";
             PreparedStatement checkStmt = conn.prepareStatement(checkSql);
@@ -153,6 +154,7 @@ public class AuthServlet extends HttpServlet {
             if (!skills.isEmpty() && memberId > 0) {
                 insertMemberSkills(conn, memberId, skills);
             }
+            MemberCandidateCache.markStale(memberId);
             
             // Create response
             JsonObject responseObj = new JsonObject();
@@ -172,7 +174,7 @@ public class AuthServlet extends HttpServlet {
     private void handleLogin(HttpServletRequest request, HttpServletResponse response) 
             throws IOException {
         
-        try {
+        try (Connection conn = Connect.getConnection()) {
             // Read JSON from request
             StringBuilder sb = new StringBuilder();
             String line;
@@ -185,8 +187,6 @@ public class AuthServlet extends HttpServlet {
             String email = jsonData.get("email").getAsString();
             String password = jsonData.get("password").getAsString();
 
-            Connection conn = Connect.getConnection();
-            
             // Check credentials
             String sql = "SELECT id, first_name, last_name, email, role, current_load, available " +
                         "FROM member WHERE email = ? AND password = ?";
@@ -249,29 +249,17 @@ public class AuthServlet extends HttpServlet {
     }
 
     private void insertMemberSkills(Connection conn, int memberId, ArrayList<String> skills) {
+        SkillDAO skillDAO = new SkillDAO(conn);
         try {
             for (String skillName : skills) {
-                // First, get or create skill
-                String getSkillSql = "SELECT id FROM skill WHERE name = ?";
-                PreparedStatement getSkillStmt = conn.prepareStatement(getSkillSql);
-                getSkillStmt.setString(1, skillName);
-                ResultSet rs = getSkillStmt.executeQuery();
-                
-                int skillId = 0;
-                if (rs.next()) {
-                    skillId = rs.getInt("id");
-                } else {
-                    // Create skill
-                    String createSkillSql = "INSERT INTO skill (name) VALUES (?)";
-                    PreparedStatement createSkillStmt = conn.prepareStatement(createSkillSql, Statement.RETURN_GENERATED_KEYS);
-                    createSkillStmt.setString(1, skillName);
-                    createSkillStmt.executeUpdate();
-                    
-                    ResultSet generatedKeys = createSkillStmt.getGeneratedKeys();
-                    if (generatedKeys.next()) {
-                        skillId = generatedKeys.getInt(1);
-                    }
+                // First, get or create skill (via SkillDAO so the skill cache stays in sync)
+                Skill skill = skillDAO.getSkillByName(skillName);
+                if (skill == null) {
+                    skill = new Skill();
+                    skill.setName(skillName);
+                    skillDAO.addSkill(skill);
                 }
+                int skillId = skill.getId();
                 
                 // Insert member_skill with default level 3
                 if (skillId > 0) {
@@ -0,0 +1,27 @@
+package servlet;
+
+import classes.Connect;
+import service.AssignmentJobQueue;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+
+/**
+ * Arrête les jobs d'affectation puis ferme le pool de connexions à l'arrêt de l'application
+ * (évite les connexions et threads orphelins lors d'un redéploiement)
+ */
+@WebListener
+public class ConnectionPoolListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        // Le pool est initialisé à la première utilisation de Connect
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        AssignmentJobQueue.shutdown();
+        Connect.shutdown();
+    }
+}
@@ -25,6 +25,9 @@ import java.util.*;
  * GET /api/dashboard/workload - Répartition de la charge
  * GET /api/dashboard/alerts - Alertes actives
  * GET /api/dashboard/progress - Avancement du projet
+ * GET /api/dashboard/pool - Métriques du pool de connexions
+ * GET /api/dashboard/cache - Métriques du cache des compétences (hits/misses)
+ * GET /api/dashboard/candidates - Métriques de l'index des membres candidats
  */
 @WebServlet("/api/dashboard/*")
 public class DashboardServlet extends HttpServlet {
@@ -40,8 +43,7 @@ public class DashboardServlet extends HttpServlet {
 
         String pathInfo = request.getPathInfo();
 
-        try {
-            Connection conn = Connect.getConnection();
+        try (Connection conn = Connect.getConnection()) {
 
             if ("/stats".equals(pathInfo)) {
                 // Statistiques générales
@@ -64,6 +66,18 @@ public class DashboardServlet extends HttpServlet {
                 ProjectProgress progress = calculateProjectProgress(conn);
                 response.getWriter().write(gson.toJson(progress));
 
+            } else if ("/pool".equals(pathInfo)) {
+                // Métriques du pool de connexions JDBC
+                response.getWriter().write(gson.toJson(Connect.getPoolStats()));
+
+            } else if ("/cache".equals(pathInfo)) {
+                // Métriques du cache du catalogue de compétences
+                response.getWriter().write(gson.toJson(SkillCatalogCache.getStats()));
+
+            } else if ("/candidates".equals(pathInfo)) {
+                // Métriques de l'index des membres candidats (affectation incrémentale)
+                response.getWriter().write(gson.toJson(MemberCandidateCache.getStats()));
+
             } else {
                 response.setStatus(HttpServletResponse.SC_NOT_FOUND);
                 response.getWriter().write("{\"error\": \"Endpoint non trouvé\"}");
@@ -77,30 +91,28 @@ public class DashboardServlet extends HttpServlet {
     }
 
     /**
-     * Génère les statistiques du tableau de bord
+     * Génère les statistiques du tableau de bord (une requête d'agrégats)
      */
     private DashboardStats generateDashboardStats(Connection conn) {
         DashboardStats stats = new DashboardStats();
 
-        MemberDAO memberDAO = new MemberDAO(conn);
-        TaskDAO taskDAO = new TaskDAO(conn);
-        ProjectDAO projectDAO = new ProjectDAO(conn);
-        AlertDAO alertDAO = new AlertDAO(conn);
-
-        stats.totalMembers = memberDAO.getAllMembers().size();
-        stats.availableMembers = memberDAO.getAvailableMembers().size();
-        stats.totalTasks = taskDAO.getAllTasks().size();
-        stats.unassignedTasks = taskDAO.getUnassignedTasks().size();
-        stats.completedTasks = taskDAO.getTasksByStatus("Terminée").size();
-        stats.totalProjects = projectDAO.getAllProjects().size();
-        stats.activeProjects = projectDAO.getActiveProjects().size();
-        stats.highPriorityAlerts = alertDAO.countAlertsBySeverity("Haute");
+        Map<String, Integer> counters = new DashboardDAO(conn).getDashboardCounters();
+
+        stats.totalMembers = counters.getOrDefault("totalMembers", 0);
+        stats.availableMembers = counters.getOrDefault("availableMembers", 0);
+        stats.totalTasks = counters.getOrDefault("totalTasks", 0);
+        stats.unassignedTasks = counters.getOrDefault("unassignedTasks", 0);
+        stats.completedTasks = counters.getOrDefault("completedTasks", 0);
+        stats.totalProjects = counters.getOrDefault("totalProjects", 0);
+        stats.activeProjects = counters.getOrDefault("activeProjects", 0);
+        stats.highPriorityAlerts = counters.getOrDefault("highPriorityAlerts", 0);
 
         return stats;
     }
 
     /**
      * Calcule la répartition de la charge de travail
+     * Moyenne, min, max et écart-type sont calculés côté SQL
      */
     private WorkloadDistribution calculateWorkloadDistribution(Connection conn) {
         WorkloadDistribution workload = new WorkloadDistribution();
@@ -108,10 +120,6 @@ public class DashboardServlet extends HttpServlet {
         MemberDAO memberDAO = new MemberDAO(conn);
         List<Member> members = memberDAO.getAllMembers();
 
-        double totalLoad = 0;
-        double minLoad = Double.MAX_VALUE;
-        double maxLoad = 0;
-
         workload.members = new ArrayList<>();
 
         for (Member member : members) {
@@ -122,22 +130,13 @@ public class DashboardServlet extends HttpServlet {
             mw.available = member.isAvailable();
 
             workload.members.add(mw);
-
-            totalLoad += member.getCurrentLoad();
-            minLoad = Math.min(minLoad, member.getCurrentLoad());
-            maxLoad = Math.max(maxLoad, member.getCurrentLoad());
         }
 
-        workload.averageLoad = members.isEmpty() ? 0 : totalLoad / members.size();
-        workload.minLoad = minLoad == Double.MAX_VALUE ? 0 : minLoad;
-        workload.maxLoad = maxLoad;
-
-        // Calculer l'écart-type
-        double variance = 0;
-        for (Member member : members) {
-            variance += Math.pow(member.getCurrentLoad() - workload.averageLoad, 2);
-        }
-        workload.standardDeviation = members.isEmpty() ? 0 : Math.sqrt(variance / members.size());
+        Map<String, Double> aggregates = new DashboardDAO(conn).getWorkloadAggregates();
+        workload.averageLoad = aggregates.getOrDefault("averageLoad", 0.0);
+        workload.minLoad = aggregates.getOrDefault("minLoad", 0.0);
+        workload.maxLoad = aggregates.getOrDefault("maxLoad", 0.0);
+        workload.standardDeviation = aggregates.getOrDefault("standardDeviation", 0.0);
 
         // Déterminer si l'équilibre est bon
         workload.isBalanced = workload.standardDeviation < 30.0;
@@ -146,34 +145,19 @@ public class DashboardServlet extends HttpServlet {
     }
 
     /**
-     * Calcule l'avancement du projet
+     * Calcule l'avancement du projet (une requête d'agrégats sur task)
      */
     private ProjectProgress calculateProjectProgress(Connection conn) {
         ProjectProgress progress = new ProjectProgress();
 
-        TaskDAO taskDAO = new TaskDAO(conn);
-        List<Task> allTasks = taskDAO.getAllTasks();
-
-        progress.totalTasks = allTasks.size();
-        progress.completedTasks = 0;
-        progress.inProgressTasks = 0;
-        progress.plannedTasks = 0;
-        progress.totalEstimatedHours = 0;
-        progress.completedHours = 0;
-
-        for (Task task : allTasks) {
-            String status = task.getStatus();
-            progress.totalEstimatedHours += task.getEstimatedDuration();
-
-            if ("Terminée".equalsIgnoreCase(status) || "Completed".equalsIgnoreCase(status)) {
-                progress.completedTasks++;
-                progress.completedHours += task.getEstimatedDuration();
-            } else if ("En cours".equalsIgnoreCase(status) || "In Progress".equalsIgnoreCase(status)) {
-                progress.inProgressTasks++;
-            } else if ("Planifiée".equalsIgnoreCase(status) || "Planned".equalsIgnoreCase(status)) {
-                progress.plannedTasks++;
-            }
-        }
+        Map<String, Double> aggregates = new DashboardDAO(conn).getProgressAggregates();
+
+        progress.totalTasks = aggregates.getOrDefault("totalTasks", 0.0).intValue();
+        progress.completedTasks = aggregates.getOrDefault("completedTasks", 0.0).intValue();
+        progress.inProgressTasks = aggregates.getOrDefault("inProgressTasks", 0.0).intValue();
+        progress.plannedTasks = aggregates.getOrDefault("plannedTasks", 0.0).intValue();
+        progress.totalEstimatedHours = aggregates.getOrDefault("totalEstimatedHours", 0.0);
+        progress.completedHours = aggregates.getOrDefault("completedHours", 0.0);
 
         progress.completionPercentage = progress.totalTasks == 0 ? 0
                 : (double) progress.completedTasks / progress.totalTasks * 100;
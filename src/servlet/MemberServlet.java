@@ -11,6 +11,7 @@ import classes.Connect;
 
 import dao.*;
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.*;
@@ -23,6 +24,8 @@ import java.util.List;
  * API REST endpoints:
  * GET /api/members - Liste tous les membres
  * GET /api/members?id=X - Récupère un membre par ID
+ * GET /api/members?limit=N&after=ID - Page de membres (filtres available, teamId
+ *     combinables) : {"items": [...], "nextCursor": ID|null}
  * POST /api/members - Crée un nouveau membre
  * PUT /api/members - Met à jour un membre
  * DELETE /api/members?id=X - Supprime un membre
@@ -39,86 +42,47 @@ public class MemberServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
-            Connection conn = Connect.getConnection();
+        try (Connection conn = Connect.getConnection()) {
             MemberDAO memberDAO = new MemberDAO(conn);
-            MemberSkillDAO memberSkillDAO = new MemberSkillDAO(conn);
-            SkillDAO skillDAO = new SkillDAO(conn);
 
             String idParam = request.getParameter("id");
             String availableParam = request.getParameter("available");
             String teamIdParam = request.getParameter("teamId");
-
-            if (idParam != null) {
+            PageRequest pageRequest = PageRequest.from(request);
+
+            // Membres chargés avec leurs compétences en une seule requête (MemberDAO)
+            if (idParam == null && pageRequest != null) {
+                // Pagination par curseur : les filtres se combinent
+                Page<Member> page = memberDAO.getMembersPage(availableParam != null,
+                        teamIdParam != null ? Integer.valueOf(teamIdParam) : null,
+                        pageRequest.after, pageRequest.limit);
+                response.getWriter().write(gson.toJson(page));
+            } else if (idParam != null) {
                 // Récupérer un membre spécifique
                 int id = Integer.parseInt(idParam);
-                Member member = memberDAO.getMemberById(id);
+                Member member = memberDAO.getMemberByIdWithSkills(id);
 
                 if (member != null) {
-                    // Load member skills with skill details
-                    List<MemberSkill> memberSkills = memberSkillDAO.getSkillsByMember(id);
-                    for (MemberSkill ms : memberSkills) {
-                        Skill skill = skillDAO.getSkillById(ms.getSkillId());
-                        ms.setSkill(skill);
-                    }
-                    member.setMemberSkills(new java.util.ArrayList<>(memberSkills));
-                    
                     response.getWriter().write(gson.toJson(member));
                 } else {
                     response.setStatus(HttpServletResponse.SC_NOT_FOUND);
                     response.getWriter().write("{\"error\": \"Membre non trouvé\"}");
                 }
-            } else if (availableParam != null) {
-                // Récupérer les membres disponibles
-                List<Member> members = memberDAO.getAvailableMembers();
-                
-                // Load skills for each member
-                for (Member member : members) {
-                    List<MemberSkill> memberSkills = memberSkillDAO.getSkillsByMember(member.getId());
-                    for (MemberSkill ms : memberSkills) {
-                        Skill skill = skillDAO.getSkillById(ms.getSkillId());
-                        ms.setSkill(skill);
-                    }
-                    member.setMemberSkills(new java.util.ArrayList<>(memberSkills));
-                }
-                
-                response.getWriter().write(gson.toJson(members));
-            } else if (teamIdParam != null) {
-                // Récupérer les membres d'une équipe
-                int teamId = Integer.parseInt(teamIdParam);
-                List<Member> members = memberDAO.getMembersByTeam(teamId);
-                
-                // Load skills for each member
-                for (Member member : members) {
-                    List<MemberSkill> memberSkills = memberSkillDAO.getSkillsByMember(member.getId());
-                    for (MemberSkill ms : memberSkills) {
-                        Skill skill = skillDAO.getSkillById(ms.getSkillId());
-                        ms.setSkill(skill);
-                    }
-                    member.setMemberSkills(new java.util.ArrayList<>(memberSkills));
-                }
-                
-                response.getWriter().write(gson.toJson(members));
             } else {
-                // Récupérer tous les membres
-                List<Member> members = memberDAO.getAllMembers();
-                
-                // Load skills for each member
-                for (Member member : members) {
-                    List<MemberSkill> memberSkills = memberSkillDAO.getSkillsByMember(member.getId());
-                    for (MemberSkill ms : memberSkills) {
-                        Skill skill = skillDAO.getSkillById(ms.getSkillId());
-                        ms.setSkill(skill);
-                    }
-                    member.setMemberSkills(new java.util.ArrayList<>(memberSkills));
-                }
-                
-                response.getWriter().write(gson.toJson(members));
+                // Liste (disponibles, par équipe ou complète) : chaque membre est sérialisé
+                // dès que ses lignes sont lues, sans matérialiser la liste
+                JsonWriter writer = gson.newJsonWriter(response.getWriter());
+                writer.beginArray();
+                memberDAO.streamMembersWithSkills(availableParam != null,
+                        teamIdParam != null ? Integer.valueOf(teamIdParam) : null,
+                        member -> gson.toJson(member, Member.class, writer));
+                writer.endArray();
+                writer.flush();
             }
 
         } catch (Exception e) {
-            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            response.getWriter().write("{\"error\": \"" + e.getMessage() + "\"}");
+            // La liste a pu être envoyée en partie : pas d'objet d'erreur ajouté au tableau
+            StreamingError.send(response, e);
         }
     }
 
@@ -129,7 +93,7 @@ public class MemberServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             // Lire le JSON du corps de la requête
             Member member = gson.fromJson(request.getReader(), Member.class);
             
@@ -146,7 +110,6 @@ public class MemberServlet extends HttpServlet {
                 member.setPassword("password123"); // Default password
             }
 
-            Connection conn = Connect.getConnection();
             MemberDAO memberDAO = new MemberDAO(conn);
 
             if (memberDAO.addMember(member)) {
@@ -170,10 +133,9 @@ public class MemberServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             Member memberUpdate = gson.fromJson(request.getReader(), Member.class);
 
-            Connection conn = Connect.getConnection();
             MemberDAO memberDAO = new MemberDAO(conn);
             
             // Get existing member to preserve fields not being updated
@@ -225,7 +187,7 @@ public class MemberServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             String idParam = request.getParameter("id");
 
             if (idParam == null) {
@@ -235,7 +197,6 @@ public class MemberServlet extends HttpServlet {
             }
 
             int id = Integer.parseInt(idParam);
-            Connection conn = Connect.getConnection();
             MemberDAO memberDAO = new MemberDAO(conn);
 
             if (memberDAO.deleteMember(id)) {
@@ -42,8 +42,7 @@ public class MemberSkillServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
-            Connection conn = Connect.getConnection();
+        try (Connection conn = Connect.getConnection()) {
             MemberSkillDAO memberSkillDAO = new MemberSkillDAO(conn);
             SkillDAO skillDAO = new SkillDAO(conn);
 
@@ -94,8 +93,7 @@ public class MemberSkillServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
-            Connection conn = Connect.getConnection();
+        try (Connection conn = Connect.getConnection()) {
             MemberSkillDAO memberSkillDAO = new MemberSkillDAO(conn);
             SkillDAO skillDAO = new SkillDAO(conn);
 
@@ -146,8 +144,7 @@ public class MemberSkillServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
-            Connection conn = Connect.getConnection();
+        try (Connection conn = Connect.getConnection()) {
             MemberSkillDAO memberSkillDAO = new MemberSkillDAO(conn);
             SkillDAO skillDAO = new SkillDAO(conn);
 
@@ -181,8 +178,7 @@ public class MemberSkillServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
-            Connection conn = Connect.getConnection();
+        try (Connection conn = Connect.getConnection()) {
             MemberSkillDAO memberSkillDAO = new MemberSkillDAO(conn);
 
             String idParam = request.getParameter("id");
@@ -0,0 +1,37 @@
+package servlet;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Paramètres de pagination par curseur : ?limit=N&after=ID
+ * Absents => l'endpoint renvoie la liste complète (comportement historique).
+ */
+class PageRequest {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+
+    final Integer after;
+    final int limit;
+
+    private PageRequest(Integer after, int limit) {
+        this.after = after;
+        this.limit = limit;
+    }
+
+    /**
+     * Retourne null si la requête ne demande pas de pagination
+     */
+    static PageRequest from(HttpServletRequest request) {
+        String limitParam = request.getParameter("limit");
+        String afterParam = request.getParameter("after");
+        if (limitParam == null && afterParam == null) {
+            return null;
+        }
+
+        int limit = limitParam != null ? Integer.parseInt(limitParam) : DEFAULT_LIMIT;
+        limit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Integer after = afterParam != null && !afterParam.isEmpty() ? Integer.valueOf(afterParam) : null;
+        return new PageRequest(after, limit);
+    }
+}
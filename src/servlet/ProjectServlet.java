@@ -24,6 +24,8 @@ import java.util.List;
  * API REST endpoints:
  * GET /api/projects - Liste tous les projets
  * GET /api/projects?id=X - Récupère un projet par ID
+ * GET /api/projects?limit=N&after=ID - Page de projets (filtre status combinable) :
+ *     {"items": [...], "nextCursor": ID|null}
  * POST /api/projects - Crée un nouveau projet
  * PUT /api/projects - Met à jour un projet
  * DELETE /api/projects?id=X - Supprime un projet
@@ -54,14 +56,18 @@ public class ProjectServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
-            Connection conn = Connect.getConnection();
+        try (Connection conn = Connect.getConnection()) {
             ProjectDAO projectDAO = new ProjectDAO(conn);
 
             String idParam = request.getParameter("id");
             String statusParam = request.getParameter("status");
+            PageRequest pageRequest = PageRequest.from(request);
 
-            if (idParam != null) {
+            if (idParam == null && pageRequest != null) {
+                // Pagination par curseur
+                Page<Project> page = projectDAO.getProjectsPage(statusParam, pageRequest.after, pageRequest.limit);
+                response.getWriter().write(gson.toJson(page));
+            } else if (idParam != null) {
                 // Récupérer un projet spécifique
                 int id = Integer.parseInt(idParam);
                 Project project = projectDAO.getProjectById(id);
@@ -95,10 +101,9 @@ public class ProjectServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             Project project = gson.fromJson(request.getReader(), Project.class);
 
-            Connection conn = Connect.getConnection();
             ProjectDAO projectDAO = new ProjectDAO(conn);
 
             if (projectDAO.addProject(project)) {
@@ -122,10 +127,9 @@ public class ProjectServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             Project project = gson.fromJson(request.getReader(), Project.class);
 
-            Connection conn = Connect.getConnection();
             ProjectDAO projectDAO = new ProjectDAO(conn);
 
             if (projectDAO.updateProject(project)) {
@@ -148,7 +152,7 @@ public class ProjectServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             String idParam = request.getParameter("id");
 
             if (idParam == null) {
@@ -158,7 +162,6 @@ public class ProjectServlet extends HttpServlet {
             }
 
             int id = Integer.parseInt(idParam);
-            Connection conn = Connect.getConnection();
             ProjectDAO projectDAO = new ProjectDAO(conn);
 
             if (projectDAO.deleteProject(id)) {
@@ -40,8 +40,7 @@ public class SkillServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
-            Connection conn = Connect.getConnection();
+        try (Connection conn = Connect.getConnection()) {
             SkillDAO skillDAO = new SkillDAO(conn);
 
             String idParam = request.getParameter("id");
@@ -77,10 +76,9 @@ public class SkillServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             Skill skill = gson.fromJson(request.getReader(), Skill.class);
 
-            Connection conn = Connect.getConnection();
             SkillDAO skillDAO = new SkillDAO(conn);
 
             if (skillDAO.addSkill(skill)) {
@@ -105,10 +103,9 @@ public class SkillServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             Skill skill = gson.fromJson(request.getReader(), Skill.class);
 
-            Connection conn = Connect.getConnection();
             SkillDAO skillDAO = new SkillDAO(conn);
 
             if (skillDAO.updateSkill(skill)) {
@@ -132,7 +129,7 @@ public class SkillServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             String idParam = request.getParameter("id");
 
             if (idParam == null) {
@@ -143,7 +140,6 @@ public class SkillServlet extends HttpServlet {
 
             int id = Integer.parseInt(idParam);
 
-            Connection conn = Connect.getConnection();
             SkillDAO skillDAO = new SkillDAO(conn);
 
             if (skillDAO.deleteSkill(id)) {
@@ -45,8 +45,7 @@ public class StatisticsServlet extends HttpServlet {
 
         String pathInfo = request.getPathInfo();
 
-        try {
-            Connection conn = Connect.getConnection();
+        try (Connection conn = Connect.getConnection()) {
             StatisticsService statsService = new StatisticsService(conn);
 
             Map<String, Object> result;
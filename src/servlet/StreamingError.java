@@ -0,0 +1,28 @@
+package servlet;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Erreur d'un GET dont la liste JSON est écrite en flux
+ * - Rien n'est encore envoyé : le début de tableau en tampon est effacé, l'erreur est
+ *   renvoyée avec le statut 500 comme ailleurs
+ * - Réponse déjà validée (200, tableau en partie envoyé) : l'exception est propagée pour que
+ *   le conteneur coupe la connexion ; le client voit un transfert incomplet au lieu d'un
+ *   tableau tronqué suivi d'un objet d'erreur
+ */
+class StreamingError {
+
+    private StreamingError() {
+    }
+
+    static void send(HttpServletResponse response, Exception e) throws ServletException, IOException {
+        if (response.isCommitted()) {
+            throw new ServletException("Liste interrompue après l'envoi des premiers éléments", e);
+        }
+        response.resetBuffer();
+        response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        response.getWriter().write("{\"error\": \"" + e.getMessage() + "\"}");
+    }
+}
@@ -12,6 +12,7 @@ import classes.Connect;
 import dao.*;
 import service.*;
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.*;
@@ -22,14 +23,61 @@ import java.util.*;
 /**
  * Servlet pour l'affectation automatique des tâches
  * API REST endpoints:
- * POST /api/assignment/auto - Lance l'affectation automatique
- * POST /api/assignment/urgent - Affecte une tâche urgente
+ * POST /api/assignment/auto - Lance l'affectation automatique (gloutonne par priorité)
+ * POST /api/assignment/auto?strategy=optimal[&timeBudgetMs=N] - Affectation globale par flot
+ *     de coût minimum, repli sur le glouton si le budget de temps (2000 ms par défaut) est dépassé
+ * POST /api/assignment/auto?strategy=parallel[&partition=skills|team] - Glouton partitionné
+ *     (composantes de compétences, résultat identique ; ou par équipe + passe finale) en parallèle
+ * POST /api/assignment/auto?scoring=least-loaded|best-skill-fit|team-affinity - Choix du membre
+ *     parmi les candidats du glouton (plus d'heures restantes par défaut, niveaux les plus proches
+ *     des niveaux requis, ou équipe déjà la plus engagée sur le projet)
+ * POST /api/assignment/auto?capacity=calendar - Glouton avec capacité par jour : chaque tâche
+ *     réserve ses heures entre plannedStartDate et plannedEndDate ; scoring s'applique aux membres
+ *     ayant assez d'heures libres sur la fenêtre (least-loaded : le plus d'heures libres)
+ * POST /api/assignment/auto?async=true[&...] - Même affectation en tâche de fond (un job à la
+ *     fois, file bornée) : renvoie 202 et l'ID du job ; une demande identique à un job en
+ *     attente ou en cours renvoie ce job (coalesced)
+ * GET /api/assignment/jobs/{id} - État et avancement d'un job (tâches traitées, affectées,
+ *     en échec) puis résultat final
+ * POST /api/assignment/urgent?taskId=N - Affecte une tâche urgente
+ * POST /api/assignment/task?taskId=N - Place une seule tâche non assignée
+ *     (ces deux endpoints utilisent l'index en mémoire des membres, sans recharger membres et tâches)
+ * POST /api/assignment/simulate[?strategy=optimal|calendar&details=true] - Simulation (what-if) de
+ *     scénarios (tâches ajoutées/retirées, membres absents, disponibilités) sur un instantané,
+ *     en parallèle et sans écriture en base ; renvoie les écarts avec la situation actuelle
+ * POST /api/assignment/rebalance[?timeBudgetMs=N&dryRun=true] - Rééquilibre les tâches déjà
+ *     affectées (recherche locale, déplacements et échanges sous contrainte de compétences)
+ *     pour réduire la variance des charges ; meilleure solution trouvée dans le budget
  * GET /api/assignment/report - Génère un rapport d'affectation
+ * GET /api/assignment/schedule - Ordre topologique des tâches (task_dependency), dates de début
+ *     au plus tôt et tâches en cycle
+ *
+ * Les affectations enregistrées réservent les heures des membres retenus par compare-and-set sur
+ * leur version ; si une affectation concurrente les a modifiés, le calcul est refait (3 essais,
+ * puis 409).
+ *
+ * Les affectations traitent les tâches dans l'ordre topologique de leurs dépendances
+ * (priorité pour départager) ; les tâches en cycle ou planifiées avant la fin de leurs
+ * prérequis ne sont pas affectées.
  */
 @WebServlet("/api/assignment/*")
 public class TaskAssignmentServlet extends HttpServlet {
 
+    // Budget de temps par défaut de la stratégie "optimal"
+    private static final long DEFAULT_OPTIMAL_TIME_BUDGET_MS = 2000;
+    // Budget de temps par défaut du rééquilibrage
+    private static final long DEFAULT_REBALANCE_TIME_BUDGET_MS = 2000;
+    // Nombre maximal de scénarios par simulation
+    private static final int MAX_SIMULATION_SCENARIOS = 50;
+
     private Gson gson = new Gson();
+    // Lecture des scénarios : dates au format yyyy-MM-dd
+    private Gson requestGson = new GsonBuilder()
+            .registerTypeAdapter(java.time.LocalDate.class,
+                    (com.google.gson.JsonDeserializer<java.time.LocalDate>) (json, typeOfT,
+                            context) -> json == null || json.isJsonNull() ? null
+                                    : java.time.LocalDate.parse(json.getAsString()))
+            .create();
 
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response)
@@ -40,40 +88,23 @@ public class TaskAssignmentServlet extends HttpServlet {
 
         String pathInfo = request.getPathInfo();
 
-        try {
-            Connection conn = Connect.getConnection();
+        if ("/auto".equals(pathInfo) && "true".equals(request.getParameter("async"))) {
+            // Traité avant d'emprunter une connexion : seul le job en utilise une
+            submitAutoAssignment(request, response);
+            return;
+        }
+
+        try (Connection conn = Connect.getConnection()) {
             MemberDAO memberDAO = new MemberDAO(conn);
             TaskDAO taskDAO = new TaskDAO(conn);
 
             if ("/auto".equals(pathInfo)) {
                 // Affectation automatique de toutes les tâches non assignées
-                // Use getAllMembersWithSkills to ensure skill matching works
-                List<Member> members = memberDAO.getAllMembersWithSkills();
-                List<Task> tasks = taskDAO.getUnassignedTasks();
-
-                TaskAssignmentService service = new TaskAssignmentService(members, tasks);
-                AssignmentResult result = service.assignTasksAutomatically();
-
-                // Sauvegarder les affectations dans la base de données
-                Set<Integer> affectedMemberIds = new HashSet<>();
-                for (Map.Entry<Task, Member> entry : result.getSuccessfulAssignments().entrySet()) {
-                    Task task = entry.getKey();
-                    Member member = entry.getValue();
-                    taskDAO.assignTaskToMember(task.getId(), member.getId());
-                    affectedMemberIds.add(member.getId());
-                }
-                
-                // Recalculate workload for all affected members (single source of truth)
-                for (Integer memberId : affectedMemberIds) {
-                    memberDAO.recalculateMemberWorkload(memberId);
-                }
-
-                // Sauvegarder les alertes
-                AlertDAO alertDAO = new AlertDAO(conn);
-                for (Alert alert : result.getAlerts()) {
-                    alertDAO.addAlert(alert);
+                ScoringStrategy scoring = scoring(request, response);
+                if (scoring == null) {
+                    return;
                 }
-
+                AssignmentResult result = autoAssignmentRun(request, scoring).execute(conn, null);
                 response.getWriter().write(gson.toJson(result));
 
             } else if ("/urgent".equals(pathInfo)) {
@@ -95,40 +126,134 @@ public class TaskAssignmentServlet extends HttpServlet {
                     return;
                 }
 
-                // Use getAllMembersWithSkills for skill matching
-                List<Member> members = memberDAO.getAllMembersWithSkills();
-                List<Task> tasks = taskDAO.getAllTasks();
+                // Candidat choisi dans l'index en mémoire des membres ; l'affectation, les charges
+                // et les alertes sont enregistrées en une seule transaction (nouvel essai en cas de conflit,
+                // sur la tâche relue : son titulaire a pu changer)
+                AssignmentResult result = new AssignmentPersistenceService(conn).solveAndPersist(() -> {
+                    Task current = taskDAO.getTaskById(taskId);
+                    return new IncrementalAssignmentService(conn).reassignUrgentTask(current != null ? current : urgentTask);
+                });
 
-                TaskAssignmentService service = new TaskAssignmentService(members, tasks);
-                AssignmentResult result = service.reassignUrgentTask(urgentTask);
-
-                // Sauvegarder l'affectation
-                Set<Integer> affectedMemberIds = new HashSet<>();
-                for (Map.Entry<Task, Member> entry : result.getSuccessfulAssignments().entrySet()) {
-                    Task task = entry.getKey();
-                    Member member = entry.getValue();
-                    taskDAO.assignTaskToMember(task.getId(), member.getId());
-                    affectedMemberIds.add(member.getId());
-                }
-                
-                // Recalculate workload for all affected members (single source of truth)
-                for (Integer memberId : affectedMemberIds) {
-                    memberDAO.recalculateMemberWorkload(memberId);
+                response.getWriter().write(gson.toJson(result));
+
+            } else if ("/task".equals(pathInfo)) {
+                // Affectation incrémentale d'une seule tâche (nouvelle tâche)
+                String taskIdParam = request.getParameter("taskId");
+
+                if (taskIdParam == null) {
+                    response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                    response.getWriter().write("{\"error\": \"taskId requis\"}");
+                    return;
                 }
 
-                // Sauvegarder les alertes
-                AlertDAO alertDAO = new AlertDAO(conn);
-                for (Alert alert : result.getAlerts()) {
-                    alertDAO.addAlert(alert);
+                Task task = taskDAO.getTaskById(Integer.parseInt(taskIdParam));
+
+                if (task == null) {
+                    response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                    response.getWriter().write("{\"error\": \"Tâche non trouvée\"}");
+                    return;
                 }
+                if (task.getAssigneeId() > 0) {
+                    response.setStatus(HttpServletResponse.SC_CONFLICT);
+                    response.getWriter().write("{\"error\": \"Tâche déjà assignée\"}");
+                    return;
+                }
+
+                // Tâche relue à chaque essai : assignée entre-temps par une autre affectation, elle
+                // n'est pas réaffectée
+                AssignmentResult result = new AssignmentPersistenceService(conn).solveAndPersist(() -> {
+                    Task current = taskDAO.getTaskById(task.getId());
+                    if (current == null || current.getAssigneeId() > 0) {
+                        AssignmentResult unchanged = new AssignmentResult();
+                        unchanged.addMessage("ℹ Tâche '" + task.getName() + "' déjà assignée par une autre affectation");
+                        return unchanged;
+                    }
+                    return new IncrementalAssignmentService(conn).assignTask(current);
+                });
+
+                response.getWriter().write(gson.toJson(result));
+
+            } else if ("/rebalance".equals(pathInfo)) {
+                // Rééquilibrage des tâches déjà affectées (non terminées)
+                String budgetParam = request.getParameter("timeBudgetMs");
+                long timeBudgetMs = budgetParam != null ? Long.parseLong(budgetParam) : DEFAULT_REBALANCE_TIME_BUDGET_MS;
+                AssignmentPersistenceService.Solver rebalancer = () -> {
+                    List<Member> members = memberDAO.getAllMembersWithSkills();
+                    List<Task> assignedTasks = new ArrayList<>();
+                    for (Task task : taskDAO.getAllTasks()) {
+                        if (task.getAssigneeId() > 0) {
+                            assignedTasks.add(task);
+                        }
+                    }
+                    return new LoadRebalancer(members, assignedTasks).rebalance(timeBudgetMs);
+                };
+
+                // Déplacements enregistrés comme des affectations (charges recalculées)
+                AssignmentResult result = "true".equals(request.getParameter("dryRun")) ? rebalancer.solve()
+                        : new AssignmentPersistenceService(conn).solveAndPersist(rebalancer);
 
                 response.getWriter().write(gson.toJson(result));
 
+            } else if ("/simulate".equals(pathInfo)) {
+                // Simulation de scénarios : lecture seule, aucune affectation enregistrée
+                SimulationRequest simulation = requestGson.fromJson(request.getReader(), SimulationRequest.class);
+                if (simulation == null || simulation.scenarios == null || simulation.scenarios.isEmpty()) {
+                    response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                    response.getWriter().write("{\"error\": \"scenarios requis\"}");
+                    return;
+                }
+                if (simulation.scenarios.size() > MAX_SIMULATION_SCENARIOS) {
+                    response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                    response.getWriter().write("{\"error\": \"" + MAX_SIMULATION_SCENARIOS + " scénarios maximum\"}");
+                    return;
+                }
+
+                List<Member> members = memberDAO.getAllMembersWithSkills();
+                List<Task> tasks = taskDAO.getUnassignedTasks();
+                // Prédécesseurs des tâches existantes et des tâches ajoutées par les scénarios
+                List<Task> withAddedTasks = new ArrayList<>(tasks);
+                for (AssignmentSnapshot.Scenario scenario : simulation.scenarios) {
+                    if (scenario.getAddTasks() != null) {
+                        withAddedTasks.addAll(scenario.getAddTasks());
+                    }
+                }
+                List<Task> predecessors = taskDAO.getExternalPredecessors(withAddedTasks);
+
+                SimulationService simulator = new SimulationService(new AssignmentSnapshot(members, tasks, predecessors));
+                String strategy = request.getParameter("strategy");
+                if ("optimal".equals(strategy)) {
+                    String budgetParam = request.getParameter("timeBudgetMs");
+                    simulator.setStrategy(SimulationService.Strategy.OPTIMAL);
+                    simulator.setTimeBudgetMillis(budgetParam != null ? Long.parseLong(budgetParam) : DEFAULT_OPTIMAL_TIME_BUDGET_MS);
+                } else if ("calendar".equals(strategy) || "calendar".equals(request.getParameter("capacity"))) {
+                    simulator.setStrategy(SimulationService.Strategy.CALENDAR);
+                }
+                boolean details = "true".equals(request.getParameter("details"));
+
+                List<SimulationService.Outcome> outcomes = simulator.simulate(simulation.scenarios);
+                List<Map<String, Object>> scenarioViews = new ArrayList<>();
+                for (int i = 1; i < outcomes.size(); i++) {
+                    SimulationService.Outcome outcome = outcomes.get(i);
+                    Map<String, Object> view = summarize(outcome.getResult(), details);
+                    view.put("name", outcome.getScenario().getName() != null ? outcome.getScenario().getName() : "scenario-" + i);
+                    view.put("diff", outcome.getDiff());
+                    scenarioViews.add(view);
+                }
+
+                Map<String, Object> simulationView = new LinkedHashMap<>();
+                simulationView.put("baseline", summarize(outcomes.get(0).getResult(), details));
+                simulationView.put("scenarios", scenarioViews);
+                response.getWriter().write(gson.toJson(simulationView));
+
             } else {
                 response.setStatus(HttpServletResponse.SC_NOT_FOUND);
                 response.getWriter().write("{\"error\": \"Endpoint non trouvé\"}");
             }
 
+        } catch (CapacityConflictException e) {
+            // Membre encore modifié par d'autres affectations après les nouveaux essais
+            response.setStatus(HttpServletResponse.SC_CONFLICT);
+            response.getWriter().write("{\"error\": \"" + e.getMessage() + "\"}");
         } catch (Exception e) {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             response.getWriter().write("{\"error\": \"" + e.getMessage() + "\"}");
@@ -145,8 +270,24 @@ public class TaskAssignmentServlet extends HttpServlet {
 
         String pathInfo = request.getPathInfo();
 
-        try {
-            Connection conn = Connect.getConnection();
+        if (pathInfo != null && pathInfo.startsWith("/jobs/")) {
+            // Suivi d'une affectation lancée avec async=true : état en mémoire, sans connexion
+            AssignmentJobQueue.Job job = null;
+            try {
+                job = AssignmentJobQueue.get(Long.parseLong(pathInfo.substring("/jobs/".length())));
+            } catch (NumberFormatException e) {
+                // ID invalide : job inconnu
+            }
+            if (job == null) {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                response.getWriter().write("{\"error\": \"Job non trouvé\"}");
+                return;
+            }
+            response.getWriter().write(gson.toJson(describe(job)));
+            return;
+        }
+
+        try (Connection conn = Connect.getConnection()) {
 
             if ("/report".equals(pathInfo)) {
                 // Générer un rapport d'affectation
@@ -161,6 +302,34 @@ public class TaskAssignmentServlet extends HttpServlet {
 
                 response.getWriter().write(gson.toJson(new ReportResponse(report)));
 
+            } else if ("/schedule".equals(pathInfo)) {
+                // Ordonnancement par dépendances de toutes les tâches
+                List<Task> tasks = new TaskDAO(conn).getAllTasks();
+                DependencyGraph graph = new DependencyGraph(tasks);
+
+                List<Map<String, Object>> order = new ArrayList<>();
+                for (int v : graph.topologicalOrder(new int[graph.size()])) {
+                    Task task = graph.getTask(v);
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("taskId", task.getId());
+                    entry.put("name", task.getName());
+                    entry.put("plannedStartDate", toDateString(task.getPlannedStartDate()));
+                    entry.put("earliestStartDate", toDateString(graph.getEarliestStart(v)));
+                    entry.put("startsBeforePredecessors", graph.startsBeforePredecessors(v));
+                    order.add(entry);
+                }
+                List<Integer> cyclicTaskIds = new ArrayList<>();
+                for (Task task : graph.getCyclicTasks()) {
+                    cyclicTaskIds.add(task.getId());
+                }
+
+                Map<String, Object> schedule = new LinkedHashMap<>();
+                schedule.put("taskCount", graph.size());
+                schedule.put("dependencyCount", graph.edgeCount());
+                schedule.put("order", order);
+                schedule.put("cyclicTaskIds", cyclicTaskIds);
+                response.getWriter().write(gson.toJson(schedule));
+
             } else {
                 response.setStatus(HttpServletResponse.SC_NOT_FOUND);
                 response.getWriter().write("{\"error\": \"Endpoint non trouvé\"}");
@@ -172,6 +341,131 @@ public class TaskAssignmentServlet extends HttpServlet {
         }
     }
 
+    /**
+     * POST /auto?async=true : met l'affectation en file ; le job emprunte sa propre connexion
+     * au moment de s'exécuter
+     */
+    private void submitAutoAssignment(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            ScoringStrategy scoring = scoring(request, response);
+            if (scoring == null) {
+                return;
+            }
+            AutoAssignmentRun run = autoAssignmentRun(request, scoring);
+
+            AssignmentJobQueue.Submission submission;
+            try {
+                submission = AssignmentJobQueue.submit(run.key(), progress -> {
+                    try (Connection jobConn = Connect.getConnection()) {
+                        return run.execute(jobConn, progress);
+                    }
+                });
+            } catch (java.util.concurrent.RejectedExecutionException e) {
+                response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                response.getWriter().write("{\"error\": \"File d'attente des affectations pleine\"}");
+                return;
+            }
+
+            Map<String, Object> accepted = new LinkedHashMap<>();
+            accepted.put("jobId", submission.getJob().getId());
+            accepted.put("status", submission.getJob().getStatus());
+            accepted.put("coalesced", submission.isCoalesced());
+            response.setStatus(HttpServletResponse.SC_ACCEPTED);
+            response.setHeader("Location", request.getContextPath() + "/api/assignment/jobs/" + submission.getJob().getId());
+            response.getWriter().write(gson.toJson(accepted));
+        } catch (Exception e) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            response.getWriter().write("{\"error\": \"" + e.getMessage() + "\"}");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Paramètre scoring de POST /auto (least-loaded par défaut) ; null après une réponse 400
+     */
+    private static ScoringStrategy scoring(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (request.getParameter("scoring") == null) {
+            return ScoringStrategy.LEAST_LOADED;
+        }
+        ScoringStrategy scoring = ScoringStrategy.fromParameter(request.getParameter("scoring"));
+        if (scoring == null) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.getWriter().write("{\"error\": \"scoring inconnu (least-loaded, best-skill-fit, team-affinity)\"}");
+        }
+        return scoring;
+    }
+
+    /**
+     * Paramètres de POST /auto (strategy, partition, capacity, timeBudgetMs, scoring)
+     */
+    private static AutoAssignmentRun autoAssignmentRun(HttpServletRequest request, ScoringStrategy scoring) {
+        String strategy = request.getParameter("strategy");
+        String budgetParam = request.getParameter("timeBudgetMs");
+        long timeBudgetMs = budgetParam != null ? Long.parseLong(budgetParam) : DEFAULT_OPTIMAL_TIME_BUDGET_MS;
+        ParallelAssignmentService.Partitioning partitioning = "team".equals(request.getParameter("partition"))
+                ? ParallelAssignmentService.Partitioning.TEAM
+                : ParallelAssignmentService.Partitioning.SKILLS;
+        AutoAssignmentRun.Strategy runStrategy = "optimal".equals(strategy) ? AutoAssignmentRun.Strategy.OPTIMAL
+                : "parallel".equals(strategy) ? AutoAssignmentRun.Strategy.PARALLEL
+                : AutoAssignmentRun.Strategy.GREEDY;
+        return new AutoAssignmentRun(runStrategy, partitioning,
+                "calendar".equals(request.getParameter("capacity")), timeBudgetMs, scoring);
+    }
+
+    /**
+     * État, avancement et, une fois terminé, résultat d'un job d'affectation
+     */
+    private static Map<String, Object> describe(AssignmentJobQueue.Job job) {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("totalTasks", job.getTotalTasks());
+        progress.put("processedTasks", job.getProcessedTasks());
+        progress.put("assignedTasks", job.getAssignedTasks());
+        progress.put("failedTasks", job.getFailedTasks());
+
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("jobId", job.getId());
+        view.put("status", job.getStatus());
+        view.put("progress", progress);
+        view.put("submittedAt", job.getSubmittedAt());
+        if (job.getStartedAt() > 0) {
+            view.put("startedAt", job.getStartedAt());
+        }
+        if (job.getFinishedAt() > 0) {
+            view.put("finishedAt", job.getFinishedAt());
+        }
+        if (job.getError() != null) {
+            view.put("error", job.getError());
+        }
+        if (job.getResult() != null) {
+            view.put("result", job.getResult());
+        }
+        return view;
+    }
+
+    /**
+     * Compteurs et charges d'un résultat ; le résultat complet seulement si demandé
+     */
+    private static Map<String, Object> summarize(AssignmentResult result, boolean details) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("assignedCount", result.getSuccessCount());
+        summary.put("failedCount", result.getFailureCount());
+        summary.put("averageLoad", result.getAverageLoad());
+        summary.put("loadStandardDeviation", result.getLoadStandardDeviation());
+        if (details) {
+            summary.put("result", result);
+        }
+        return summary;
+    }
+
+    private static String toDateString(java.time.LocalDate date) {
+        return date != null ? date.toString() : null;
+    }
+
+    // Corps de POST /api/assignment/simulate
+    private static class SimulationRequest {
+        private List<AssignmentSnapshot.Scenario> scenarios;
+    }
+
     // Classe helper pour la réponse du rapport
     private static class ReportResponse {
         private String report;
@@ -10,8 +10,14 @@ import classes.MemberSkill;
 import classes.Connect;
 
 import dao.*;
+import service.AlertDeduplicator;
+import service.AlertService;
+import service.AssignmentPersistenceService;
+import service.AssignmentResult;
+import service.CapacityConflictException;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.*;
@@ -24,10 +30,13 @@ import java.util.List;
  * API REST endpoints:
  * GET /api/tasks - Liste toutes les tâches
  * GET /api/tasks?id=X - Récupère une tâche par ID
+ * GET /api/tasks?limit=N&after=ID - Page de tâches (filtres status, priority,
+ *     memberId, unassigned combinables) : {"items": [...], "nextCursor": ID|null}
  * POST /api/tasks - Crée une nouvelle tâche
  * PUT /api/tasks - Met à jour une tâche
  * DELETE /api/tasks?id=X - Supprime une tâche
- * POST /api/tasks/assign - Assigne une tâche à un membre
+ * POST /api/tasks/assign - Assigne une tâche à un membre (heures réservées sur la version lue du
+ *     membre, nouvel essai si une affectation concurrente l'a modifié ; 409 après 3 essais)
  */
 @WebServlet("/api/tasks/*")
 public class TaskServlet extends HttpServlet {
@@ -56,8 +65,7 @@ public class TaskServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
-            Connection conn = Connect.getConnection();
+        try (Connection conn = Connect.getConnection()) {
             TaskDAO taskDAO = new TaskDAO(conn);
 
             String pathInfo = request.getPathInfo();
@@ -66,8 +74,15 @@ public class TaskServlet extends HttpServlet {
             String priorityParam = request.getParameter("priority");
             String memberIdParam = request.getParameter("memberId");
             String unassignedParam = request.getParameter("unassigned");
-
-            if (idParam != null) {
+            PageRequest pageRequest = PageRequest.from(request);
+
+            if (idParam == null && pageRequest != null) {
+                // Pagination par curseur : les filtres se combinent
+                Page<Task> page = taskDAO.getTasksPage(statusParam, priorityParam,
+                        memberIdParam != null ? Integer.valueOf(memberIdParam) : null,
+                        "true".equals(unassignedParam), pageRequest.after, pageRequest.limit);
+                response.getWriter().write(gson.toJson(page));
+            } else if (idParam != null) {
                 // Récupérer une tâche spécifique
                 int id = Integer.parseInt(idParam);
                 Task task = taskDAO.getTaskById(id);
@@ -78,32 +93,22 @@ public class TaskServlet extends HttpServlet {
                     response.setStatus(HttpServletResponse.SC_NOT_FOUND);
                     response.getWriter().write("{\"error\": \"Tâche non trouvée\"}");
                 }
-            } else if (unassignedParam != null && unassignedParam.equals("true")) {
-                // Récupérer les tâches non assignées
-                List<Task> tasks = taskDAO.getUnassignedTasks();
-                response.getWriter().write(gson.toJson(tasks));
-            } else if (statusParam != null) {
-                // Récupérer les tâches par statut
-                List<Task> tasks = taskDAO.getTasksByStatus(statusParam);
-                response.getWriter().write(gson.toJson(tasks));
-            } else if (priorityParam != null) {
-                // Récupérer les tâches par priorité
-                List<Task> tasks = taskDAO.getTasksByPriority(priorityParam);
-                response.getWriter().write(gson.toJson(tasks));
-            } else if (memberIdParam != null) {
-                // Récupérer les tâches d'un membre
-                int memberId = Integer.parseInt(memberIdParam);
-                List<Task> tasks = taskDAO.getTasksByMember(memberId);
-                response.getWriter().write(gson.toJson(tasks));
             } else {
-                // Récupérer toutes les tâches
-                List<Task> tasks = taskDAO.getAllTasks();
-                response.getWriter().write(gson.toJson(tasks));
+                // Liste (filtrée ou complète) : chaque tâche est sérialisée dès sa lecture
+                // dans le ResultSet, sans matérialiser la liste ni la chaîne JSON complète
+                JsonWriter writer = gson.newJsonWriter(response.getWriter());
+                writer.beginArray();
+                taskDAO.streamTasks(statusParam, priorityParam,
+                        memberIdParam != null ? Integer.valueOf(memberIdParam) : null,
+                        "true".equals(unassignedParam),
+                        task -> gson.toJson(task, Task.class, writer));
+                writer.endArray();
+                writer.flush();
             }
 
         } catch (Exception e) {
-            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            response.getWriter().write("{\"error\": \"" + e.getMessage() + "\"}");
+            // La liste a pu être envoyée en partie : pas d'objet d'erreur ajouté au tableau
+            StreamingError.send(response, e);
         }
     }
 
@@ -116,8 +121,7 @@ public class TaskServlet extends HttpServlet {
 
         String pathInfo = request.getPathInfo();
 
-        try {
-            Connection conn = Connect.getConnection();
+        try (Connection conn = Connect.getConnection()) {
 
             // Endpoint pour assigner une tâche manuellement (Scenario 4)
             if ("/assign".equals(pathInfo)) {
@@ -147,9 +151,21 @@ public class TaskServlet extends HttpServlet {
                     return;
                 }
                 
-                if (taskDAO.assignTaskToMember(taskId, memberId)) {
-                    // Recalculate member workload from assigned tasks (single source of truth)
-                    memberDAO.recalculateMemberWorkload(memberId);
+                // Compare-and-set sur la version du membre relu à chaque essai ; la charge est ensuite
+                // recalculée depuis les tâches (single source of truth). L'affectation manuelle peut
+                // dépasser la capacité : la surcharge est signalée ci-dessous.
+                // La tâche est relue aussi : son titulaire précédent sert de garde à l'enregistrement
+                AssignmentResult assignment = new AssignmentPersistenceService(conn).solveAndPersist(() -> {
+                    AssignmentResult manual = new AssignmentResult();
+                    Task current = taskDAO.getTaskById(taskId);
+                    Member assignee = memberDAO.getMemberById(memberId);
+                    if (current != null && assignee != null) {
+                        manual.addSuccessfulAssignment(current, assignee);
+                    }
+                    return manual;
+                });
+
+                if (assignment.getSuccessCount() > 0) {
                     
                     // Get updated member data for response
                     Member updatedMember = memberDAO.getMemberById(memberId);
@@ -170,7 +186,12 @@ public class TaskServlet extends HttpServlet {
                             "'. Charge: " + newLoad + "h, Heures restantes: " + newRemainingHours + "h");
                         alert.setIssuedDate(java.time.LocalDate.now());
                         alert.setSeverityLevel("HIGH");
-                        alertDAO.addAlert(alert);
+                        alert.setFingerprint(AlertService.fingerprint("OVERLOAD", "member", memberId, "task", taskId));
+                        // Même alerte enregistrée récemment : pas de nouvelle écriture
+                        List<Alert> toStore = AlertDeduplicator.filter(java.util.Collections.singletonList(alert));
+                        if (!toStore.isEmpty() && alertDAO.addAlert(alert)) {
+                            AlertDeduplicator.record(toStore);
+                        }
                         alertMessage = alert.getMessage();
                     }
                     
@@ -204,6 +225,12 @@ public class TaskServlet extends HttpServlet {
 
                 TaskDAO taskDAO = new TaskDAO(conn);
 
+                if (startsBeforeDependencies(taskDAO, task)) {
+                    response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                    response.getWriter().write("{\"error\": \"plannedStartDate must be after the plannedEndDate of a dependency\"}");
+                    return;
+                }
+
                 if (taskDAO.addTask(task)) {
                     response.setStatus(HttpServletResponse.SC_CREATED);
                     response.getWriter().write(gson.toJson(task));
@@ -213,6 +240,10 @@ public class TaskServlet extends HttpServlet {
                 }
             }
 
+        } catch (CapacityConflictException e) {
+            // Membre encore modifié par d'autres affectations après les nouveaux essais
+            response.setStatus(HttpServletResponse.SC_CONFLICT);
+            response.getWriter().write("{\"error\": \"" + e.getMessage() + "\"}");
         } catch (Exception e) {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             response.getWriter().write("{\"error\": \"" + e.getMessage() + "\"}");
@@ -226,12 +257,17 @@ public class TaskServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             Task task = gson.fromJson(request.getReader(), Task.class);
 
-            Connection conn = Connect.getConnection();
             TaskDAO taskDAO = new TaskDAO(conn);
 
+            if (startsBeforeDependencies(taskDAO, task)) {
+                response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                response.getWriter().write("{\"error\": \"plannedStartDate must be after the plannedEndDate of a dependency\"}");
+                return;
+            }
+
             if (taskDAO.updateTask(task)) {
                 response.getWriter().write(gson.toJson(task));
             } else {
@@ -252,7 +288,7 @@ public class TaskServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             String idParam = request.getParameter("id");
 
             if (idParam == null) {
@@ -262,7 +298,6 @@ public class TaskServlet extends HttpServlet {
             }
 
             int id = Integer.parseInt(idParam);
-            Connection conn = Connect.getConnection();
             TaskDAO taskDAO = new TaskDAO(conn);
 
             if (taskDAO.deleteTask(id)) {
@@ -277,4 +312,21 @@ public class TaskServlet extends HttpServlet {
             response.getWriter().write("{\"error\": \"" + e.getMessage() + "\"}");
         }
     }
+
+    /**
+     * Une tâche ne peut pas être planifiée avant la fin planifiée de ses prérequis
+     * (fin incluse : au plus tôt le lendemain)
+     */
+    private boolean startsBeforeDependencies(TaskDAO taskDAO, Task task) {
+        if (task.getPlannedStartDate() == null || task.getDependencyIds().isEmpty()) {
+            return false;
+        }
+        for (Task dependency : taskDAO.getTasksByIds(task.getDependencyIds())) {
+            if (dependency.getPlannedEndDate() != null
+                    && !task.getPlannedStartDate().isAfter(dependency.getPlannedEndDate())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -45,8 +45,7 @@ public class TeamServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
-            Connection conn = Connect.getConnection();
+        try (Connection conn = Connect.getConnection()) {
             TeamDAO teamDAO = new TeamDAO(conn);
             MemberDAO memberDAO = new MemberDAO(conn);
 
@@ -111,10 +110,9 @@ public class TeamServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             Team team = gson.fromJson(request.getReader(), Team.class);
 
-            Connection conn = Connect.getConnection();
             TeamDAO teamDAO = new TeamDAO(conn);
 
             if (teamDAO.addTeam(team)) {
@@ -139,10 +137,9 @@ public class TeamServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             Team team = gson.fromJson(request.getReader(), Team.class);
 
-            Connection conn = Connect.getConnection();
             TeamDAO teamDAO = new TeamDAO(conn);
 
             if (teamDAO.updateTeam(team)) {
@@ -166,7 +163,7 @@ public class TeamServlet extends HttpServlet {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
-        try {
+        try (Connection conn = Connect.getConnection()) {
             String idParam = request.getParameter("id");
 
             if (idParam == null) {
@@ -177,7 +174,6 @@ public class TeamServlet extends HttpServlet {
 
             int id = Integer.parseInt(idParam);
 
-            Connection conn = Connect.getConnection();
             TeamDAO teamDAO = new TeamDAO(conn);
 
             if (teamDAO.deleteTeam(id)) {
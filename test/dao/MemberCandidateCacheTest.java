@@ -0,0 +1,248 @@
+package dao;
+
+import classes.Member;
+import classes.MemberSkill;
+import classes.Skill;
+import classes.Task;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MemberCandidateCacheTest {
+
+    private static final int SKILLS = 12;
+
+    // Contenu de la table member (les membres ne sont jamais modifiés en place)
+    private final Map<Integer, Member> database = new TreeMap<>();
+
+    @BeforeEach
+    void emptyCache() {
+        MemberCandidateCache.invalidate();
+        readAndApply(MemberCandidateCache.drainStale());
+    }
+
+    @Test
+    void lookupsMatchBruteForceOverRandomRefreshes() {
+        Random random = new Random(7);
+        for (int id = 1; id <= 30; id++) {
+            database.put(id, randomMember(random, id));
+        }
+        MemberCandidateCache.invalidate();
+        List<PendingRead> pending = new ArrayList<>();
+        int nextId = 31;
+
+        for (int step = 0; step < 20_000; step++) {
+            int action = random.nextInt(10);
+            if (action < 4) {
+                // Écriture sur un membre (ajout, modification ou suppression)
+                int id = 1 + random.nextInt(nextId);
+                if (id == nextId) {
+                    nextId++;
+                }
+                if (random.nextInt(8) == 0) {
+                    database.remove(id);
+                } else {
+                    database.put(id, randomMember(random, id));
+                }
+                if (random.nextInt(50) == 0) {
+                    MemberCandidateCache.invalidate();
+                } else {
+                    MemberCandidateCache.markStale(id);
+                }
+            } else if (action < 6) {
+                // Relecture lente : appliquée plus tard, dans le désordre
+                pending.add(read(MemberCandidateCache.drainStale()));
+            } else if (action < 7 && !pending.isEmpty()) {
+                pending.remove(random.nextInt(pending.size())).apply();
+            } else {
+                Collections.shuffle(pending, random);
+                for (PendingRead read : pending) {
+                    read.apply();
+                }
+                pending.clear();
+                readAndApply(MemberCandidateCache.drainStale());
+
+                Task task = randomTask(random);
+                Member best = MemberCandidateCache.best(task);
+                assertEquals(bruteForce(task), best != null ? best.getId() : null, "étape " + step);
+            }
+        }
+    }
+
+    @Test
+    void slowFullReloadDoesNotOverwriteNewerRefresh() {
+        database.put(1, member(1, 10, true, 1, 3));
+        database.put(2, member(2, 20, true, 1, 3));
+        MemberCandidateCache.invalidate();
+        PendingRead slowReload = read(MemberCandidateCache.drainStale());
+
+        // Le membre 2 est modifié puis relu pendant le rechargement complet
+        database.put(2, member(2, 5, true, 1, 3));
+        MemberCandidateCache.markStale(2);
+        readAndApply(MemberCandidateCache.drainStale());
+        slowReload.apply();
+
+        assertEquals(1, MemberCandidateCache.best(task(1, 1)).getId());
+    }
+
+    @Test
+    void olderRefreshOfTheSameMemberIsIgnored() {
+        database.put(1, member(1, 10, true, 1, 3));
+        database.put(2, member(2, 20, true, 1, 3));
+        MemberCandidateCache.invalidate();
+        readAndApply(MemberCandidateCache.drainStale());
+
+        MemberCandidateCache.markStale(2);
+        PendingRead older = read(MemberCandidateCache.drainStale());
+        database.put(2, member(2, 0, false, 1, 3));
+        MemberCandidateCache.markStale(2);
+        readAndApply(MemberCandidateCache.drainStale());
+        older.apply();
+
+        assertEquals(1, MemberCandidateCache.best(task(1, 1)).getId());
+        assertNull(MemberCandidateCache.best(task(1, 4)));
+    }
+
+    @Test
+    void fullReloadOlderThanTheInstalledOneIsIgnored() {
+        database.put(1, member(1, 10, true, 1, 3));
+        MemberCandidateCache.invalidate();
+        PendingRead older = read(MemberCandidateCache.drainStale());
+
+        database.put(1, member(1, 10, true, 2, 1));
+        MemberCandidateCache.invalidate();
+        readAndApply(MemberCandidateCache.drainStale());
+        older.apply();
+
+        assertNull(MemberCandidateCache.best(task(1, 1)));
+        assertEquals(1, MemberCandidateCache.best(task(2, 1)).getId());
+    }
+
+    /**
+     * Lecture en base correspondant à une prise de travail, comme MemberDAO.refreshCandidateCache
+     */
+    private PendingRead read(MemberCandidateCache.Drain drain) {
+        List<Member> rows = new ArrayList<>();
+        if (drain.memberIds == null) {
+            rows.addAll(database.values());
+        } else {
+            for (Integer id : drain.memberIds) {
+                if (database.containsKey(id)) {
+                    rows.add(database.get(id));
+                }
+            }
+        }
+        return new PendingRead(drain, rows);
+    }
+
+    private void readAndApply(MemberCandidateCache.Drain drain) {
+        read(drain).apply();
+    }
+
+    private Integer bruteForce(Task task) {
+        Member best = null;
+        for (Member member : database.values()) {
+            if (!member.isAvailable() || !covers(member, task)) {
+                continue;
+            }
+            if (best == null || member.getRemainingHours() > best.getRemainingHours()) {
+                best = member;
+            }
+        }
+        return best != null ? best.getId() : null;
+    }
+
+    private static boolean covers(Member member, Task task) {
+        for (Integer skillId : task.getRequiredSkillIds()) {
+            boolean found = false;
+            for (MemberSkill ms : member.getMemberSkills()) {
+                found |= ms.getSkillId() == skillId && ms.getLevel() >= task.getRequiredLevel(skillId);
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Member randomMember(Random random, int id) {
+        int[] skillLevels = new int[2 * (1 + random.nextInt(4))];
+        for (int i = 0; i < skillLevels.length; i += 2) {
+            skillLevels[i] = 1 + random.nextInt(SKILLS);
+            skillLevels[i + 1] = 1 + random.nextInt(MemberSkill.MAX_LEVEL);
+        }
+        return member(id, random.nextInt(9) * 5, random.nextInt(6) != 0, skillLevels);
+    }
+
+    private static Task randomTask(Random random) {
+        int first = 1 + random.nextInt(SKILLS);
+        int second = 1 + random.nextInt(SKILLS);
+        return random.nextBoolean() || first == second
+                ? task(first, 1 + random.nextInt(4))
+                : task(first, 1 + random.nextInt(3), second, 1 + random.nextInt(3));
+    }
+
+    /**
+     * @param skillLevels paires (skill ID, niveau) ; une compétence répétée garde son premier niveau
+     */
+    private static Member member(int id, double remainingHours, boolean available, int... skillLevels) {
+        Member member = new Member();
+        member.setId(id);
+        member.setRemainingHours(remainingHours);
+        member.setAvailable(available);
+        ArrayList<MemberSkill> memberSkills = new ArrayList<>();
+        List<Integer> seen = new ArrayList<>();
+        for (int i = 0; i < skillLevels.length; i += 2) {
+            if (!seen.contains(skillLevels[i])) {
+                seen.add(skillLevels[i]);
+                MemberSkill memberSkill = new MemberSkill(id * 100 + i, id, skillLevels[i], skillLevels[i + 1]);
+                memberSkill.setSkill(new Skill(skillLevels[i], "skill-" + skillLevels[i]));
+                memberSkills.add(memberSkill);
+            }
+        }
+        member.setMemberSkills(memberSkills);
+        return member;
+    }
+
+    /**
+     * @param skillLevels paires (skill ID, niveau requis)
+     */
+    private static Task task(int... skillLevels) {
+        Task task = new Task();
+        List<Integer> skillIds = new ArrayList<>();
+        for (int i = 0; i < skillLevels.length; i += 2) {
+            skillIds.add(skillLevels[i]);
+            task.getRequiredSkillLevels().put(skillLevels[i], skillLevels[i + 1]);
+        }
+        task.setRequiredSkillIds(skillIds);
+        return task;
+    }
+
+    private static final class PendingRead {
+        final MemberCandidateCache.Drain drain;
+        final List<Member> rows;
+
+        PendingRead(MemberCandidateCache.Drain drain, List<Member> rows) {
+            this.drain = drain;
+            this.rows = rows;
+        }
+
+        void apply() {
+            if (drain.memberIds == null) {
+                MemberCandidateCache.install(rows, drain.generation);
+            } else {
+                MemberCandidateCache.refresh(drain.memberIds, rows, drain.generation);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package service;
+
+import classes.Alert;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlertDeduplicatorTest {
+
+    // Empreintes propres à chaque test : la fenêtre est un état statique partagé
+    private final String prefix = UUID.randomUUID() + ":";
+
+    @Test
+    void repeatInsideTheWindowIsDropped() {
+        Alert first = alert("surcharge|7");
+        AlertDeduplicator.record(AlertDeduplicator.filter(Collections.singletonList(first)));
+
+        Alert repeat = alert("surcharge|7");
+        Alert other = alert("surcharge|8");
+        List<Alert> kept = AlertDeduplicator.filter(Arrays.asList(repeat, other));
+
+        assertEquals(1, kept.size());
+        assertSame(other, kept.get(0));
+    }
+
+    @Test
+    void duplicatesWithinOneBatchAreCollapsed() {
+        Alert first = alert("competence|3");
+        Alert second = alert("competence|3");
+        Alert third = alert("competence|4");
+
+        List<Alert> kept = AlertDeduplicator.filter(Arrays.asList(first, second, third));
+
+        assertEquals(Arrays.asList(first, third), kept);
+    }
+
+    @Test
+    void alertsWithoutFingerprintAlwaysPass() {
+        Alert manual = alert(null);
+        Alert again = alert(null);
+        AlertDeduplicator.record(Collections.singletonList(manual));
+
+        List<Alert> kept = AlertDeduplicator.filter(Arrays.asList(manual, again));
+
+        assertEquals(Arrays.asList(manual, again), kept);
+    }
+
+    @Test
+    void filteringWithoutRecordingDoesNotHideTheRetry() {
+        // Premier essai : filtré puis transaction annulée, record() n'est pas appelé
+        List<Alert> attempt = Collections.singletonList(alert("surcharge|9"));
+        assertEquals(1, AlertDeduplicator.filter(attempt).size());
+
+        // Essai suivant : l'alerte est toujours à enregistrer, puis écartée une fois validée
+        List<Alert> retry = AlertDeduplicator.filter(Collections.singletonList(alert("surcharge|9")));
+        assertEquals(1, retry.size());
+        AlertDeduplicator.record(retry);
+        assertTrue(AlertDeduplicator.filter(Collections.singletonList(alert("surcharge|9"))).isEmpty());
+    }
+
+    @Test
+    void persistRecordsAlertsOnlyAfterCommit() throws SQLException {
+        AssignmentResult result = new AssignmentResult();
+        result.addAlert(alert("surcharge|10"));
+
+        assertThrows(SQLException.class, () -> new AssignmentPersistenceService(connection(false)).persist(result));
+        assertEquals(1, AlertDeduplicator.filter(result.getAlerts()).size());
+
+        new AssignmentPersistenceService(connection(true)).persist(result);
+        assertTrue(AlertDeduplicator.filter(result.getAlerts()).isEmpty());
+    }
+
+    /**
+     * Connexion factice : chaque appel JDBC renvoie une valeur neutre (requêtes sans ligne),
+     * commit() échoue si commits est faux
+     */
+    private static Connection connection(boolean commits) {
+        return (Connection) jdbcProxy(Connection.class, commits);
+    }
+
+    private static Object jdbcProxy(Class<?> type, boolean commits) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            Class<?> returned = method.getReturnType();
+            if (method.getName().equals("commit") && !commits) {
+                throw new SQLException("Transaction annulée");
+            }
+            if (returned == boolean.class) {
+                return false;
+            }
+            if (returned == int.class || returned == long.class) {
+                return returned == int.class ? (Object) 0 : (Object) 0L;
+            }
+            if (returned == int[].class) {
+                return new int[0];
+            }
+            if (returned.isInterface() && returned.getName().startsWith("java.sql.")) {
+                return jdbcProxy(returned, commits);
+            }
+            return null;
+        });
+    }
+
+    private Alert alert(String fingerprint) {
+        Alert alert = new Alert();
+        alert.setType("OVERLOAD");
+        alert.setMessage("Alerte " + fingerprint);
+        alert.setFingerprint(fingerprint != null ? prefix + fingerprint : null);
+        return alert;
+    }
+}
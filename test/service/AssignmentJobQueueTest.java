@@ -0,0 +1,120 @@
+package service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssignmentJobQueueTest {
+
+    // Clés propres à chaque test : la file est un état statique partagé
+    private final String prefix = UUID.randomUUID() + "|";
+
+    @Test
+    void sameRunKeyCoalescesIntoOneJob() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        String greedy = prefix + run(false, ScoringStrategy.LEAST_LOADED).key();
+        String sameParameters = prefix + run(false, ScoringStrategy.LEAST_LOADED).key();
+        String calendar = prefix + run(true, ScoringStrategy.LEAST_LOADED).key();
+        try {
+            AssignmentJobQueue.Submission first = AssignmentJobQueue.submit(greedy, blocking(release));
+            AssignmentJobQueue.Submission second = AssignmentJobQueue.submit(sameParameters, blocking(release));
+            AssignmentJobQueue.Submission other = AssignmentJobQueue.submit(calendar, blocking(release));
+
+            assertFalse(first.isCoalesced());
+            assertTrue(second.isCoalesced());
+            assertSame(first.getJob(), second.getJob());
+            assertFalse(other.isCoalesced());
+            assertNotEquals(first.getJob().getId(), other.getJob().getId());
+            assertSame(first.getJob(), AssignmentJobQueue.get(first.getJob().getId()));
+
+            release.countDown();
+            awaitFinished(first.getJob());
+            awaitFinished(other.getJob());
+            assertEquals(AssignmentJobQueue.Status.DONE, first.getJob().getStatus());
+
+            // Job terminé : une nouvelle demande de même clé crée un nouveau job
+            AssignmentJobQueue.Submission again = AssignmentJobQueue.submit(greedy, blocking(release));
+            assertFalse(again.isCoalesced());
+            awaitFinished(again.getJob());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void fullQueueRejectsNewJobs() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<AssignmentJobQueue.Job> jobs = new ArrayList<>();
+        try {
+            // Le thread de travail est occupé : les demandes suivantes restent en file
+            jobs.add(AssignmentJobQueue.submit(prefix + "busy", progress -> {
+                running.countDown();
+                release.await();
+                return new AssignmentResult();
+            }).getJob());
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+
+            assertThrows(RejectedExecutionException.class, () -> {
+                for (int i = 0; ; i++) {
+                    jobs.add(AssignmentJobQueue.submit(prefix + i, blocking(release)).getJob());
+                }
+            });
+            assertEquals(1 + 8, jobs.size());
+            assertEquals(AssignmentJobQueue.Status.QUEUED, jobs.get(jobs.size() - 1).getStatus());
+        } finally {
+            release.countDown();
+        }
+        for (AssignmentJobQueue.Job job : jobs) {
+            awaitFinished(job);
+            assertEquals(AssignmentJobQueue.Status.DONE, job.getStatus());
+        }
+    }
+
+    @Test
+    void failedWorkIsReported() throws Exception {
+        AssignmentJobQueue.Job job = AssignmentJobQueue.submit(prefix + "failing", progress -> {
+            throw new IllegalStateException("Base indisponible");
+        }).getJob();
+
+        awaitFinished(job);
+        assertEquals(AssignmentJobQueue.Status.FAILED, job.getStatus());
+        assertEquals("Base indisponible", job.getError());
+    }
+
+    private static AutoAssignmentRun run(boolean calendar, ScoringStrategy scoring) {
+        return new AutoAssignmentRun(AutoAssignmentRun.Strategy.GREEDY,
+                ParallelAssignmentService.Partitioning.SKILLS, calendar, 0, scoring);
+    }
+
+    private static AssignmentJobQueue.Work blocking(CountDownLatch release) {
+        return progress -> {
+            release.await();
+            return new AssignmentResult();
+        };
+    }
+
+    private static void awaitFinished(AssignmentJobQueue.Job job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!isFinished(job) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(isFinished(job), "job " + job.getId() + " non terminé");
+    }
+
+    private static boolean isFinished(AssignmentJobQueue.Job job) {
+        return job.getStatus() == AssignmentJobQueue.Status.DONE || job.getStatus() == AssignmentJobQueue.Status.FAILED;
+    }
+}
@@ -0,0 +1,91 @@
+package service;
+
+import classes.Member;
+import classes.Task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CandidateHeapsTest {
+
+    // Même règle que least-loaded, mais hors de l'instance LEAST_LOADED : passe par le parcours
+    private static final AssignmentStrategy SCAN = (members, member, task) -> members.remaining(member);
+
+    @Test
+    void heapsPickTheSameMembersAsTheCandidateScan() {
+        for (long seed = 0; seed < 300; seed++) {
+            Random random = new Random(seed);
+            List<Member> members = Fixtures.randomMembers(random, 5 + random.nextInt(40), 8, 5);
+            List<Task> tasks = Fixtures.randomTasks(random, 20 + random.nextInt(200), 8, 3);
+
+            TaskAssignmentService heaps = new TaskAssignmentService(Fixtures.copy(members), tasks);
+            TaskAssignmentService scan = new TaskAssignmentService(Fixtures.copy(members), tasks);
+            scan.setStrategy(SCAN);
+
+            assertArrayEquals(Fixtures.assigneeIds(scan.assignTasksAutomatically(), tasks.size()),
+                    Fixtures.assigneeIds(heaps.assignTasksAutomatically(), tasks.size()), "graine " + seed);
+        }
+    }
+
+    @Test
+    void tiesGoToTheFirstMemberOfTheList() {
+        List<Member> members = Arrays.asList(
+                Fixtures.member(7, 40, 10, null, 1, 2),
+                Fixtures.member(3, 40, 10, null, 1, 2),
+                Fixtures.member(5, 40, 20, null, 1, 2));
+        SkillIndex index = new SkillIndex(members);
+        MemberTable table = new MemberTable(index);
+        CandidateHeaps heaps = new CandidateHeaps(index, table);
+
+        Task task = Fixtures.task(1, 4, "Haute", 1, 2);
+        assertEquals(0, heaps.best(index.requiredSkills(task), 4));
+        assertEquals(-1, heaps.best(index.requiredSkills(task), 31));
+        assertEquals(-1, heaps.best(index.requiredSkills(Fixtures.task(2, 1, "Haute", 1, 3)), 1));
+    }
+
+    @Test
+    void staleTopsAreCorrectedAndRisingHoursRebuildTheHeaps() {
+        List<Member> members = Arrays.asList(
+                Fixtures.member(1, 40, 0, null, 1, 1),
+                Fixtures.member(2, 40, 5, null, 1, 1));
+        SkillIndex index = new SkillIndex(members);
+        MemberTable table = new MemberTable(index);
+        CandidateHeaps heaps = new CandidateHeaps(index, table);
+        Task task = Fixtures.task(1, 10, "Haute", 1, 1);
+        assertEquals(0, heaps.best(index.requiredSkills(task), 1));
+
+        // Le premier membre perd 10 h : le second devient le meilleur
+        setLoad(members.get(0), 10);
+        updateTable(table, heaps, 0, task);
+        assertEquals(1, heaps.best(index.requiredSkills(task), 1));
+
+        // Le premier membre regagne des heures (hors affectation) : tas reconstruits
+        setLoad(members.get(0), 0);
+        updateTable(table, heaps, 0, task);
+        assertEquals(0, heaps.best(index.requiredSkills(task), 1));
+
+        // Membre devenu indisponible : retiré du tas
+        setLoad(members.get(0), 40);
+        updateTable(table, heaps, 0, task);
+        assertEquals(1, heaps.best(index.requiredSkills(task), 1));
+    }
+
+    private static void setLoad(Member member, double load) {
+        member.setCurrentLoad(load);
+        member.setRemainingHours(member.getWeeklyAvailability() - load);
+        member.setAvailable(member.getRemainingHours() > 0);
+    }
+
+    private static void updateTable(MemberTable table, CandidateHeaps heaps, int member, Task task) {
+        double previousRemaining = table.remaining(member);
+        boolean previouslyAvailable = table.isAvailable(member);
+        table.update(member, task);
+        heaps.updated(member, previousRemaining, previouslyAvailable);
+    }
+}
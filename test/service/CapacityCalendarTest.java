@@ -0,0 +1,141 @@
+package service;
+
+import classes.Member;
+import classes.Task;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CapacityCalendarTest {
+
+    // Lundi
+    private static final LocalDate MONDAY = LocalDate.of(2026, 1, 5);
+
+    @Test
+    void weekendsAreClosedAndCurrentLoadFillsTheFirstDays() {
+        // 40 h par semaine = 8 h par jour ouvré ; 10 h de charge : lundi plein, 2 h le mardi
+        CapacityCalendar calendar = new CapacityCalendar(
+                Arrays.asList(Fixtures.member(1, 40, 10, null, 1, 1)), MONDAY, 14);
+
+        assertEquals(0, calendar.freeHours(0, window(MONDAY, MONDAY)), 1e-9);
+        assertEquals(6, calendar.freeHours(0, window(MONDAY.plusDays(1), MONDAY.plusDays(1))), 1e-9);
+        assertEquals(0, calendar.freeHours(0, window(MONDAY.plusDays(5), MONDAY.plusDays(6))), 1e-9);
+        assertEquals(70, calendar.freeHours(0, window(MONDAY, MONDAY.plusDays(13))), 1e-9);
+    }
+
+    @Test
+    void reservationsTakeTheEarliestFreeDaysOfTheWindow() {
+        CapacityCalendar calendar = new CapacityCalendar(
+                Arrays.asList(Fixtures.member(1, 40, 0, null, 1, 1)), MONDAY, 7);
+        Task week = window(MONDAY, MONDAY.plusDays(4));
+        week.setEstimatedDuration(12);
+
+        assertTrue(calendar.reserve(0, week));
+        assertEquals(0, calendar.freeHours(0, window(MONDAY, MONDAY)), 1e-9);
+        assertEquals(4, calendar.freeHours(0, window(MONDAY.plusDays(1), MONDAY.plusDays(1))), 1e-9);
+
+        // Fenêtre d'un jour : 4 h libres le mardi, 5 h ne tiennent pas et rien n'est réservé
+        Task tuesday = window(MONDAY.plusDays(1), MONDAY.plusDays(1));
+        tuesday.setEstimatedDuration(5);
+        assertFalse(calendar.canTake(0, tuesday));
+        assertFalse(calendar.reserve(0, tuesday));
+        assertEquals(28, calendar.freeHours(0, week), 1e-9);
+    }
+
+    @Test
+    void windowsDefaultClampAndFallBackForOverdueTasks() {
+        CapacityCalendar calendar = new CapacityCalendar(
+                Arrays.asList(Fixtures.member(1, 40, 0, null, 1, 1)), MONDAY, 30);
+
+        assertArrayEquals(new int[] { 0, 6 }, calendar.window(window(null, null)));
+        assertArrayEquals(new int[] { 3, 9 }, calendar.window(window(MONDAY.plusDays(3), null)));
+        assertArrayEquals(new int[] { 0, 4 }, calendar.window(window(MONDAY.minusDays(10), MONDAY.plusDays(4))));
+        assertArrayEquals(new int[] { 0, 6 }, calendar.window(window(MONDAY.minusDays(10), MONDAY.minusDays(2))));
+        assertArrayEquals(new int[] { 20, 29 }, calendar.window(window(MONDAY.plusDays(20), MONDAY.plusDays(90))));
+        assertArrayEquals(new int[] { 29, 29 }, calendar.window(window(MONDAY.plusDays(40), MONDAY.plusDays(45))));
+    }
+
+    @Test
+    void forTasksCoversTheLatestWindow() {
+        List<Member> members = Arrays.asList(Fixtures.member(1, 40, 0, null, 1, 1));
+        assertEquals(7, CapacityCalendar.forTasks(members, Arrays.asList(window(null, null)), MONDAY).getDays());
+        assertEquals(15, CapacityCalendar.forTasks(members,
+                Arrays.asList(window(MONDAY.plusDays(2), MONDAY.plusDays(14)), window(null, null)), MONDAY).getDays());
+        assertEquals(16, CapacityCalendar.forTasks(members,
+                Arrays.asList(window(MONDAY.plusDays(9), null)), MONDAY).getDays());
+    }
+
+    @Test
+    void fenwickSumsMatchAPlainDayByDayModel() {
+        for (long seed = 0; seed < 100; seed++) {
+            Random random = new Random(seed);
+            List<Member> members = Fixtures.randomMembers(random, 1 + random.nextInt(6), 3, 3);
+            LocalDate origin = MONDAY.plusDays(random.nextInt(7));
+            int days = 1 + random.nextInt(60);
+            CapacityCalendar calendar = new CapacityCalendar(members, origin, days);
+            int[][] model = model(members, origin, days);
+
+            for (int step = 0; step < 300; step++) {
+                int m = random.nextInt(members.size());
+                LocalDate start = random.nextInt(5) == 0 ? null : origin.plusDays(random.nextInt(days + 10) - 5);
+                LocalDate end = random.nextInt(5) == 0 ? null
+                        : start != null ? start.plusDays(random.nextInt(15)) : origin.plusDays(random.nextInt(15) - 8);
+                Task task = window(start, end);
+                task.setEstimatedDuration(0.25 * (1 + random.nextInt(40)));
+
+                int[] window = calendar.window(task);
+                int free = 0;
+                for (int d = window[0]; d <= window[1]; d++) {
+                    free += model[m][d];
+                }
+                String label = "graine " + seed + ", étape " + step;
+                assertEquals(free / 100.0, calendar.freeHours(m, task), 1e-9, label);
+
+                int units = (int) Math.round(task.getEstimatedDuration() * 100);
+                assertEquals(free >= units, calendar.reserve(m, task), label);
+                for (int d = window[0]; d <= window[1] && free >= units && units > 0; d++) {
+                    int taken = Math.min(model[m][d], units);
+                    model[m][d] -= taken;
+                    units -= taken;
+                }
+            }
+        }
+    }
+
+    /**
+     * Heures libres jour par jour, en centièmes d'heure, charge actuelle réservée au plus tôt
+     */
+    private static int[][] model(List<Member> members, LocalDate origin, int days) {
+        int[][] model = new int[members.size()][days];
+        for (int m = 0; m < members.size(); m++) {
+            Member member = members.get(m);
+            int daily = (int) Math.round(member.getWeeklyAvailability() / 5 * 100);
+            int load = (int) Math.round(member.getCurrentLoad() * 100);
+            for (int d = 0; d < days; d++) {
+                DayOfWeek dayOfWeek = origin.plusDays(d).getDayOfWeek();
+                boolean weekend = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+                int taken = weekend ? 0 : Math.min(daily, load);
+                model[m][d] = (weekend ? 0 : daily) - taken;
+                load -= taken;
+            }
+        }
+        return model;
+    }
+
+    private static Task window(LocalDate start, LocalDate end) {
+        Task task = Fixtures.task(1, 1, "Haute", 1, 1);
+        task.setPlannedStartDate(start);
+        task.setPlannedEndDate(end);
+        return task;
+    }
+}
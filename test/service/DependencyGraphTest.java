@@ -0,0 +1,205 @@
+package service;
+
+import classes.Task;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DependencyGraphTest {
+
+    // Lundi
+    private static final LocalDate MONDAY = LocalDate.of(2026, 1, 5);
+
+    @Test
+    void cyclesAndTheirDescendantsAreCyclic() {
+        // 2 et 3 dépendent l'un de l'autre, 4 dépend de 3 ; 1 et 5 sont hors cycle
+        List<Task> tasks = Arrays.asList(
+                task(1, 8, "Haute"),
+                task(2, 8, "Haute", 1, 3),
+                task(3, 8, "Haute", 2),
+                task(4, 8, "Haute", 3),
+                task(5, 8, "Haute"));
+        DependencyGraph graph = new DependencyGraph(tasks);
+
+        assertEquals(4, graph.edgeCount());
+        boolean[] cyclic = new boolean[tasks.size()];
+        for (int v = 0; v < tasks.size(); v++) {
+            cyclic[v] = graph.isCyclic(v);
+        }
+        assertArrayEquals(new boolean[] { false, true, true, true, false }, cyclic);
+        assertArrayEquals(new int[] { 0, 4 }, graph.topologicalOrder(new int[] { 0, 1, 2, 3, 4 }));
+        assertNull(graph.getEarliestStart(3));
+    }
+
+    @Test
+    void earliestStartFollowsPlannedEndsAndDurations() {
+        // 1 : fin planifiée vendredi (incluse) ; 3 : 20 h sans fin planifiée, soit 3 journées
+        Task plannedEnd = task(1, 8, "Haute");
+        plannedEnd.setPlannedStartDate(MONDAY);
+        plannedEnd.setPlannedEndDate(MONDAY.plusDays(4));
+        Task afterPlannedEnd = task(2, 8, "Haute", 1);
+        Task byDuration = task(3, 20, "Haute");
+        byDuration.setPlannedStartDate(MONDAY);
+        Task afterDuration = task(4, 8, "Haute", 3);
+        Task plannedLater = task(5, 8, "Haute", 3);
+        plannedLater.setPlannedStartDate(MONDAY.plusDays(7));
+        Task chained = task(6, 16, "Haute", 4);
+        Task undated = task(7, 8, "Haute");
+        DependencyGraph graph = new DependencyGraph(Arrays.asList(
+                plannedEnd, afterPlannedEnd, byDuration, afterDuration, plannedLater, chained, undated));
+
+        assertEquals(MONDAY.plusDays(5), graph.getPredecessorsEnd(1));
+        assertEquals(MONDAY.plusDays(5), graph.getEarliestStart(1));
+        assertEquals(MONDAY.plusDays(3), graph.getEarliestStart(3));
+        assertEquals(MONDAY.plusDays(7), graph.getEarliestStart(4));
+        assertEquals(MONDAY.plusDays(4), graph.getEarliestStart(5));
+        assertEquals(MONDAY, graph.getEarliestStart(0));
+        assertNull(graph.getPredecessorsEnd(0));
+        assertNull(graph.getEarliestStart(6));
+    }
+
+    @Test
+    void startingOnAPredecessorsLastPlannedDayIsTooEarly() {
+        Task predecessor = task(1, 8, "Haute");
+        predecessor.setPlannedStartDate(MONDAY);
+        predecessor.setPlannedEndDate(MONDAY.plusDays(2));
+        Task sameDay = task(2, 8, "Haute", 1);
+        sameDay.setPlannedStartDate(MONDAY.plusDays(2));
+        Task nextDay = task(3, 8, "Haute", 1);
+        nextDay.setPlannedStartDate(MONDAY.plusDays(3));
+        // 8 h sans fin planifiée : occupe le lundi, le successeur peut commencer mardi
+        Task oneDay = task(4, 8, "Haute");
+        oneDay.setPlannedStartDate(MONDAY);
+        Task sameDayAsDuration = task(5, 8, "Haute", 4);
+        sameDayAsDuration.setPlannedStartDate(MONDAY);
+        Task afterDuration = task(6, 8, "Haute", 4);
+        afterDuration.setPlannedStartDate(MONDAY.plusDays(1));
+        Task unplanned = task(7, 8, "Haute", 1);
+        DependencyGraph graph = new DependencyGraph(Arrays.asList(
+                predecessor, sameDay, nextDay, oneDay, sameDayAsDuration, afterDuration, unplanned));
+
+        assertTrue(graph.startsBeforePredecessors(1));
+        assertFalse(graph.startsBeforePredecessors(2));
+        assertTrue(graph.startsBeforePredecessors(4));
+        assertFalse(graph.startsBeforePredecessors(5));
+        assertFalse(graph.startsBeforePredecessors(6));
+        assertFalse(graph.startsBeforePredecessors(0));
+    }
+
+    @Test
+    void readyTasksAreTakenByRank() {
+        // 3 est prête et mieux classée que 1 ; 2 attend 1 malgré son rang 0
+        DependencyGraph graph = new DependencyGraph(Arrays.asList(
+                task(1, 8, "Haute"),
+                task(2, 8, "Haute", 1),
+                task(3, 8, "Haute")));
+        assertArrayEquals(new int[] { 2, 0, 1 }, graph.topologicalOrder(new int[] { 2, 0, 1 }));
+
+        for (long seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            List<Task> tasks = randomDag(random, 1 + random.nextInt(60));
+            int[] rank = new int[tasks.size()];
+            for (int v = 0; v < rank.length; v++) {
+                rank[v] = random.nextInt(rank.length);
+            }
+            DependencyGraph dag = new DependencyGraph(tasks);
+            assertArrayEquals(smallestReadyFirst(dag, tasks, rank), dag.topologicalOrder(rank),
+                    "graine " + seed);
+        }
+    }
+
+    @Test
+    void orderTasksRefusesCyclicAndEarlyTasks() {
+        // Prérequis déjà assigné (hors liste) se terminant mercredi
+        Task external = task(10, 8, "Haute");
+        external.setPlannedEndDate(MONDAY.plusDays(2));
+        Task early = task(1, 8, "Haute", 10);
+        early.setPlannedStartDate(MONDAY.plusDays(2));
+        Task onTime = task(2, 8, "Basse", 10);
+        onTime.setPlannedStartDate(MONDAY.plusDays(3));
+        Task successor = task(3, 8, "Haute", 2);
+        Task cycleA = task(4, 8, "Haute", 5);
+        Task cycleB = task(5, 8, "Moyenne", 4);
+        Task free = task(6, 8, "Moyenne");
+        List<Task> tasks = Arrays.asList(early, onTime, successor, cycleA, cycleB, free);
+
+        TaskAssignmentService service = new TaskAssignmentService(new ArrayList<>(), tasks);
+        service.setPredecessorTasks(Arrays.asList(external));
+        AssignmentResult result = new AssignmentResult();
+        List<Task> ordered = service.orderTasks(tasks, result);
+
+        List<Integer> orderedIds = new ArrayList<>();
+        for (Task task : ordered) {
+            orderedIds.add(task.getId());
+        }
+        // La tâche basse passe avant la tâche haute qui en dépend
+        assertEquals(Arrays.asList(6, 2, 3), orderedIds);
+        assertEquals(3, result.getFailureCount());
+        assertTrue(result.getFailedAssignments().get(1).startsWith("Début planifié"));
+        assertEquals("Dépendance circulaire", result.getFailedAssignments().get(4));
+        assertEquals("Dépendance circulaire", result.getFailedAssignments().get(5));
+    }
+
+    /**
+     * Référence en O(n²) : à chaque étape, la tâche prête de plus petit rang (puis position)
+     */
+    private static int[] smallestReadyFirst(DependencyGraph graph, List<Task> tasks, int[] rank) {
+        int n = tasks.size();
+        boolean[] done = new boolean[n];
+        int[] order = new int[n];
+        for (int count = 0; count < n; count++) {
+            int best = -1;
+            for (int v = 0; v < n; v++) {
+                if (done[v]) {
+                    continue;
+                }
+                boolean ready = true;
+                for (Integer dependencyId : tasks.get(v).getDependencyIds()) {
+                    ready &= done[graph.indexOf(dependencyId)];
+                }
+                if (ready && (best < 0 || rank[v] < rank[best])) {
+                    best = v;
+                }
+            }
+            done[best] = true;
+            order[count] = best;
+        }
+        return order;
+    }
+
+    /**
+     * Dépendances vers des IDs plus petits uniquement (aucun cycle), IDs non denses
+     */
+    private static List<Task> randomDag(Random random, int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int v = 0; v < count; v++) {
+            Task task = task(100 + 7 * v, 8, "Haute");
+            List<Integer> dependencyIds = new ArrayList<>();
+            for (int u = 0; u < v; u++) {
+                if (random.nextInt(Math.max(1, v / 2)) == 0) {
+                    dependencyIds.add(100 + 7 * u);
+                }
+            }
+            task.setDependencyIds(dependencyIds);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static Task task(int id, double duration, String priority, Integer... dependencyIds) {
+        Task task = Fixtures.task(id, duration, priority, 1, 1);
+        task.setDependencyIds(new ArrayList<>(Arrays.asList(dependencyIds)));
+        return task;
+    }
+}
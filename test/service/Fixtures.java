@@ -0,0 +1,143 @@
+package service;
+
+import classes.Member;
+import classes.MemberSkill;
+import classes.Skill;
+import classes.Task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Membres et tâches de test : construits à la main, ou tirés au hasard avec une graine fixe
+ * (compétences les plus petites les plus répandues, comme le jeu de données des benchmarks)
+ */
+final class Fixtures {
+
+    private static final String[] PRIORITIES = { "Haute", "Moyenne", "Basse" };
+
+    private Fixtures() {
+    }
+
+    /**
+     * @param skillLevels paires (skill ID, niveau)
+     */
+    static Member member(int id, double weeklyAvailability, double currentLoad, Integer teamId, int... skillLevels) {
+        Member member = new Member();
+        member.setId(id);
+        member.setFirstName("Membre");
+        member.setLastName(String.valueOf(id));
+        member.setTeamId(teamId);
+        member.setWeeklyAvailability(weeklyAvailability);
+        member.setCurrentLoad(currentLoad);
+        member.setRemainingHours(weeklyAvailability - currentLoad);
+        member.setAvailable(member.getRemainingHours() > 0);
+        ArrayList<MemberSkill> memberSkills = new ArrayList<>();
+        for (int i = 0; i < skillLevels.length; i += 2) {
+            MemberSkill memberSkill = new MemberSkill(id * 100 + i, id, skillLevels[i], skillLevels[i + 1]);
+            memberSkill.setSkill(new Skill(skillLevels[i], "skill-" + skillLevels[i]));
+            memberSkills.add(memberSkill);
+        }
+        member.setMemberSkills(memberSkills);
+        return member;
+    }
+
+    /**
+     * @param skillLevels paires (skill ID, niveau requis)
+     */
+    static Task task(int id, double duration, String priority, int... skillLevels) {
+        Task task = new Task(id, "Tâche " + id, "", duration, null, null, priority, "A faire");
+        List<Integer> requiredSkillIds = new ArrayList<>();
+        for (int i = 0; i < skillLevels.length; i += 2) {
+            requiredSkillIds.add(skillLevels[i]);
+            task.getRequiredSkillLevels().put(skillLevels[i], skillLevels[i + 1]);
+        }
+        task.setRequiredSkillIds(requiredSkillIds);
+        return task;
+    }
+
+    static List<Member> randomMembers(Random random, int count, int skillCount, int maxLevel) {
+        List<Member> members = new ArrayList<>(count);
+        for (int m = 1; m <= count; m++) {
+            double weekly = 20 + 5 * random.nextInt(5);
+            List<Integer> skillIds = pickSkills(random, skillCount, 1 + random.nextInt(4));
+            int[] skillLevels = new int[skillIds.size() * 2];
+            for (int i = 0; i < skillIds.size(); i++) {
+                skillLevels[2 * i] = skillIds.get(i);
+                skillLevels[2 * i + 1] = 1 + random.nextInt(maxLevel);
+            }
+            members.add(member(m, weekly, Math.floor(random.nextDouble() * 0.8 * weekly),
+                    1 + random.nextInt(Math.max(1, count / 5)), skillLevels));
+        }
+        return members;
+    }
+
+    static List<Task> randomTasks(Random random, int count, int skillCount, int maxLevel) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int t = 1; t <= count; t++) {
+            List<Integer> skillIds = pickSkills(random, skillCount, 1 + random.nextInt(2));
+            int[] skillLevels = new int[skillIds.size() * 2];
+            for (int i = 0; i < skillIds.size(); i++) {
+                skillLevels[2 * i] = skillIds.get(i);
+                skillLevels[2 * i + 1] = 1 + random.nextInt(maxLevel);
+            }
+            Task task = task(t, 1 + random.nextInt(8), PRIORITIES[random.nextInt(PRIORITIES.length)], skillLevels);
+            task.setProjectId(1 + random.nextInt(3));
+            LocalDate start = LocalDate.of(2026, 1, 5).plusDays(random.nextInt(20));
+            task.setPlannedStartDate(start);
+            task.setPlannedEndDate(start.plusDays(random.nextInt(8)));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Copie des membres avec leur charge (l'affectation modifie les membres)
+     */
+    static List<Member> copy(List<Member> members) {
+        List<Member> copies = new ArrayList<>(members.size());
+        for (Member source : members) {
+            Member member = new Member();
+            member.setId(source.getId());
+            member.setFirstName(source.getFirstName());
+            member.setLastName(source.getLastName());
+            member.setTeamId(source.getTeamId());
+            member.setWeeklyAvailability(source.getWeeklyAvailability());
+            member.setCurrentLoad(source.getCurrentLoad());
+            member.setRemainingHours(source.getRemainingHours());
+            member.setAvailable(source.isAvailable());
+            member.setMemberSkills(source.getMemberSkills());
+            copies.add(member);
+        }
+        return copies;
+    }
+
+    /**
+     * Membre retenu pour chaque tâche (ID de tâche -> ID de membre, 0 si non placée)
+     */
+    static int[] assigneeIds(AssignmentResult result, int taskCount) {
+        int[] assignees = new int[taskCount + 1];
+        for (Map.Entry<Integer, Member> entry : result.getSuccessfulAssignments().entrySet()) {
+            assignees[entry.getKey()] = entry.getValue().getId();
+        }
+        return assignees;
+    }
+
+    private static List<Integer> pickSkills(Random random, int skillCount, int count) {
+        BitSet picked = new BitSet();
+        List<Integer> skillIds = new ArrayList<>(count);
+        while (skillIds.size() < Math.min(count, skillCount)) {
+            double u = random.nextDouble();
+            int skillId = 1 + (int) (skillCount * u * u);
+            if (!picked.get(skillId)) {
+                picked.set(skillId);
+                skillIds.add(skillId);
+            }
+        }
+        return skillIds;
+    }
+}
@@ -0,0 +1,256 @@
+package service;
+
+import classes.Member;
+import classes.Task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadRebalancerTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void movesATaskToTheIdleMember() {
+        List<Member> members = Arrays.asList(
+                Fixtures.member(1, 40, 12, null, 1, 1),
+                Fixtures.member(2, 40, 0, null, 1, 1));
+        List<Task> tasks = Arrays.asList(assigned(1, 6, 1, 1, 1), assigned(2, 6, 1, 1, 1));
+
+        AssignmentResult result = new LoadRebalancer(members, tasks).rebalance(1000);
+
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(6, members.get(0).getCurrentLoad(), EPSILON);
+        assertEquals(6, members.get(1).getCurrentLoad(), EPSILON);
+        assertEquals(0, result.getLoadStandardDeviation(), EPSILON);
+    }
+
+    @Test
+    void receiversStayWithinTheirWeeklyAvailability() {
+        // Déplacer 6 h ou échanger 6 h contre 3 h équilibrerait mieux, mais le second membre
+        // (déjà en surcharge) ne peut que voir sa charge baisser
+        List<Member> members = Arrays.asList(
+                Fixtures.member(1, 40, 12, null, 1, 1),
+                Fixtures.member(2, 2, 3, null, 1, 1));
+        List<Task> tasks = Arrays.asList(assigned(1, 6, 1, 1, 1), assigned(2, 6, 1, 1, 1), assigned(3, 3, 2, 1, 1));
+
+        AssignmentResult result = new LoadRebalancer(members, tasks).rebalance(1000);
+
+        assertEquals(0, result.getSuccessCount());
+        assertEquals(12, members.get(0).getCurrentLoad(), EPSILON);
+        assertEquals(3, members.get(1).getCurrentLoad(), EPSILON);
+    }
+
+    @Test
+    void swapsWhenNoSingleMoveFits() {
+        // Déplacer 5 h dépasserait la disponibilité du second membre ; l'échange 5 h / 2 h tient
+        List<Member> members = Arrays.asList(
+                Fixtures.member(1, 10, 10, null, 1, 1),
+                Fixtures.member(2, 5, 2, null, 1, 1));
+        List<Task> tasks = Arrays.asList(assigned(1, 5, 1, 1, 1), assigned(2, 5, 1, 1, 1), assigned(3, 2, 2, 1, 1));
+
+        AssignmentResult result = new LoadRebalancer(members, tasks).rebalance(1000);
+
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(1, result.getAssignee(3).getId());
+        assertEquals(7, members.get(0).getCurrentLoad(), EPSILON);
+        assertEquals(5, members.get(1).getCurrentLoad(), EPSILON);
+    }
+
+    @Test
+    void completedTasksAndUnqualifiedMembersAreLeftAlone() {
+        List<Member> members = Arrays.asList(
+                Fixtures.member(1, 40, 18, null, 1, 1, 2, 3),
+                Fixtures.member(2, 40, 0, null, 1, 1, 2, 1));
+        Task done = assigned(1, 6, 1, 1, 1);
+        done.setStatus("Terminée");
+        Task expert = assigned(2, 6, 1, 2, 3);
+        Task open = assigned(3, 6, 1, 1, 1);
+        List<Task> tasks = Arrays.asList(done, expert, open);
+
+        AssignmentResult result = new LoadRebalancer(members, tasks).rebalance(1000);
+
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(2, result.getAssignee(3).getId());
+        assertEquals(12, members.get(0).getCurrentLoad(), EPSILON);
+    }
+
+    @Test
+    void randomRebalancesKeepLoadsConsistentAndNeverWorsen() {
+        for (long seed = 0; seed < 100; seed++) {
+            Random random = new Random(seed);
+            List<Member> members = Fixtures.randomMembers(random, 2 + random.nextInt(20), 6, 5);
+            List<Task> tasks = randomAssignedTasks(random, members, 10 + random.nextInt(80));
+            String label = "graine " + seed;
+
+            double[] initialLoad = new double[members.size()];
+            Map<Integer, Integer> indexById = new HashMap<>();
+            for (int m = 0; m < members.size(); m++) {
+                initialLoad[m] = members.get(m).getCurrentLoad();
+                indexById.put(members.get(m).getId(), m);
+            }
+            double initialDeviation = deviation(initialLoad);
+            SkillIndex index = new SkillIndex(members);
+
+            AssignmentResult result = new LoadRebalancer(members, tasks).rebalance(5000);
+
+            // Charges finales = charges initiales + tâches déplacées
+            double[] expectedLoad = initialLoad.clone();
+            for (Integer taskId : result.getSuccessfulAssignments().keySet()) {
+                Task task = result.getTask(taskId);
+                int to = indexById.get(result.getAssignee(taskId).getId());
+                assertTrue(!"Terminée".equals(task.getStatus()), label + " : tâche terminée déplacée");
+                assertTrue(index.qualifiedMembers(task).get(to), label + " : membre non qualifié");
+                expectedLoad[indexById.get(task.getAssigneeId())] -= task.getEstimatedDuration();
+                expectedLoad[to] += task.getEstimatedDuration();
+            }
+            double[] finalLoad = new double[members.size()];
+            for (int m = 0; m < members.size(); m++) {
+                Member member = members.get(m);
+                finalLoad[m] = member.getCurrentLoad();
+                assertEquals(expectedLoad[m], finalLoad[m], 1e-6, label);
+                assertEquals(member.getWeeklyAvailability() - finalLoad[m], member.getRemainingHours(), 1e-6, label);
+                assertTrue(finalLoad[m] <= Math.max(initialLoad[m], member.getWeeklyAvailability()) + 1e-6,
+                        label + " : membre " + member.getId() + " au-delà de sa disponibilité");
+            }
+
+            assertEquals(deviation(finalLoad), result.getLoadStandardDeviation(), 1e-6, label);
+            assertTrue(result.getLoadStandardDeviation() <= initialDeviation + 1e-6, label);
+            assertLocalOptimum(members, tasks, result, finalLoad, label);
+        }
+    }
+
+    /**
+     * Aucun déplacement ni échange réalisable depuis un membre au-dessus de la charge moyenne
+     * ne diminue encore la somme des carrés des charges (recalculée ici membre par membre,
+     * sans les formules incrémentales du rééquilibreur)
+     */
+    private static void assertLocalOptimum(List<Member> members, List<Task> tasks, AssignmentResult result,
+            double[] load, String label) {
+        SkillIndex index = new SkillIndex(members);
+        Map<Integer, Integer> indexById = new HashMap<>();
+        for (int m = 0; m < members.size(); m++) {
+            indexById.put(members.get(m).getId(), m);
+        }
+        List<Task> open = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        for (Task task : tasks) {
+            if (!"Terminée".equals(task.getStatus())) {
+                Member assignee = result.getAssignee(task.getId());
+                open.add(task);
+                owners.add(indexById.get(assignee != null ? assignee.getId() : task.getAssigneeId()));
+            }
+        }
+        double squares = sumOfSquares(load);
+        double mean = 0;
+        for (double l : load) {
+            mean += l / load.length;
+        }
+        for (int t = 0; t < open.size(); t++) {
+            int a = owners.get(t);
+            if (load[a] <= mean + 1e-6) {
+                continue;
+            }
+            double d = open.get(t).getEstimatedDuration();
+            BitSet qualified = index.qualifiedMembers(open.get(t));
+            for (int b = qualified.nextSetBit(0); b >= 0; b = qualified.nextSetBit(b + 1)) {
+                if (b == a) {
+                    continue;
+                }
+                if (fits(members.get(b), load[b], d)) {
+                    assertTrue(squaresAfter(load, a, b, d) >= squares - 1e-6,
+                            label + " : déplacement améliorant ignoré (tâche " + open.get(t).getId() + ")");
+                }
+                for (int u = 0; u < open.size(); u++) {
+                    double delta = d - open.get(u).getEstimatedDuration();
+                    if (owners.get(u) == b && delta > 0 && fits(members.get(b), load[b], delta)
+                            && index.qualifiedMembers(open.get(u)).get(a)) {
+                        assertTrue(squaresAfter(load, a, b, delta) >= squares - 1e-6,
+                                label + " : échange améliorant ignoré (tâches " + open.get(t).getId() + ", "
+                                        + open.get(u).getId() + ")");
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean fits(Member member, double load, double delta) {
+        return load + delta <= member.getWeeklyAvailability() + EPSILON;
+    }
+
+    private static double squaresAfter(double[] load, int from, int to, double hours) {
+        double[] after = load.clone();
+        after[from] -= hours;
+        after[to] += hours;
+        return sumOfSquares(after);
+    }
+
+    private static double sumOfSquares(double[] loads) {
+        double squares = 0;
+        for (double load : loads) {
+            squares += load * load;
+        }
+        return squares;
+    }
+
+    /**
+     * Tâches affectées au hasard à un membre qualifié (sans limite de capacité : certains membres
+     * sont en surcharge) ; la charge des membres est la somme de leurs tâches
+     */
+    private static List<Task> randomAssignedTasks(Random random, List<Member> members, int count) {
+        SkillIndex index = new SkillIndex(members);
+        double[] load = new double[members.size()];
+        List<Task> tasks = new ArrayList<>();
+        for (Task task : Fixtures.randomTasks(random, count, 6, 3)) {
+            BitSet qualified = index.qualifiedMembers(task);
+            if (qualified.isEmpty()) {
+                continue;
+            }
+            int m = qualified.nextSetBit(0);
+            for (int skip = random.nextInt(qualified.cardinality()); skip > 0; skip--) {
+                m = qualified.nextSetBit(m + 1);
+            }
+            task.setAssigneeId(members.get(m).getId());
+            if (random.nextInt(10) == 0) {
+                task.setStatus("Terminée");
+            }
+            load[m] += task.getEstimatedDuration();
+            tasks.add(task);
+        }
+        for (int m = 0; m < members.size(); m++) {
+            Member member = members.get(m);
+            member.setCurrentLoad(load[m]);
+            member.setRemainingHours(member.getWeeklyAvailability() - load[m]);
+            member.setAvailable(member.getRemainingHours() > 0);
+        }
+        return tasks;
+    }
+
+    private static Task assigned(int id, double duration, int assigneeId, int... skillLevels) {
+        Task task = Fixtures.task(id, duration, "Haute", skillLevels);
+        task.setAssigneeId(assigneeId);
+        return task;
+    }
+
+    private static double deviation(double[] loads) {
+        double mean = 0;
+        for (double load : loads) {
+            mean += load / loads.length;
+        }
+        double variance = 0;
+        for (double load : loads) {
+            variance += (load - mean) * (load - mean) / loads.length;
+        }
+        return Math.sqrt(variance);
+    }
+}
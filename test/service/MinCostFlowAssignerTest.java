@@ -0,0 +1,163 @@
+package service;
+
+import classes.Member;
+import classes.Task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinCostFlowAssignerTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void reroutesAMemberTheGreedyRunWouldTake() {
+        // Le glouton donne la tâche 1 au premier membre (égalité), la tâche 2 ne trouve plus personne
+        List<Member> members = Arrays.asList(
+                Fixtures.member(1, 10, 0, null, 1, 1, 2, 1),
+                Fixtures.member(2, 10, 0, null, 1, 1));
+        List<Task> tasks = Arrays.asList(
+                Fixtures.task(1, 10, "Haute", 1, 1),
+                Fixtures.task(2, 10, "Haute", 2, 1));
+
+        int[] plan = solve(members, tasks);
+        assertEquals(1, plan[0]);
+        assertEquals(0, plan[1]);
+
+        AssignmentResult greedy = new TaskAssignmentService(Fixtures.copy(members), tasks).assignTasksAutomatically();
+        assertEquals(1, greedy.getSuccessCount());
+    }
+
+    @Test
+    void roundingASplitFlowNeverExceedsCapacity() {
+        // 12 h de demande pour 12 h de capacité : le flot fractionnaire route tout, mais deux
+        // tâches de 4 h ne tiennent pas dans 6 h
+        List<Member> members = Arrays.asList(
+                Fixtures.member(1, 6, 0, null, 1, 1),
+                Fixtures.member(2, 6, 0, null, 1, 1));
+        List<Task> tasks = Arrays.asList(
+                Fixtures.task(1, 4, "Haute", 1, 1),
+                Fixtures.task(2, 4, "Haute", 1, 1),
+                Fixtures.task(3, 4, "Haute", 1, 1));
+
+        int[] plan = solve(members, tasks);
+        assertFeasible(members, tasks, plan);
+        assertEquals(2, placedCount(plan));
+    }
+
+    @Test
+    void hoursAreRoundedToHundredthsWithoutOverbooking() {
+        List<Member> exact = Arrays.asList(Fixtures.member(1, 2.5, 0, null, 1, 1));
+        List<Task> halves = Arrays.asList(
+                Fixtures.task(1, 1.25, "Haute", 1, 1),
+                Fixtures.task(2, 1.25, "Haute", 1, 1));
+        assertEquals(Arrays.toString(new int[] { 0, 0 }), Arrays.toString(solve(exact, halves)));
+
+        // 0,999 h arrondi à 1,00 h dans le réseau : la tâche d'une heure n'est pas placée pour autant
+        List<Member> almostOneHour = Arrays.asList(Fixtures.member(1, 0.999, 0, null, 1, 1));
+        List<Task> oneHour = Arrays.asList(Fixtures.task(1, 1, "Haute", 1, 1));
+        assertEquals(-1, solve(almostOneHour, oneHour)[0]);
+    }
+
+    @Test
+    void unknownSkillsAndLevelsAboveEveryMemberStayUnplaced() {
+        List<Member> members = Arrays.asList(Fixtures.member(1, 40, 0, null, 1, 2));
+        List<Task> tasks = Arrays.asList(
+                Fixtures.task(1, 1, "Haute", 9, 1),
+                Fixtures.task(2, 1, "Haute", 1, 3),
+                Fixtures.task(3, 1, "Haute", 1, 2));
+
+        assertEquals(Arrays.toString(new int[] { -1, -1, 0 }), Arrays.toString(solve(members, tasks)));
+    }
+
+    @Test
+    void expiredBudgetReturnsNull() {
+        List<Member> members = Arrays.asList(Fixtures.member(1, 40, 0, null, 1, 1));
+        List<Task> tasks = Arrays.asList(Fixtures.task(1, 1, "Haute", 1, 1));
+        SkillIndex index = new SkillIndex(members);
+        assertNull(new MinCostFlowAssigner(index, System.nanoTime() - 1).solve(tasks, new int[] { 4 }));
+    }
+
+    @Test
+    void plansAreFeasibleAndNeverWorseThanGreedy() {
+        for (long seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            List<Member> members = Fixtures.randomMembers(random, 3 + random.nextInt(15), 6, 5);
+            TaskAssignmentService service = new TaskAssignmentService(Fixtures.copy(members),
+                    Fixtures.randomTasks(random, 10 + random.nextInt(60), 6, 3));
+            List<Task> tasks = service.sortTasksByPriority(service.getTasks());
+
+            int[] plan = solve(members, tasks);
+            assertFeasible(members, tasks, plan);
+
+            int[] greedy = Fixtures.assigneeIds(service.assignTasksAutomatically(), tasks.size());
+            long greedyWeight = 0;
+            long planWeight = 0;
+            for (int t = 0; t < tasks.size(); t++) {
+                if (greedy[tasks.get(t).getId()] > 0) {
+                    greedyWeight += weight(tasks.get(t));
+                }
+                if (plan[t] >= 0) {
+                    planWeight += weight(tasks.get(t));
+                }
+            }
+            assertTrue(planWeight >= greedyWeight, "graine " + seed + " : " + planWeight + " < " + greedyWeight);
+        }
+    }
+
+    private static int[] solve(List<Member> members, List<Task> tasks) {
+        int[] weights = new int[tasks.size()];
+        for (int t = 0; t < weights.length; t++) {
+            weights[t] = weight(tasks.get(t));
+        }
+        return new MinCostFlowAssigner(new SkillIndex(members), Long.MAX_VALUE).solve(tasks, weights);
+    }
+
+    private static int weight(Task task) {
+        switch (task.getPriority()) {
+            case "Haute":
+                return 4;
+            case "Moyenne":
+                return 3;
+            default:
+                return 2;
+        }
+    }
+
+    /**
+     * Chaque tâche placée l'est sur un membre qualifié, disponible et ayant encore assez d'heures
+     * au moment de la placer (dans l'ordre du plan)
+     */
+    private static void assertFeasible(List<Member> members, List<Task> tasks, int[] plan) {
+        SkillIndex index = new SkillIndex(members);
+        double[] used = new double[members.size()];
+        for (int t = 0; t < plan.length; t++) {
+            int m = plan[t];
+            if (m < 0) {
+                continue;
+            }
+            Member member = members.get(m);
+            assertTrue(index.qualifiedMembers(tasks.get(t)).get(m), "membre non qualifié pour la tâche " + t);
+            assertTrue(member.isAvailable() && member.getRemainingHours() - used[m] > 0, "membre indisponible");
+            used[m] += tasks.get(t).getEstimatedDuration();
+            assertTrue(used[m] <= member.getRemainingHours() + EPSILON, "capacité dépassée pour le membre " + m);
+        }
+    }
+
+    private static int placedCount(int[] plan) {
+        int count = 0;
+        for (int m : plan) {
+            if (m >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,132 @@
+package service;
+
+import classes.Member;
+import classes.Task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelAssignmentServiceTest {
+
+    private static final int CLUSTERS = 4;
+    private static final int MEMBERS_PER_CLUSTER = 5;
+    private static final int SKILLS_PER_CLUSTER = 3;
+
+    @Test
+    void singleThreadMatchesSequentialGreedyForEveryStrategy() {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            for (ScoringStrategy strategy : ScoringStrategy.values()) {
+                for (long seed = 0; seed < 50; seed++) {
+                    Random random = new Random(seed);
+                    List<Member> members = Fixtures.randomMembers(random, 5 + random.nextInt(30), 8, 5);
+                    List<Task> tasks = Fixtures.randomTasks(random, 20 + random.nextInt(100), 8, 3);
+                    assertSameAsSequential(members, tasks, strategy, pool, "graine " + seed + ", " + strategy);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void disjointSkillClustersAreSplitAndMatchSequentialGreedy() {
+        ForkJoinPool pool = new ForkJoinPool(CLUSTERS);
+        try {
+            for (ScoringStrategy strategy : ScoringStrategy.values()) {
+                for (long seed = 0; seed < 30; seed++) {
+                    Random random = new Random(seed);
+                    List<Member> members = clusteredMembers(random);
+                    List<Task> tasks = clusteredTasks(random, 80);
+                    AssignmentResult parallel = assertSameAsSequential(members, tasks, strategy, pool,
+                            "graine " + seed + ", " + strategy);
+
+                    String summary = parallel.getMessages().get(parallel.getMessages().size() - 2);
+                    assertTrue(summary.startsWith("ℹ " + CLUSTERS + " partition(s)"), summary);
+                    assertTrue(!summary.contains("exigence large"), summary);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void wideRequirementsStayFeasible() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (ParallelAssignmentService.Partitioning partitioning : ParallelAssignmentService.Partitioning.values()) {
+                for (long seed = 0; seed < 50; seed++) {
+                    Random random = new Random(seed);
+                    List<Member> members = Fixtures.randomMembers(random, 10 + random.nextInt(30), 5, 5);
+                    List<Task> tasks = Fixtures.randomTasks(random, 30 + random.nextInt(100), 5, 3);
+
+                    ParallelAssignmentService service = new ParallelAssignmentService(members, tasks, pool);
+                    AssignmentResult result = service.assignTasks(partitioning);
+
+                    assertEquals(tasks.size(), result.getSuccessCount() + result.getFailureCount(), "graine " + seed);
+                    SkillIndex index = new SkillIndex(members);
+                    for (Integer taskId : result.getSuccessfulAssignments().keySet()) {
+                        Member member = result.getAssignee(taskId);
+                        assertTrue(index.qualifiedMembers(result.getTask(taskId)).get(index.indexOf(member)),
+                                "graine " + seed + " : membre non qualifié");
+                    }
+                    for (Member member : members) {
+                        assertTrue(member.getRemainingHours() >= 0, "graine " + seed + " : membre en surcharge");
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static AssignmentResult assertSameAsSequential(List<Member> members, List<Task> tasks,
+            ScoringStrategy strategy, ForkJoinPool pool, String label) {
+        TaskAssignmentService sequential = new TaskAssignmentService(Fixtures.copy(members), tasks);
+        sequential.setStrategy(strategy);
+        ParallelAssignmentService parallel = new ParallelAssignmentService(Fixtures.copy(members), tasks, pool);
+        parallel.setStrategy(strategy);
+
+        AssignmentResult result = parallel.assignTasks(ParallelAssignmentService.Partitioning.SKILLS);
+        assertArrayEquals(Fixtures.assigneeIds(sequential.assignTasksAutomatically(), tasks.size()),
+                Fixtures.assigneeIds(result, tasks.size()), label);
+        return result;
+    }
+
+    /**
+     * Membres d'un groupe de compétences (et de l'équipe du groupe) : aucune exigence ne relie deux groupes
+     */
+    private static List<Member> clusteredMembers(Random random) {
+        List<Member> members = new ArrayList<>();
+        for (int m = 0; m < CLUSTERS * MEMBERS_PER_CLUSTER; m++) {
+            int cluster = m % CLUSTERS;
+            int firstSkill = cluster * SKILLS_PER_CLUSTER + 1;
+            members.add(Fixtures.member(m + 1, 20 + 5 * random.nextInt(4), random.nextInt(10), cluster + 1,
+                    firstSkill, 1 + random.nextInt(5),
+                    firstSkill + 1, 1 + random.nextInt(5),
+                    firstSkill + 2, 1 + random.nextInt(5)));
+        }
+        return members;
+    }
+
+    private static List<Task> clusteredTasks(Random random, int count) {
+        String[] priorities = { "Haute", "Moyenne", "Basse" };
+        List<Task> tasks = new ArrayList<>();
+        for (int t = 1; t <= count; t++) {
+            int skill = random.nextInt(CLUSTERS) * SKILLS_PER_CLUSTER + 1 + random.nextInt(SKILLS_PER_CLUSTER);
+            Task task = Fixtures.task(t, 1 + random.nextInt(6), priorities[random.nextInt(3)], skill, 1 + random.nextInt(3));
+            task.setProjectId(1 + random.nextInt(3));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,154 @@
+package service;
+
+import classes.Member;
+import classes.MemberSkill;
+import classes.Task;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ScoringStrategyTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 1, 5);
+
+    @Test
+    void leastLoadedFollowsTheMostRemainingHoursRule() {
+        for (long seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            List<Member> members = Fixtures.randomMembers(random, 3 + random.nextInt(30), 8, 5);
+            List<Task> tasks = Fixtures.randomTasks(random, 10 + random.nextInt(100), 8, 3);
+
+            TaskAssignmentService service = new TaskAssignmentService(Fixtures.copy(members), tasks);
+            int[] expected = mostRemainingHours(Fixtures.copy(members), service.sortTasksByPriority(tasks));
+            assertArrayEquals(expected, Fixtures.assigneeIds(service.assignTasksAutomatically(), tasks.size()),
+                    "graine " + seed);
+        }
+    }
+
+    @Test
+    void bestSkillFitKeepsExpertsFree() {
+        List<Member> members = Arrays.asList(
+                Fixtures.member(1, 40, 0, null, 1, 5),
+                Fixtures.member(2, 40, 10, null, 1, 2),
+                Fixtures.member(3, 40, 0, null, 1, 1));
+        List<Task> tasks = Arrays.asList(Fixtures.task(1, 4, "Haute", 1, 2));
+
+        assertEquals(1, assignee(members, tasks, ScoringStrategy.LEAST_LOADED, 1));
+        assertEquals(2, assignee(members, tasks, ScoringStrategy.BEST_SKILL_FIT, 1));
+    }
+
+    @Test
+    void teamAffinityKeepsAProjectInOneTeam() {
+        // La tâche 1 ne peut aller qu'à l'équipe 1 ; la tâche 2, du même projet, la suit
+        List<Member> members = Arrays.asList(
+                Fixtures.member(1, 40, 10, 1, 1, 1, 2, 1),
+                Fixtures.member(2, 40, 0, 2, 2, 1));
+        Task first = Fixtures.task(1, 4, "Haute", 1, 1);
+        Task second = Fixtures.task(2, 4, "Basse", 2, 1);
+        first.setProjectId(7);
+        second.setProjectId(7);
+        List<Task> tasks = Arrays.asList(first, second);
+
+        assertEquals(2, assignee(members, tasks, ScoringStrategy.LEAST_LOADED, 2));
+        assertEquals(1, assignee(members, tasks, ScoringStrategy.TEAM_AFFINITY, 2));
+
+        // Autre projet : pas d'affinité, égalité départagée par les heures restantes
+        second.setProjectId(8);
+        assertEquals(2, assignee(members, tasks, ScoringStrategy.TEAM_AFFINITY, 2));
+    }
+
+    @Test
+    void calendarCapacityAppliesTheScoringStrategy() {
+        List<Member> members = Arrays.asList(
+                Fixtures.member(1, 40, 0, null, 1, 5),
+                Fixtures.member(2, 40, 10, null, 1, 2));
+        Task task = Fixtures.task(1, 4, "Haute", 1, 2);
+        task.setPlannedStartDate(MONDAY);
+        task.setPlannedEndDate(MONDAY.plusDays(4));
+        List<Task> tasks = Arrays.asList(task);
+
+        assertEquals(1, assigneeInCalendar(members, tasks, ScoringStrategy.LEAST_LOADED));
+        assertEquals(2, assigneeInCalendar(members, tasks, ScoringStrategy.BEST_SKILL_FIT));
+
+        // Les heures libres de la fenêtre restent une contrainte : 10 h de charge sur une fenêtre
+        // d'un jour ne laissent rien au second membre
+        task.setPlannedEndDate(MONDAY);
+        assertEquals(1, assigneeInCalendar(members, tasks, ScoringStrategy.BEST_SKILL_FIT));
+    }
+
+    @Test
+    void runKeysIncludeTheScoringStrategy() {
+        for (boolean calendar : new boolean[] { false, true }) {
+            AutoAssignmentRun leastLoaded = new AutoAssignmentRun(AutoAssignmentRun.Strategy.GREEDY,
+                    ParallelAssignmentService.Partitioning.SKILLS, calendar, 0, ScoringStrategy.LEAST_LOADED);
+            AutoAssignmentRun bestFit = new AutoAssignmentRun(AutoAssignmentRun.Strategy.GREEDY,
+                    ParallelAssignmentService.Partitioning.SKILLS, calendar, 0, ScoringStrategy.BEST_SKILL_FIT);
+            assertNotEquals(leastLoaded.key(), bestFit.key());
+        }
+        AutoAssignmentRun plain = new AutoAssignmentRun(AutoAssignmentRun.Strategy.GREEDY,
+                ParallelAssignmentService.Partitioning.SKILLS, false, 0, ScoringStrategy.TEAM_AFFINITY);
+        AutoAssignmentRun calendar = new AutoAssignmentRun(AutoAssignmentRun.Strategy.GREEDY,
+                ParallelAssignmentService.Partitioning.SKILLS, true, 0, ScoringStrategy.TEAM_AFFINITY);
+        assertNotEquals(plain.key(), calendar.key());
+    }
+
+    /**
+     * Règle historique, membre par membre : qualifié, disponible, assez d'heures, le plus
+     * d'heures restantes (égalité : premier de la liste)
+     */
+    private static int[] mostRemainingHours(List<Member> members, List<Task> sortedTasks) {
+        int[] assignees = new int[sortedTasks.size() + 1];
+        for (Task task : sortedTasks) {
+            Member best = null;
+            for (Member member : members) {
+                if (member.isAvailable() && member.getRemainingHours() >= task.getEstimatedDuration()
+                        && covers(member, task)
+                        && (best == null || member.getRemainingHours() > best.getRemainingHours())) {
+                    best = member;
+                }
+            }
+            if (best != null) {
+                assignees[task.getId()] = best.getId();
+                best.setCurrentLoad(best.getCurrentLoad() + task.getEstimatedDuration());
+                best.setRemainingHours(best.getRemainingHours() - task.getEstimatedDuration());
+                best.setAvailable(best.getRemainingHours() > 0);
+            }
+        }
+        return assignees;
+    }
+
+    private static boolean covers(Member member, Task task) {
+        for (Integer skillId : task.getRequiredSkillIds()) {
+            boolean found = false;
+            for (MemberSkill ms : member.getMemberSkills()) {
+                found |= ms.getSkillId() == skillId && ms.getLevel() >= task.getRequiredLevel(skillId);
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int assignee(List<Member> members, List<Task> tasks, ScoringStrategy strategy, int taskId) {
+        TaskAssignmentService service = new TaskAssignmentService(Fixtures.copy(members), tasks);
+        service.setStrategy(strategy);
+        return Fixtures.assigneeIds(service.assignTasksAutomatically(), tasks.size())[taskId];
+    }
+
+    private static int assigneeInCalendar(List<Member> members, List<Task> tasks, ScoringStrategy strategy) {
+        List<Member> copies = Fixtures.copy(members);
+        TaskAssignmentService service = new TaskAssignmentService(copies, tasks);
+        service.setStrategy(strategy);
+        service.setCapacityCalendar(CapacityCalendar.forTasks(copies, tasks, MONDAY));
+        return Fixtures.assigneeIds(service.assignTasksAutomatically(), tasks.size())[tasks.get(0).getId()];
+    }
+}
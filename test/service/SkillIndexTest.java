@@ -0,0 +1,120 @@
+package service;
+
+import classes.Member;
+import classes.MemberSkill;
+import classes.Task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SkillIndexTest {
+
+    @Test
+    void levelThresholdsAreRespected() {
+        List<Member> members = Arrays.asList(
+                Fixtures.member(1, 40, 0, null, 1, 1, 2, 5),
+                Fixtures.member(2, 40, 0, null, 1, 3),
+                Fixtures.member(3, 40, 0, null, 1, 5, 2, 2));
+        SkillIndex index = new SkillIndex(members);
+
+        assertEquals(bits(0, 1, 2), index.qualifiedMembers(Fixtures.task(1, 1, "Haute", 1, 1)));
+        assertEquals(bits(1, 2), index.qualifiedMembers(Fixtures.task(2, 1, "Haute", 1, 3)));
+        assertEquals(bits(2), index.qualifiedMembers(Fixtures.task(3, 1, "Haute", 1, 4)));
+        assertEquals(bits(0), index.qualifiedMembers(Fixtures.task(4, 1, "Haute", 2, 3)));
+        assertEquals(bits(2), index.qualifiedMembers(Fixtures.task(5, 1, "Haute", 1, 2, 2, 2)));
+        assertEquals(bits(), index.qualifiedMembers(Fixtures.task(6, 1, "Haute", 1, 4, 2, 3)));
+
+        // Niveaux hors bornes ramenés dans [MIN_LEVEL, MAX_LEVEL], compétence inconnue : personne
+        assertEquals(bits(0, 1, 2), index.qualifiedMembers(Fixtures.task(7, 1, "Haute", 1, 0)));
+        assertEquals(bits(2), index.qualifiedMembers(Fixtures.task(8, 1, "Haute", 1, 9)));
+        assertNull(index.requiredSkills(Fixtures.task(9, 1, "Haute", 7, 1)));
+        assertEquals(bits(), index.qualifiedMembers(Fixtures.task(9, 1, "Haute", 7, 1)));
+    }
+
+    @Test
+    void qualifiedMembersMatchAPerMemberScan() {
+        for (long seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            List<Member> members = Fixtures.randomMembers(random, 1 + random.nextInt(40), 8, MemberSkill.MAX_LEVEL);
+            SkillIndex index = new SkillIndex(members);
+            for (Task task : Fixtures.randomTasks(random, 50, 9, MemberSkill.MAX_LEVEL)) {
+                BitSet expected = new BitSet();
+                for (int m = 0; m < members.size(); m++) {
+                    if (covers(members.get(m), task, true)) {
+                        expected.set(m);
+                    }
+                }
+                BitSet required = index.requiredSkills(task);
+                assertEquals(expected, index.qualifiedMembers(task), "graine " + seed);
+                for (int m = 0; m < members.size(); m++) {
+                    assertEquals(expected.get(m), index.hasSkills(m, required), "graine " + seed);
+                }
+            }
+        }
+    }
+
+    @Test
+    void levelOneRequirementsIgnoreMemberLevels() {
+        for (long seed = 0; seed < 100; seed++) {
+            Random random = new Random(seed);
+            List<Member> members = Fixtures.randomMembers(random, 5 + random.nextInt(30), 8, MemberSkill.MAX_LEVEL);
+            List<Task> tasks = Fixtures.randomTasks(random, 20 + random.nextInt(100), 8, 1);
+
+            SkillIndex index = new SkillIndex(members);
+            for (Task task : tasks) {
+                for (int m = 0; m < members.size(); m++) {
+                    assertEquals(covers(members.get(m), task, false), index.qualifiedMembers(task).get(m),
+                            "graine " + seed);
+                }
+            }
+
+            // Même affectation qu'avec des membres tous de niveau 1
+            List<Member> levelOne = new ArrayList<>();
+            for (Member member : members) {
+                int[] skillLevels = new int[member.getMemberSkills().size() * 2];
+                for (int i = 0; i < member.getMemberSkills().size(); i++) {
+                    skillLevels[2 * i] = member.getMemberSkills().get(i).getSkillId();
+                    skillLevels[2 * i + 1] = MemberSkill.MIN_LEVEL;
+                }
+                levelOne.add(Fixtures.member(member.getId(), member.getWeeklyAvailability(), member.getCurrentLoad(),
+                        member.getTeamId(), skillLevels));
+            }
+            AssignmentResult leveled = new TaskAssignmentService(Fixtures.copy(members), tasks).assignTasksAutomatically();
+            AssignmentResult flat = new TaskAssignmentService(levelOne, tasks).assignTasksAutomatically();
+            assertArrayEquals(Fixtures.assigneeIds(flat, tasks.size()), Fixtures.assigneeIds(leveled, tasks.size()),
+                    "graine " + seed);
+            assertTrue(leveled.getSuccessCount() > 0, "graine " + seed);
+        }
+    }
+
+    private static boolean covers(Member member, Task task, boolean withLevels) {
+        for (Integer skillId : task.getRequiredSkillIds()) {
+            boolean found = false;
+            for (MemberSkill ms : member.getMemberSkills()) {
+                found |= ms.getSkillId() == skillId && (!withLevels || ms.getLevel() >= task.getRequiredLevel(skillId));
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static BitSet bits(int... positions) {
+        BitSet bits = new BitSet();
+        for (int position : positions) {
+            bits.set(position);
+        }
+        return bits;
+    }
+}